@@ -32,11 +32,11 @@ import java.awt.*;
 import java.awt.event.ComponentEvent;
 import java.awt.event.ComponentListener;
 import java.awt.image.BufferStrategy;
-import java.awt.image.BufferedImage;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.List;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import static base.constants.ColorConstant.*;
@@ -44,7 +44,6 @@ import static base.constants.Constants.*;
 import static base.constants.FilePath.QUESTION_ICON_PATH;
 import static base.constants.MapConstants.*;
 import static base.gameobjects.services.ItemService.STACKABLE_ITEMS;
-import static base.navigationservice.NavigationService.getNextPortalToGetToCenter;
 import static base.navigationservice.RouteCalculator.*;
 
 public class Game extends JFrame implements Runnable {
@@ -76,12 +75,19 @@ public class Game extends JFrame implements Runnable {
     private transient GuiService guiService;
     private transient BackpackService backpackService;
     private transient RouteCalculator routeCalculator;
+    private transient PortalGraph portalGraph;
+    private transient PathRequestService pathRequestService;
+    private transient int updates;
+    private final transient FrameTimer frameTimer = new FrameTimer();
     private transient MapService mapService;
     private transient EventService eventService;
     private transient SpriteService spriteService;
     private transient StorageService storageService;
     private transient ShopService shopService;
     private transient PlayerService playerService;
+    private transient PickService pickService;
+    private transient LoadingSplash loadingSplash;
+    private transient AssetPreloader assetPreloader;
 
     // Gui
     private transient GUI[] tileButtonsArray;
@@ -111,6 +117,7 @@ public class Game extends JFrame implements Runnable {
     private final transient MouseEventListener mouseEventListener = new MouseEventListener(this);
 
     public Game() {
+        long startTime = System.currentTimeMillis();
         loadGameProperties();
         initializeServices();
         cacheSprites();
@@ -120,6 +127,10 @@ public class Game extends JFrame implements Runnable {
         loadGuiElements();
         enableDefaultGui();
         loadGameObjects(getWidth() / 2, getHeight() / 2);
+        loadingSplash.close();
+        assetPreloader.finish();
+        logger.info(String.format("Game loaded in %d ms", System.currentTimeMillis() - startTime));
+        ImageLoader.getAssetCache().logStats();
     }
 
     public static void main(String[] args) {
@@ -140,13 +151,17 @@ public class Game extends JFrame implements Runnable {
         DEBUG_MODE = Boolean.parseBoolean(gameProperties.getProperty(DEBUG_MODE_PROPERTY));
         CHEATS_MODE = Boolean.parseBoolean(gameProperties.getProperty(CHEATS_MODE_PROPERTY));
         TEST_MAP_MODE = Boolean.parseBoolean(gameProperties.getProperty(TEST_MAP_PROPERTY));
+        LOW_RESOLUTION_WORLD = Boolean.parseBoolean(gameProperties.getProperty(LOW_RESOLUTION_WORLD_PROPERTY));
         LANGUAGE = gameProperties.getProperty(LANGUAGE_PROPERTY);
+        ImageLoader.useAssetPack(gameProperties.getProperty(ASSET_PACK_PROPERTY));
     }
 
     private void initializeServices() {
-        tileService = new TileService();
         animalService = new AnimalService();
         plantService = new PlantService();
+        spriteService = new SpriteService();
+        preloadImages();
+        tileService = new TileService();
         itemService = new ItemService();
         guiService = new GuiService();
         backpackService = new BackpackService();
@@ -155,39 +170,38 @@ public class Game extends JFrame implements Runnable {
         plantsOnMaps = new HashMap<>();
         animalsOnMaps = new HashMap<>();
         interactionZones = new ArrayList<>();
-        gameMaps = new HashMap<>();
+        gameMaps = new ConcurrentHashMap<>();
+        portalGraph = new PortalGraph(routeCalculator, gameMaps);
+        pathRequestService = new PathRequestService(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), ROUTES_APPLIED_PER_TICK);
         eventService = new EventService();
-        spriteService = new SpriteService();
         storageService = new StorageService();
         shopService = new ShopService();
         playerService = new PlayerService();
+        pickService = new PickService();
         VisibleText.initializeTranslations();
     }
 
-    private void cacheSprites() {
-        spriteService.setPlantPreview(plantService.getPreviews());
-        spriteService.setPlantAnimatedSprites(plantService.getAnimatedSprites());
-        spriteService.setSeedSprites(plantService.getSeedSprites());
-
-        spriteService.setBowlsSprites();
-
-        spriteService.setStorageChestSprites(tileService.getTiles().get(37).getSprite(), tileService.getTiles().get(36).getSprite());
-
-        spriteService.setFeatherSprite(tileService.getTiles().get(Feather.TILE_ID).getSprite());
-        spriteService.setMushroomSprite(tileService.getTiles().get(Mushroom.TILE_ID).getSprite());
-        spriteService.setWoodSprite(tileService.getTiles().get(Wood.TILE_ID).getSprite());
-
-        spriteService.loadBushSprite();
-        spriteService.loadSpruceSprite();
-        spriteService.loadOakSprite();
+    /**
+     * Images are decoded in the background in the order they are needed, services asking for an image
+     * wait only until that image is ready
+     */
+    private void preloadImages() {
+        List<String> images = new ArrayList<>(Arrays.asList(FilePath.SPRITES_PATH, FilePath.TERRAIN_SPRITES_PATH));
+        images.addAll(plantService.getImagePaths());
+        images.addAll(spriteService.getImagePaths());
+        images.addAll(Arrays.asList(FilePath.PLAYER_SHEET_PATH, QUESTION_ICON_PATH, FilePath.HEART_ICON_PATH,
+                FilePath.MONEY_ICON_PATH, FilePath.EDIT_ICON_PATH, FilePath.OK_BUTTON_PATH, FilePath.CANCEL_BUTTON_PATH));
+        images.addAll(animalService.getImagePaths());
+        images.addAll(Arrays.asList(FilePath.NPC_SHEET_PATH_LADY, FilePath.NPC_SHEET_PATH_LADY1, FilePath.NPC_SHEET_PATH_LADY2,
+                FilePath.NPC_SHEET_PATH_LADY3, FilePath.NPC_SHEET_PATH_MAN));
 
-        for (int cookingStoveId : CookingStove.TILE_IDS) {
-            spriteService.loadCookingStoveSprite(cookingStoveId, tileService.getTerrainTiles().get(cookingStoveId).getSprite());
-        }
+        loadingSplash = new LoadingSplash();
+        assetPreloader = new AssetPreloader(ImageLoader.getAssetCache());
+        assetPreloader.preload(images, loadingSplash);
+    }
 
-        spriteService.setSimpleMealSprite(tileService.getTiles().get(PetFood.SIMPLE_MEAL_SPRITE_ID).getSprite());
-        spriteService.setTastyMealSprite(tileService.getTiles().get(PetFood.TASTY_MEAL_SPRITE_ID).getSprite());
-        spriteService.setPerfectMealSprite(tileService.getTiles().get(PetFood.PERFECT_MEAL_SPRITE_ID).getSprite());
+    private void cacheSprites() {
+        spriteService.cacheSprites(plantService, tileService);
     }
 
     private void loadUI() {
@@ -199,7 +213,7 @@ public class Game extends JFrame implements Runnable {
         setVisible(true);
         setTitle("Animal shelter game");
         canvas.createBufferStrategy(3);
-        renderer = new RenderHandler(getWidth(), getHeight());
+        renderer = new RenderHandler(getWidth(), getHeight(), LOW_RESOLUTION_WORLD);
     }
 
     private void setSizeBasedOnScreenSize() {
@@ -274,6 +288,7 @@ public class Game extends JFrame implements Runnable {
 
         if (TEST_MAP_MODE) {
             gameMap = mapService.loadGameMapFromJson(TEST_MAP, tileService);
+            gameMap.getRouteTargets();
             gameMaps.put(TEST_MAP, gameMap);
         } else {
             gameMap = mapService.loadGameMapFromJson(MAIN_MAP, tileService);
@@ -312,69 +327,14 @@ public class Game extends JFrame implements Runnable {
             GameMap map = mapService.loadGameMapFromJson(mapName, tileService);
             loadSprites(map);
             storageService.loadStorageChests(map);
+            // built here on the game thread, route searches in the background only read it
+            map.getRouteTargets();
             gameMaps.put(mapName, map);
         }
     }
 
     private void loadSprites(GameMap gameMap) {
-        for (Plant plant : gameMap.getPlants()) {
-            plant.setPreviewSprite(spriteService.getPlantPreviewSprite(plant.getPlantType()));
-            plant.setAnimatedSprite(spriteService.getPlantAnimatedSprite(plant.getPlantType()));
-        }
-        for (Item item : gameMap.getItems()) {
-            if (item.getItemName().contains("Meal")) {
-                item.setSprite(spriteService.getMealSprite(item.getItemName()));
-            } else {
-                item.setSprite(spriteService.getPlantPreviewSprite(item.getItemName()));
-            }
-        }
-        for (WaterBowl waterBowl : gameMap.getWaterBowls()) {
-            waterBowl.setSprite(spriteService.getWaterBowlAnimatedSprite());
-        }
-        for (FoodBowl foodBowl : gameMap.getFoodBowls()) {
-            foodBowl.setSprite(spriteService.getFoodBowlAnimatedSprite());
-        }
-        for (StorageChest storageChest : gameMap.getStorageChests()) {
-            storageChest.setSpriteClosed(spriteService.getClosedChestSprite());
-            storageChest.setSpriteOpen(spriteService.getOpenChestSprite());
-            gameMap.setTile(storageChest.getX() / CELL_SIZE, storageChest.getY() / CELL_SIZE, CHEST_TILE_ID, 2, true);
-        }
-        for (Feather feather : gameMap.getFeathers()) {
-            feather.setSprite(spriteService.getFeatherSprite());
-        }
-        for (Mushroom mushroom : gameMap.getMushrooms()) {
-            mushroom.setSprite(spriteService.getMushroomSprite());
-        }
-        for (Wood wood : gameMap.getWoods()) {
-            wood.setSprite(spriteService.getWoodSprite());
-        }
-        for (Bush bush : gameMap.getBushes()) {
-            bush.setSprite(spriteService.getBushSprite());
-            bush.startBush();
-        }
-        for (Oak oak : gameMap.getOaks()) {
-            oak.setSprite(spriteService.getOakSprite());
-            oak.getRectangle().generateBorder(1, GREEN);
-        }
-        for (Spruce spruce : gameMap.getSpruces()) {
-            spruce.setSprite(spriteService.getSpruceSprite());
-            spruce.getRectangle().generateBorder(1, GREEN);
-        }
-        for (CookingStove cookingStove : gameMap.getCookingStoves()) {
-            cookingStove.setSprite(spriteService.getCookingStoveSprite(cookingStove.getTileId()));
-            cookingStove.getRectangle().generateBorder(1, GREEN);
-            InteractionZoneKitchen interactionZone = new InteractionZoneKitchen(cookingStove.getRectangle().getX() + 32, cookingStove.getRectangle().getY() + 32, 290);
-            cookingStove.setInteractionZone(interactionZone);
-            cookingStove.setContextClue(new ContextClue(new Sprite(ImageLoader.loadImage(QUESTION_ICON_PATH))));
-            interactionZones.add(interactionZone);
-        }
-        for (Fridge fridge : gameMap.getFridges()) {
-            fridge.getRectangle().generateBorder(1, GREEN);
-            InteractionZoneKitchen interactionZone = new InteractionZoneKitchen(fridge.getRectangle().getX() + 32, fridge.getRectangle().getY() + 32, 290);
-            fridge.setInteractionZone(interactionZone);
-            fridge.setContextClue(new ContextClue(new Sprite(ImageLoader.loadImage(QUESTION_ICON_PATH))));
-            interactionZones.add(interactionZone);
-        }
+        interactionZones.addAll(spriteService.loadMapSprites(gameMap));
     }
 
     /**
@@ -544,9 +504,7 @@ public class Game extends JFrame implements Runnable {
     private AnimatedSprite loadPlayerAnimatedImages() {
         logger.info("Loading player animations");
 
-        BufferedImage playerSheetImage = ImageLoader.loadImage(FilePath.PLAYER_SHEET_PATH);
-        SpriteSheet playerSheet = new SpriteSheet(playerSheetImage);
-        playerSheet.loadSprites(PLAYER_SPRITE_SIZE, PLAYER_SPRITE_SIZE, 0);
+        SpriteSheet playerSheet = ImageLoader.getSpriteSheet(FilePath.PLAYER_SHEET_PATH, PLAYER_SPRITE_SIZE, PLAYER_SPRITE_SIZE);
 
         return new AnimatedSprite(playerSheet, 5, true);
     }
@@ -594,6 +552,7 @@ public class Game extends JFrame implements Runnable {
     }
 
     private void render() {
+        long startTime = System.nanoTime();
         BufferStrategy bufferStrategy = canvas.getBufferStrategy();
         Graphics graphics = bufferStrategy.getDrawGraphics();
         super.paint(graphics);
@@ -609,9 +568,24 @@ public class Game extends JFrame implements Runnable {
         graphics.dispose();
         bufferStrategy.show();
         renderer.clear();
+        logFrameStatistics(System.nanoTime() - startTime);
+    }
+
+    private void logFrameStatistics(long frameTime) {
+        frameTimer.addFrame(frameTime);
+        if (frameTimer.getFrames() == FRAME_STATISTICS_INTERVAL) {
+            if (DEBUG_MODE) {
+                logger.info(String.format("Frames (%s world) - %s", LOW_RESOLUTION_WORLD ? "low resolution" : "full resolution", frameTimer));
+                logger.info(String.format("Presenting - %s", renderer.getPresentStatistics()));
+            }
+            frameTimer.reset();
+            renderer.resetPresentStatistics();
+        }
     }
 
     private void update() {
+        AnimationClock.tick();
+        pathRequestService.applyResults();
         for (GameObject object : gameObjectsList) {
             object.update(this);
         }
@@ -649,6 +623,14 @@ public class Game extends JFrame implements Runnable {
             }
         }
         eventService.update(this);
+        logRouteStatistics();
+    }
+
+    private void logRouteStatistics() {
+        updates++;
+        if (DEBUG_MODE && updates % ROUTE_STATISTICS_INTERVAL == 0) {
+            logger.info(String.format("Routes - %s; path requests - %s", routeCalculator.getRouteCacheStatistics(), pathRequestService));
+        }
     }
 
     private void updatePausedElements() {
@@ -715,6 +697,7 @@ public class Game extends JFrame implements Runnable {
     }
 
     public void refreshCurrentMapCache() {
+        gameMap.getRouteTargets();
         gameMaps.put(gameMap.getMapName(), gameMap);
     }
 
@@ -724,8 +707,8 @@ public class Game extends JFrame implements Runnable {
 
     private void adjustPlayerPosition(Portal portalToPrevious) {
         if (portalToPrevious != null) {
-            int previousMapPortalX = mapService.getSpawnPoint(portalToPrevious, true, player.getDirection(), gameMap);
-            int previousMapPortalY = mapService.getSpawnPoint(portalToPrevious, false, player.getDirection(), gameMap);
+            int previousMapPortalX = MapService.getSpawnPoint(portalToPrevious, true, player.getDirection(), gameMap);
+            int previousMapPortalY = MapService.getSpawnPoint(portalToPrevious, false, player.getDirection(), gameMap);
             logger.info("Will teleport player to x:" + previousMapPortalX + ", y: " + previousMapPortalY);
             player.teleportTo(previousMapPortalX, previousMapPortalY);
         } else {
@@ -765,10 +748,11 @@ public class Game extends JFrame implements Runnable {
     }
 
     private void adjustAnimalPosition(Animal animal, String previousMap) {
-        Portal portalToPrevious = mapService.getPortalTo(gameMaps.get(animal.getCurrentMap()), previousMap);
+        GameMap currentMap = getGameMap(animal.getCurrentMap());
+        Portal portalToPrevious = mapService.getPortalTo(currentMap, previousMap);
         if (portalToPrevious != null) {
-            int previousMapPortalX = mapService.getSpawnPoint(portalToPrevious, true, animal.getDirection(), gameMaps.get(animal.getCurrentMap()));
-            int previousMapPortalY = mapService.getSpawnPoint(portalToPrevious, false, animal.getDirection(), gameMaps.get(animal.getCurrentMap()));
+            int previousMapPortalX = MapService.getSpawnPoint(portalToPrevious, true, animal.getDirection(), currentMap);
+            int previousMapPortalY = MapService.getSpawnPoint(portalToPrevious, false, animal.getDirection(), currentMap);
             animal.teleportAnimalTo(previousMapPortalX, previousMapPortalY);
             Route routeToAdjust = new Route();
             routeToAdjust.addStep(animal.getDirection());
@@ -963,83 +947,8 @@ public class Game extends JFrame implements Runnable {
         if (!stoppedChecking) {
             deselectAnimal();
         }
-        for (GameObject gameObject : new ArrayList<>(gameMap.getPlants())) {
-            if (!stoppedChecking) {
-                Rectangle newMouseRectangle = new Rectangle(xMapRelated - TILE_SIZE, yMapRelated - TILE_SIZE, TILE_SIZE, TILE_SIZE);
-                stoppedChecking = gameObject.handleMouseClick(newMouseRectangle, renderer.getCamera(), ZOOM, this);
-            }
-        }
-        for (GameObject gameObject : getGameMap().getInteractiveObjects()) {
-            if (!stoppedChecking) {
-                Rectangle newMouseRectangle = new Rectangle(xMapRelated - TILE_SIZE, yMapRelated - TILE_SIZE, TILE_SIZE, TILE_SIZE);
-                stoppedChecking = gameObject.handleMouseClick(newMouseRectangle, renderer.getCamera(), ZOOM, this);
-            }
-        }
-        for (GameObject gameObject : getGameMap().getFoodBowls()) {
-            if (!stoppedChecking) {
-                Rectangle newMouseRectangle = new Rectangle(xMapRelated - TILE_SIZE, yMapRelated - TILE_SIZE, TILE_SIZE, TILE_SIZE);
-                stoppedChecking = gameObject.handleMouseClick(newMouseRectangle, renderer.getCamera(), ZOOM, this);
-            }
-        }
-        for (GameObject gameObject : getGameMap().getWaterBowls()) {
-            if (!stoppedChecking) {
-                Rectangle newMouseRectangle = new Rectangle(xMapRelated - TILE_SIZE, yMapRelated - TILE_SIZE, TILE_SIZE, TILE_SIZE);
-                stoppedChecking = gameObject.handleMouseClick(newMouseRectangle, renderer.getCamera(), ZOOM, this);
-            }
-        }
-        for (GameObject gameObject : getGameMap().getStorageChests()) {
-            if (!stoppedChecking) {
-                Rectangle newMouseRectangle = new Rectangle(xMapRelated - TILE_SIZE, yMapRelated - TILE_SIZE, TILE_SIZE, TILE_SIZE);
-                stoppedChecking = gameObject.handleMouseClick(newMouseRectangle, renderer.getCamera(), ZOOM, this);
-            }
-        }
-        for (GameObject gameObject : getGameMap().getBushes()) {
-            if (!stoppedChecking) {
-                Rectangle newMouseRectangle = new Rectangle(xMapRelated - TILE_SIZE, yMapRelated - TILE_SIZE, TILE_SIZE, TILE_SIZE);
-                stoppedChecking = gameObject.handleMouseClick(newMouseRectangle, renderer.getCamera(), ZOOM, this);
-            }
-        }
-        for (Item item : gameMap.getItems()) {
-            if (!stoppedChecking) {
-                mouseRectangle = new Rectangle(xMapRelated - TILE_SIZE, yMapRelated - TILE_SIZE, TILE_SIZE, TILE_SIZE);
-                stoppedChecking = item.handleMouseClick(mouseRectangle, renderer.getCamera(), ZOOM, this);
-            }
-        }
-        for (Feather feather : gameMap.getFeathers()) {
-            if (!stoppedChecking) {
-                mouseRectangle = new Rectangle(xMapRelated - TILE_SIZE, yMapRelated - TILE_SIZE, TILE_SIZE, TILE_SIZE);
-                stoppedChecking = feather.handleMouseClick(mouseRectangle, renderer.getCamera(), ZOOM, this);
-            }
-        }
-        for (Mushroom mushroom : gameMap.getMushrooms()) {
-            if (!stoppedChecking) {
-                mouseRectangle = new Rectangle(xMapRelated - TILE_SIZE, yMapRelated - TILE_SIZE, TILE_SIZE, TILE_SIZE);
-                stoppedChecking = mushroom.handleMouseClick(mouseRectangle, renderer.getCamera(), ZOOM, this);
-            }
-        }
-        for (Wood wood : gameMap.getWoods()) {
-            if (!stoppedChecking) {
-                mouseRectangle = new Rectangle(xMapRelated - TILE_SIZE, yMapRelated - TILE_SIZE, TILE_SIZE, TILE_SIZE);
-                stoppedChecking = wood.handleMouseClick(mouseRectangle, renderer.getCamera(), ZOOM, this);
-            }
-        }
-        for (CookingStove cookingStove : gameMap.getCookingStoves()) {
-            if (!stoppedChecking) {
-                mouseRectangle = new Rectangle(xMapRelated - TILE_SIZE, yMapRelated - TILE_SIZE, TILE_SIZE, TILE_SIZE);
-                stoppedChecking = cookingStove.handleMouseClick(mouseRectangle, renderer.getCamera(), ZOOM, this);
-            }
-        }
-        for (Fridge fridge : gameMap.getFridges()) {
-            if (!stoppedChecking) {
-                mouseRectangle = new Rectangle(xMapRelated - TILE_SIZE, yMapRelated - TILE_SIZE, TILE_SIZE, TILE_SIZE);
-                stoppedChecking = fridge.handleMouseClick(mouseRectangle, renderer.getCamera(), ZOOM, this);
-            }
-        }
-        for (Animal animal : animalsOnMaps.get(gameMap.getMapName())) {
-            if (!stoppedChecking) {
-                mouseRectangle = new Rectangle(xMapRelated - TILE_SIZE, yMapRelated - TILE_SIZE, TILE_SIZE, TILE_SIZE);
-                stoppedChecking = animal.handleMouseClick(mouseRectangle, renderer.getCamera(), ZOOM, this);
-            }
+        if (!stoppedChecking) {
+            stoppedChecking = pickService.pickOnMap(this, gameMap, animalsOnMaps.get(gameMap.getMapName()), xMapRelated, yMapRelated);
         }
         if (!stoppedChecking) {
             int smallerX = (int) Math.floor(xMapRelated / (32.0 * ZOOM));
@@ -1170,7 +1079,7 @@ public class Game extends JFrame implements Runnable {
     }
 
     public void pickUpPlant(Plant plant) {
-        GUIButton button = backpackGui.getButtonBySprite(plant.getPreviewSprite());
+        GUIButton button = backpackGui.getButtonForItem(plant.getPlantType(), plant.getPreviewSprite());
         if (button == null) {
             putItemOnTheGround(plant.getRectangle().getX(), plant.getRectangle().getY(), plant.getPlantType(), true);
         } else {
@@ -1180,7 +1089,7 @@ public class Game extends JFrame implements Runnable {
 
         int seedAmount = player.getSkills().getGardeningSkill().getSeedsAmount();
         Sprite seedSprite = spriteService.getSeedSprite(plant.getPlantType());
-        GUIButton buttonForSeed = backpackGui.getButtonBySprite(seedSprite);
+        GUIButton buttonForSeed = backpackGui.getButtonForItem("seed" + plant.getPlantType(), seedSprite);
         if (buttonForSeed == null) {
             putItemOnTheGround(plant.getRectangle().getX() + (ZOOM * TILE_SIZE), plant.getRectangle().getY(), "seed" + plant.getPlantType(), true);
         } else {
@@ -1202,14 +1111,14 @@ public class Game extends JFrame implements Runnable {
     }
 
     public void pickUpItem(String itemName, Sprite sprite, Rectangle rectangle) {
-        GUIButton button = backpackGui.getButtonBySprite(sprite);
+        GUIButton button = backpackGui.getButtonForItem(itemName, sprite);
         if (pickUp(itemName, sprite, button, 1)) {
             gameMap.removeItem(itemName, rectangle);
         }
     }
 
     public void getItem(String itemName, Sprite sprite, int amount) {
-        GUIButton button = backpackGui.getButtonBySprite(sprite);
+        GUIButton button = backpackGui.getButtonForItem(itemName, sprite);
         pickUp(itemName, sprite, button, amount);
     }
 
@@ -1227,7 +1136,7 @@ public class Game extends JFrame implements Runnable {
                     button.setObjectCount(amount);
                 } else {
                     button.setObjectCount(limit);
-                    pickUp(itemName, sprite, backpackGui.getButtonBySprite(sprite), amount - limit);
+                    pickUp(itemName, sprite, backpackGui.getButtonForItem(itemName, sprite), amount - limit);
                 }
                 ((BackpackButton) button).setItem(itemName);
             } else {
@@ -1237,7 +1146,7 @@ public class Game extends JFrame implements Runnable {
                     button.setObjectCount(newAmount);
                 } else {
                     button.setObjectCount(limit);
-                    pickUp(itemName, sprite, backpackGui.getButtonBySprite(sprite), newAmount - limit);
+                    pickUp(itemName, sprite, backpackGui.getButtonForItem(itemName, sprite), newAmount - limit);
                 }
             }
         } else {
@@ -1406,35 +1315,58 @@ public class Game extends JFrame implements Runnable {
      * =================================== ROUTE CALCULATORS ======================================
      */
 
-    public Route calculateRouteToFood(Animal animal) {
-        return routeCalculator.calculateRoute(getGameMap(animal.getCurrentMap()), animal, FOOD);
+    /**
+     * The route calculators take a copy of where the animal starts, they run in the background while the animal moves.
+     * Make the copy on the game thread with RouteStart.of.
+     */
+    public Route calculateRouteToFood(RouteStart start) {
+        return routeCalculator.calculateRoute(getGameMap(start.getMapName()), start, FOOD);
     }
 
-    public Route calculateRouteToWater(Animal animal) {
-        Route route = routeCalculator.calculateRoute(getGameMap(animal.getCurrentMap()), animal, WATER);
+    public Route calculateRouteToWater(RouteStart start) {
+        Route route = routeCalculator.calculateRoute(getGameMap(start.getMapName()), start, WATER);
         if (!route.isEmpty()) {
             return route;
         }
-        if (animal.getCurrentMap().equalsIgnoreCase(MAIN_MAP)) {
-            return routeCalculator.calculateRoute(getGameMap(animal.getCurrentMap()), animal, LAKE_WATER);
+        if (start.getMapName().equalsIgnoreCase(MAIN_MAP)) {
+            return routeCalculator.calculateRoute(getGameMap(start.getMapName()), start, LAKE_WATER);
         } else {
-            return calculateRouteToOtherMap(animal, getNextPortalToGetToCenter(animal.getCurrentMap()));
+            return calculateRouteToMap(start, MAIN_MAP);
         }
     }
 
-    public Route calculateRouteToPillow(Animal animal) {
-        return routeCalculator.calculateRoute(getGameMap(animal.getCurrentMap()), animal, PILLOW);
+    public Route calculateRouteToPillow(RouteStart start) {
+        return routeCalculator.calculateRoute(getGameMap(start.getMapName()), start, PILLOW);
     }
 
-    public Route calculateRouteToNpc(Animal animal) {
-        if (animal.getCurrentMap().equalsIgnoreCase(npc.getCurrentMap())) {
-            return routeCalculator.calculateRoute(getGameMap(animal.getCurrentMap()), animal, NPC);
+    /**
+     * Needs a start made with RouteStart.of(animal, npc), searches must not read the npc while it moves
+     */
+    public Route calculateRouteToNpc(RouteStart start) {
+        String npcMap = start.getNpcMapName();
+        if (npcMap == null) {
+            return new Route();
+        }
+        if (start.getMapName().equalsIgnoreCase(npcMap)) {
+            return routeCalculator.calculateRoute(getGameMap(start.getMapName()), start, NPC);
         }
-        return calculateRouteToOtherMap(animal, getNextPortalToGetToCenter(animal.getCurrentMap()));
+        return calculateRouteToMap(start, npcMap);
+    }
+
+    public Route calculateRouteToOtherMap(RouteStart start, String destination) {
+        return routeCalculator.calculateRoute(getGameMap(start.getMapName()), start, destination);
     }
 
-    public Route calculateRouteToOtherMap(Animal animal, String destination) {
-        return routeCalculator.calculateRoute(getGameMap(animal.getCurrentMap()), animal, destination);
+    /**
+     * Route to the portal of the next map on the way, the map can be any number of maps away
+     */
+    public Route calculateRouteToMap(RouteStart start, String mapName) {
+        String nextMap = portalGraph.getNextMap(start.getMapName(), start.getRectangle(), mapName, ANIMAL_RESTRICTED_MAPS);
+        if (nextMap == null) {
+            logger.info(String.format("%s DID NOT found a way to map %s", start, mapName));
+            return new Route();
+        }
+        return calculateRouteToOtherMap(start, nextMap);
     }
 
     public Route calculateRouteToNpcSpot(Npc npc) {
@@ -1445,30 +1377,22 @@ public class Game extends JFrame implements Runnable {
         return routeCalculator.calculateRoute(getGameMap(MAIN_MAP), npc, CITY);
     }
 
-    public String getNearestMapWithFood(String currentMap) {
-        List<String> mapsToCheck = NavigationService.getNearestMaps(currentMap);
+    public String getNearestMapWithFood(RouteStart start) {
+        String currentMap = start.getMapName();
+        List<String> mapsToCheck = portalGraph.getMapsByDistance(currentMap, start.getRectangle(), ANIMAL_RESTRICTED_MAPS);
         for (String mapName : mapsToCheck) {
-            GameMap map = getGameMap(mapName);
-            if (!map.getItems().isEmpty()) {
+            if (getGameMap(mapName).getRouteTargets().hasFood()) {
                 return mapName;
             }
-            for (FoodBowl bowl : map.getFoodBowls()) {
-                if (bowl.isFull()) {
-                    return mapName;
-                }
-            }
         }
         return currentMap;
     }
 
-    public String getNearestMapWithWater(String currentMap) {
-        List<String> mapsToCheck = NavigationService.getNearestMaps(currentMap);
+    public String getNearestMapWithWater(RouteStart start) {
+        List<String> mapsToCheck = portalGraph.getMapsByDistance(start.getMapName(), start.getRectangle(), ANIMAL_RESTRICTED_MAPS);
         for (String mapName : mapsToCheck) {
-            GameMap map = getGameMap(mapName);
-            for (WaterBowl bowl : map.getWaterBowls()) {
-                if (bowl.isFull()) {
-                    return mapName;
-                }
+            if (getGameMap(mapName).getRouteTargets().hasWater()) {
+                return mapName;
             }
         }
         return MAIN_MAP;
@@ -1539,7 +1463,7 @@ public class Game extends JFrame implements Runnable {
             sendNpcAway();
             return;
         }
-        Route route = calculateRouteToNpc(adoptedAnimal);
+        Route route = calculateRouteToNpc(RouteStart.of(adoptedAnimal, npc));
         adoptedAnimal.sendToNpc(route);
     }
 
@@ -1665,8 +1589,15 @@ public class Game extends JFrame implements Runnable {
         return gameMap;
     }
 
+    /**
+     * Null when there is no map with the name, also for a null name, which the concurrent map does not take
+     */
     public GameMap getGameMap(String mapName) {
-        return gameMaps.get(mapName);
+        return mapName == null ? null : gameMaps.get(mapName);
+    }
+
+    public PathRequestService getPathRequestService() {
+        return pathRequestService;
     }
 
     public Map<String, List<Animal>> getAnimalsOnMaps() {
@@ -19,13 +19,22 @@ public class Constants {
     public static final String TEST_MAP_PROPERTY = "test-map";
     public static boolean TEST_MAP_MODE;
 
+    public static final String ASSET_PACK_PROPERTY = "asset-pack";
+
+    public static final String LOW_RESOLUTION_WORLD_PROPERTY = "low-resolution-world";
+    public static boolean LOW_RESOLUTION_WORLD;
+
     public static final String CURRENT_GAME_VERSION = "1.4.2";
+    public static final int CURRENT_MAP_SCHEMA_VERSION = 1;
 
     public static final int INVENTORY_LIMIT = 99;
     public static final int ANIMAL_LIMIT = 15;
     public static final int BUSH_INTERVAL_BOUND = 7000;
     public static final int EVENTS_INTERVAL = 1000;
     public static final int MAX_FOOD_FRESHNESS = 25_000;
+    public static final int ROUTES_APPLIED_PER_TICK = 4;
+    public static final int ROUTE_STATISTICS_INTERVAL = 3600;
+    public static final int FRAME_STATISTICS_INTERVAL = 600;
 
     private static final String ENGLISH = "eng";
     private static final String LATVIAN = "lv";
@@ -1,6 +1,9 @@
 package base.constants;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static base.constants.VisibleText.*;
@@ -16,6 +19,11 @@ public class MapConstants {
 
     public static final String TEST_MAP = "TestMap";
 
+    /**
+     * Animals can leave these maps but never walk into them
+     */
+    public static final List<String> ANIMAL_RESTRICTED_MAPS = Arrays.asList(FOREST_MAP, CITY_MAP);
+
     public static final Map<String, String> PRETTIER_MAP_NAMES = new HashMap<>();
 
     static {
@@ -27,4 +35,20 @@ public class MapConstants {
         PRETTIER_MAP_NAMES.put(FOREST_MAP, forest);
         PRETTIER_MAP_NAMES.put(CITY_MAP, city);
     }
+
+    public static boolean isAnimalRestrictedMap(String mapName) {
+        return isRestrictedMap(mapName, ANIMAL_RESTRICTED_MAPS);
+    }
+
+    /**
+     * Map names are compared ignoring case, like portal directions
+     */
+    public static boolean isRestrictedMap(String mapName, Collection<String> restrictedMaps) {
+        for (String restrictedMap : restrictedMaps) {
+            if (restrictedMap.equalsIgnoreCase(mapName)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -11,6 +11,9 @@ import base.navigationservice.Route;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import static base.constants.ColorConstant.GREEN;
 import static base.constants.ColorConstant.YELLOW;
 import static base.constants.Constants.*;
@@ -62,6 +65,11 @@ public abstract class Animal implements GameObject, Walking {
 
     protected static final Logger logger = LoggerFactory.getLogger(Animal.class);
 
+    /**
+     * Clips per animal type, every animal only keeps its own playback position
+     */
+    private static final Map<String, AnimationClip> animationClips = new ConcurrentHashMap<>();
+
     protected Animal(String animalType, int startX, int startY, int tileSize) {
         this(animalType, startX, startY, 1, tileSize, MAX_HUNGER, MAX_THIRST, MAX_ENERGY, ADULT, "");
     }
@@ -97,7 +105,13 @@ public abstract class Animal implements GameObject, Walking {
     }
 
     protected void loadAnimatedSprite() {
-        animatedSprite = ImageLoader.getAnimatedSprite(IMAGES_PATH + animalType + ".png", tileSize, 10);
+        animatedSprite = new AnimatedSprite(animationClips.computeIfAbsent(animalType + "-" + tileSize, key -> loadAnimationClip()));
+    }
+
+    private AnimationClip loadAnimationClip() {
+        AnimationClip clip = ImageLoader.getAnimationClip(IMAGES_PATH + animalType + ".png", tileSize, tileSize, 10);
+        int spritesSize = clip.getFramesSize();
+        return clip.withDirectionRanges(direction -> getStartingSprite(direction, spritesSize), direction -> getEndSprite(direction, spritesSize));
     }
 
     protected void setPreviewSprite() {
@@ -105,41 +119,53 @@ public abstract class Animal implements GameObject, Walking {
     }
 
     public void updateDirection() {
-        int startSprite = getStartingSprite(direction);
-        int endSprite = getEndSprite(direction);
-        animatedSprite.setAnimationRange(startSprite, endSprite);
+        animatedSprite.setAnimationRange(direction);
     }
 
     protected int getStartingSprite(Direction direction) {
-        if (animatedSprite != null && direction != STAY) {
+        if (animatedSprite != null) {
+            return animatedSprite.getClip().getStartSprite(direction);
+        }
+        return 0;
+    }
+
+    protected int getEndSprite(Direction direction) {
+        if (animatedSprite != null) {
+            return animatedSprite.getClip().getEndSprite(direction);
+        }
+        return 0;
+    }
+
+    private static int getStartingSprite(Direction direction, int spritesSize) {
+        if (direction != STAY) {
             if (direction.name().startsWith("EAT")) {
-                if (animatedSprite.getSpritesSize() >= 28) {
-                    return (direction.directionNumber - 5) * animatedSprite.getSpritesSize() / 4 + 3;
+                if (spritesSize >= 28) {
+                    return (direction.directionNumber - 5) * spritesSize / 4 + 3;
                 } else {
-                    return (direction.directionNumber - 5) * animatedSprite.getSpritesSize() / 4;
+                    return (direction.directionNumber - 5) * spritesSize / 4;
                 }
             }
             if (direction.name().startsWith("SLEEP") || direction.name().startsWith("WAKEUP")) {
-                return (direction.directionNumber - 9) * animatedSprite.getSpritesSize() / 4 + 7;
+                return (direction.directionNumber - 9) * spritesSize / 4 + 7;
             }
-            return direction.directionNumber * animatedSprite.getSpritesSize() / 4;
+            return direction.directionNumber * spritesSize / 4;
         }
         return 0;
     }
 
-    protected int getEndSprite(Direction direction) {
-        if (animatedSprite != null && direction != STAY) {
+    private static int getEndSprite(Direction direction, int spritesSize) {
+        if (direction != STAY) {
             if (direction.name().startsWith("EAT")) {
-                if (animatedSprite.getSpritesSize() >= 28) {
-                    return (direction.directionNumber - 5) * animatedSprite.getSpritesSize() / 4 + 6;
+                if (spritesSize >= 28) {
+                    return (direction.directionNumber - 5) * spritesSize / 4 + 6;
                 } else {
-                    return (direction.directionNumber - 5) * animatedSprite.getSpritesSize() / 4 + 2;
+                    return (direction.directionNumber - 5) * spritesSize / 4 + 2;
                 }
             }
             if (direction.name().startsWith("SLEEP") || direction.name().startsWith("WAKEUP")) {
-                return (direction.directionNumber - 9) * animatedSprite.getSpritesSize() / 4 + 10;
+                return (direction.directionNumber - 9) * spritesSize / 4 + 10;
             }
-            return direction.directionNumber * animatedSprite.getSpritesSize() / 4 + 2;
+            return direction.directionNumber * spritesSize / 4 + 2;
         }
         return 0;
     }
@@ -544,6 +570,10 @@ public abstract class Animal implements GameObject, Walking {
         return route;
     }
 
+    public AnimalState getState() {
+        return state;
+    }
+
     public void setRoute(Route route) {
         this.route = route;
     }
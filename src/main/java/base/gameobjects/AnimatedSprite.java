@@ -5,31 +5,39 @@ import base.graphicsservice.Rectangle;
 import base.graphicsservice.RenderHandler;
 import base.graphicsservice.Sprite;
 import base.graphicsservice.SpriteSheet;
+import base.navigationservice.Direction;
 
+/**
+ * Playback position in a shared AnimationClip, every animated object owns one of these. While it is played
+ * the frame is worked out from AnimationClock when it is needed, from the tick the playback started and
+ * the last tick it was updated in. Ticks without an update pause it, like counting updates would.
+ */
 public class AnimatedSprite extends Sprite implements GameObject {
 
-    private final Sprite[] sprites;
+    private final AnimationClip clip;
+    // frame shown while not played and the frame the playback starts from
     private int currentSprite = 0;
     private int speed;
-    private int counter;
-    private boolean isVertical;
+    private boolean playing;
+    private long phase;
+    private long lastUpdate;
 
     private int startSprite = 0;
     private int endSprite;
 
     //higher number = slower speed
     public AnimatedSprite(SpriteSheet sheet, int speed, boolean isVertical) {
-        sprites = sheet.getLoadedSprites();
-        this.speed = speed;
-        this.endSprite = sprites.length - 1;
-        this.isVertical = isVertical;
+        this(new AnimationClip(sheet.getLoadedSprites(), speed, isVertical));
     }
 
     public AnimatedSprite(Sprite[] sprites, int speed, boolean isVertical, int endSprite) {
-        this.sprites = sprites;
-        this.speed = speed;
-        this.isVertical = isVertical;
-        this.endSprite = endSprite;
+        this(new AnimationClip(sprites, speed, isVertical, endSprite));
+    }
+
+    public AnimatedSprite(AnimationClip clip) {
+        this.clip = clip;
+        this.speed = clip.getSpeed();
+        this.endSprite = clip.getEndSprite();
     }
 
     @Override
@@ -38,33 +46,65 @@ public class AnimatedSprite extends Sprite implements GameObject {
         // render is dealt specifically with the Layer class
     }
 
-    // should be 60 fps
+    // should be 60 fps, plays the animation in this tick
     @Override
     public void update(Game game) {
-        counter++;
-        if (counter >= speed) {
-            counter = 0;
-            incrementSprite();
+        long now = AnimationClock.getTicks();
+        if (!playing) {
+            playing = true;
+            phase = now - 1;
+        } else if (now > lastUpdate) {
+            // ticks without an update do not count
+            phase += now - lastUpdate - 1;
         }
+        lastUpdate = now;
+    }
+
+    private int getShownSprite() {
+        if (!playing) {
+            return currentSprite;
+        }
+        long steps = Math.floorDiv(lastUpdate - phase, getTicksPerFrame());
+        int step = clip.isVertical() ? 4 : 1;
+        int stepsToWrap = currentSprite > endSprite ? 1 : (endSprite - currentSprite) / step + 1;
+        if (steps < stepsToWrap) {
+            return currentSprite + (int) steps * step;
+        }
+        int cycle = startSprite > endSprite ? 1 : (endSprite - startSprite) / step + 1;
+        return startSprite + (int) ((steps - stepsToWrap) % cycle) * step;
+    }
+
+    private int getTicksPerFrame() {
+        return Math.max(speed, 1);
     }
 
     @Override
     public int getWidth() {
-        return sprites[currentSprite].getWidth();
+        return clip.getFrame(getShownSprite()).getWidth();
     }
 
     @Override
     public int getHeight() {
-        return sprites[currentSprite].getHeight();
+        return clip.getFrame(getShownSprite()).getHeight();
     }
 
     @Override
     public int[] getPixels() {
-        return sprites[currentSprite].getPixels();
+        return clip.getFrame(getShownSprite()).getPixels();
     }
 
+    @Override
+    public int getFrameId() {
+        return clip.getFrame(getShownSprite()).getFrameId();
+    }
+
+    /**
+     * Moves to the next frame, a played animation keeps the ticks counted towards the frame after it
+     */
     public void incrementSprite() {
-        if (isVertical) {
+        long counter = playing ? Math.floorMod(lastUpdate - phase, getTicksPerFrame()) : 0;
+        currentSprite = getShownSprite();
+        if (clip.isVertical()) {
             currentSprite += 4;
         } else {
             currentSprite++;
@@ -72,6 +112,7 @@ public class AnimatedSprite extends Sprite implements GameObject {
         if (currentSprite > endSprite) {
             currentSprite = startSprite;
         }
+        phase = lastUpdate - counter;
     }
 
     public void setAnimationRange(int startSprite, int endSprite) {
@@ -80,8 +121,15 @@ public class AnimatedSprite extends Sprite implements GameObject {
         reset();
     }
 
+    /**
+     * Switches to the frame range the clip has for this direction
+     */
+    public void setAnimationRange(Direction direction) {
+        setAnimationRange(clip.getStartSprite(direction), clip.getEndSprite(direction));
+    }
+
     public void reset() {
-        counter = 0;
+        playing = false;
         currentSprite = startSprite;
     }
 
@@ -96,19 +144,27 @@ public class AnimatedSprite extends Sprite implements GameObject {
     }
 
     public Sprite getStartSprite() {
-        return sprites[startSprite];
+        return clip.getFrame(startSprite);
     }
 
+    /**
+     * A played animation keeps its frame and the ticks counted towards the next one
+     */
     public void setSpeed(int speed) {
+        if (playing) {
+            long counter = Math.floorMod(lastUpdate - phase, getTicksPerFrame());
+            currentSprite = getShownSprite();
+            phase = lastUpdate - counter;
+        }
         this.speed = speed;
     }
 
     public int getSpritesSize() {
-        return sprites.length;
+        return clip.getFramesSize();
     }
 
     public int getCurrentSprite() {
-        return currentSprite;
+        return getShownSprite();
     }
 
     public int getEndSprite() {
@@ -125,14 +181,14 @@ public class AnimatedSprite extends Sprite implements GameObject {
     }
 
     public Sprite[] getSprites() {
-        return sprites;
+        return clip.getFrames();
     }
 
-    public boolean isVertical() {
-        return isVertical;
+    public AnimationClip getClip() {
+        return clip;
     }
 
-    public void setVertical(boolean vertical) {
-        isVertical = vertical;
+    public boolean isVertical() {
+        return clip.isVertical();
     }
 }
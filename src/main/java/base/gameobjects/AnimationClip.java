@@ -0,0 +1,92 @@
+package base.gameobjects;
+
+import base.graphicsservice.Sprite;
+import base.navigationservice.Direction;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * Immutable frames of an animation together with the frame range played for every direction.
+ * One clip is shared by all objects showing the same animation, the playback state lives in AnimatedSprite.
+ */
+public class AnimationClip {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final Sprite[] frames;
+    private final int speed;
+    private final boolean vertical;
+    private final int endSprite;
+
+    private final int[] startSprites;
+    private final int[] endSprites;
+
+    //higher number = slower speed
+    public AnimationClip(Sprite[] frames, int speed, boolean vertical) {
+        this(frames, speed, vertical, frames.length - 1);
+    }
+
+    public AnimationClip(Sprite[] frames, int speed, boolean vertical, int endSprite) {
+        this(frames, speed, vertical, endSprite, null, null);
+    }
+
+    private AnimationClip(Sprite[] frames, int speed, boolean vertical, int endSprite, int[] startSprites, int[] endSprites) {
+        this.frames = frames;
+        this.speed = speed;
+        this.vertical = vertical;
+        this.endSprite = endSprite;
+        this.startSprites = startSprites;
+        this.endSprites = endSprites;
+    }
+
+    /**
+     * Returns a copy of this clip with the range of every direction computed once up front
+     */
+    public AnimationClip withDirectionRanges(ToIntFunction<Direction> startSprite, ToIntFunction<Direction> endSprite) {
+        int[] starts = new int[DIRECTIONS.length];
+        int[] ends = new int[DIRECTIONS.length];
+        for (Direction direction : DIRECTIONS) {
+            starts[direction.ordinal()] = startSprite.applyAsInt(direction);
+            ends[direction.ordinal()] = endSprite.applyAsInt(direction);
+        }
+        return new AnimationClip(frames, speed, vertical, this.endSprite, starts, ends);
+    }
+
+    public int getStartSprite(Direction direction) {
+        if (startSprites == null || direction == null) {
+            return 0;
+        }
+        return startSprites[direction.ordinal()];
+    }
+
+    public int getEndSprite(Direction direction) {
+        if (endSprites == null || direction == null) {
+            return endSprite;
+        }
+        return endSprites[direction.ordinal()];
+    }
+
+    public Sprite getFrame(int index) {
+        return frames[index];
+    }
+
+    public Sprite[] getFrames() {
+        return frames;
+    }
+
+    public int getFramesSize() {
+        return frames.length;
+    }
+
+    public int getSpeed() {
+        return speed;
+    }
+
+    public boolean isVertical() {
+        return vertical;
+    }
+
+    public int getEndSprite() {
+        return endSprite;
+    }
+}
@@ -0,0 +1,21 @@
+package base.gameobjects;
+
+/**
+ * Game ticks for animations, advanced once per update of the game. Animated sprites work out their frame
+ * from the ticks when they are drawn, so nothing is counted for sprites nobody looks at.
+ */
+public class AnimationClock {
+
+    private static volatile long ticks;
+
+    private AnimationClock() {
+    }
+
+    public static void tick() {
+        ticks++;
+    }
+
+    public static long getTicks() {
+        return ticks;
+    }
+}
@@ -48,7 +48,7 @@ public class Bush implements GameObject {
         rectangle.generateBorder(1, GREEN);
         interactionZone = new InteractionZoneBushWithAnimal(rectangle.getX() + 96, rectangle.getY() + 82, 150);
 
-        contextClue = new ContextClue(new Sprite(ImageLoader.loadImage(HEART_ICON_PATH)));
+        contextClue = new ContextClue(ImageLoader.getPreviewSprite(HEART_ICON_PATH));
 
         isAnimalInside = false;
         maxInterval = BUSH_INTERVAL_BOUND + random.nextInt(BUSH_INTERVAL_BOUND);
@@ -60,7 +60,7 @@ public class Bush implements GameObject {
         random = new Random();
         this.canContainAnimal = random.nextBoolean();
         interactionZone = new InteractionZoneBushWithAnimal(rectangle.getX() + 96, rectangle.getY() + 82, 150);
-        contextClue = new ContextClue(new Sprite(ImageLoader.loadImage(HEART_ICON_PATH)));
+        contextClue = new ContextClue(ImageLoader.getPreviewSprite(HEART_ICON_PATH));
 
         isAnimalInside = false;
         maxInterval = BUSH_INTERVAL_BOUND + random.nextInt(BUSH_INTERVAL_BOUND);
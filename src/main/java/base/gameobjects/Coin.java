@@ -22,7 +22,7 @@ public class Coin implements GameObject {
     public Coin(int xPosition, int yPosition, int amount) {
         this.amount = amount;
 
-        sprite = new Sprite(ImageLoader.loadImage(MONEY_ICON_PATH));
+        sprite = ImageLoader.getPreviewSprite(MONEY_ICON_PATH);
         rectangle = new Rectangle(xPosition, yPosition, CELL_SIZE, CELL_SIZE);
     }
 
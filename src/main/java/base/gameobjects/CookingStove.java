@@ -40,7 +40,7 @@ public class CookingStove implements GameObject {
         this.tileId = tileId;
         this.rectangle = new Rectangle(xPosition, yPosition, TILE_SIZE, TILE_SIZE);
         interactionZone = new InteractionZoneKitchen(xPosition + 32, yPosition + 32, 290);
-        setContextClue(new ContextClue(new Sprite(ImageLoader.loadImage(QUESTION_ICON_PATH))));
+        setContextClue(new ContextClue(ImageLoader.getPreviewSprite(QUESTION_ICON_PATH)));
     }
 
     @Override
@@ -27,6 +27,7 @@ public class FoodBowl extends Bowl {
             if (!isFull && game.isPetFoodSelected()) {
                 logger.debug("Will fill food bowl");
                 fillBowl(game.getItemNameByButtonId());
+                game.getGameMap().markFoodChanged();
                 game.removeItemFromInventory(game.getSelectedItem());
                 return true;
             }
@@ -32,7 +32,7 @@ public class Fridge extends Bookcase implements GameObject {
         this.rectangle = new Rectangle(xPosition, yPosition - CELL_SIZE, TILE_SIZE, CELL_SIZE + TILE_SIZE);
         rectangle.generateBorder(1, GREEN);
         interactionZone = new InteractionZoneKitchen(xPosition + 32, yPosition + 32, 290);
-        setContextClue(new ContextClue(new Sprite(ImageLoader.loadImage(QUESTION_ICON_PATH))));
+        setContextClue(new ContextClue(ImageLoader.getPreviewSprite(QUESTION_ICON_PATH)));
     }
 
     @Override
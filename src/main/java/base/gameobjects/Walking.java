@@ -3,7 +3,6 @@ package base.gameobjects;
 import base.Game;
 import base.graphicsservice.Rectangle;
 import base.map.GameMap;
-import base.map.MapTile;
 import base.navigationservice.Direction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,8 +11,7 @@ import java.util.List;
 import java.util.Random;
 
 import static base.constants.Constants.*;
-import static base.constants.MapConstants.CITY_MAP;
-import static base.constants.MapConstants.FOREST_MAP;
+import static base.constants.MapConstants.isAnimalRestrictedMap;
 import static base.navigationservice.Direction.*;
 
 public interface Walking {
@@ -23,7 +21,7 @@ public interface Walking {
 
     default boolean nearPortal(List<Portal> portals, Rectangle rectangle) {
         for (Portal portal : portals) {
-            if (this instanceof Animal && (portal.getDirection().equalsIgnoreCase(FOREST_MAP) || portal.getDirection().equalsIgnoreCase(CITY_MAP))) {
+            if (this instanceof Animal && isAnimalRestrictedMap(portal.getDirection())) {
                 // don't check this portal, animal should not use it
                 continue;
             }
@@ -43,8 +41,6 @@ public interface Walking {
         int xPosition = rectangle.getX();
         int yPosition = rectangle.getY();
 
-        List<MapTile> tilesOnLayer = gameMap.getTilesOnLayer(layer);
-
         switch (direction) {
             case LEFT:
                 xPosition = xPosition - speed;
@@ -64,20 +60,7 @@ public interface Walking {
             return false;
         }
 
-        if (tilesOnLayer != null) {
-            for (MapTile tile : tilesOnLayer) {
-                if (rectangle.potentialIntersects(tile, xPosition, yPosition)) {
-                    if (tile.isPortal()) {
-                        return false;
-                    }
-                    if (gameMap.getWaterCornerTiles().contains(tile.getId())) {
-                        return false;
-                    }
-                    return true;
-                }
-            }
-        }
-        return false;
+        return gameMap.getNavigationGrid().isBlockedForWalking(layer, xPosition, yPosition, rectangle.getWidth(), rectangle.getHeight());
     }
 
 
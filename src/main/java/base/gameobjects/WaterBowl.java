@@ -25,6 +25,7 @@ public class WaterBowl extends Bowl {
             if (!isFull) {
                 logger.debug("Will fill water bowl");
                 fillBowl();
+                game.getGameMap().markWaterChanged();
             }
             return true;
         }
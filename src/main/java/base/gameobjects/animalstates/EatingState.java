@@ -2,6 +2,7 @@ package base.gameobjects.animalstates;
 
 import base.Game;
 import base.gameobjects.*;
+import base.map.GameMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -67,19 +68,19 @@ public class EatingState implements AnimalState {
     }
 
     private boolean isNearFood(Game game, Animal animal) {
-        for (Item item : game.getGameMap(animal.getCurrentMap()).getItems()) {
-            if (item != null && animal.getRectangle().intersects(item.getRectangle())) {
-                game.getGameMap(animal.getCurrentMap()).removeItem(item.getItemName(), item.getRectangle());
-                foodTypeEating = RAW_MEAL;
-                return true;
-            }
+        GameMap gameMap = game.getGameMap(animal.getCurrentMap());
+        Item item = gameMap.findItem(animal.getRectangle());
+        if (item != null) {
+            gameMap.removeItem(item.getItemName(), item.getRectangle());
+            foodTypeEating = RAW_MEAL;
+            return true;
         }
-        for (FoodBowl bowl : game.getGameMap(animal.getCurrentMap()).getFoodBowls()) {
-            if (bowl.isFull() && animal.getRectangle().intersects(bowl.getRectangle())) {
-                foodTypeEating = bowl.getFoodType();
-                bowl.emptyBowl();
-                return true;
-            }
+        FoodBowl bowl = gameMap.findFullFoodBowl(animal.getRectangle());
+        if (bowl != null) {
+            foodTypeEating = bowl.getFoodType();
+            bowl.emptyBowl();
+            gameMap.markFoodChanged();
+            return true;
         }
         return false;
     }
@@ -92,11 +93,12 @@ public class EatingState implements AnimalState {
     }
 
     private boolean isNearWater(Game game, Animal animal) {
-        for (WaterBowl bowl : game.getGameMap(animal.getCurrentMap()).getWaterBowls()) {
-            if (bowl.isFull() && animal.getRectangle().intersects(bowl.getRectangle())) {
-                bowl.emptyBowl();
-                return true;
-            }
+        GameMap gameMap = game.getGameMap(animal.getCurrentMap());
+        WaterBowl bowl = gameMap.findFullWaterBowl(animal.getRectangle());
+        if (bowl != null) {
+            bowl.emptyBowl();
+            gameMap.markWaterChanged();
+            return true;
         }
         if (game.isNearWater(animal)) {
             return true;
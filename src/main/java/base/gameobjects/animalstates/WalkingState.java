@@ -8,12 +8,16 @@ import base.map.MapTile;
 import base.navigationservice.Direction;
 import base.navigationservice.NavigationService;
 import base.navigationservice.Route;
+import base.navigationservice.RouteStart;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.function.Consumer;
+import java.util.function.Function;
+
 import static base.constants.Constants.*;
-import static base.constants.MapConstants.CITY_MAP;
-import static base.constants.MapConstants.FOREST_MAP;
+import static base.constants.MapConstants.isAnimalRestrictedMap;
+import static base.constants.MapConstants.MAIN_MAP;
 import static base.gameobjects.Animal.*;
 import static base.navigationservice.Direction.STAY;
 import static base.navigationservice.MapEdgesUtil.*;
@@ -84,13 +88,13 @@ public class WalkingState implements AnimalState {
                 animal.setFallingAsleepState();
                 return;
             }
-            if (animal.getRoute().isEmpty()) {
-                animal.setRoute(game.calculateRouteToPillow(animal));
-            }
-            if (animal.getRoute().isEmpty()) {
-                animal.setFallingAsleepState();
-                return;
-            }
+            requestRoute(game, animal, game::calculateRouteToPillow, route -> {
+                if (route.isEmpty()) {
+                    animal.setFallingAsleepState();
+                } else {
+                    animal.setRoute(route);
+                }
+            });
         }
         if ((isHungerLow(animal) && isNearFood(game, animal)) || (isThirstLow(animal) && isNearWater(game, animal))) {
             animal.setEatingState();
@@ -160,14 +164,14 @@ public class WalkingState implements AnimalState {
     }
 
     private void checkIfNeedToGoToDifferentLocation(Game game, Animal animal) {
-        if (animal.getRoute().isEmpty() && (animal.getCurrentMap().equalsIgnoreCase(FOREST_MAP) || animal.getCurrentMap().equalsIgnoreCase(CITY_MAP))) {
-            animal.setRoute(game.calculateRouteToOtherMap(animal, NavigationService.getNextPortalToGetToCenter(animal.getCurrentMap())));
+        if (animal.getRoute().isEmpty() && isAnimalRestrictedMap(animal.getCurrentMap())) {
+            requestRoute(game, animal, start -> game.calculateRouteToMap(start, MAIN_MAP), animal::setRoute);
         }
     }
 
     private void checkPortal(Game game, Animal animal) {
         Portal portal = animal.getPortalTile(game, animal.getCurrentMap(), animal.getRectangle());
-        if (portal != null && !(portal.getDirection().equalsIgnoreCase(FOREST_MAP) || portal.getDirection().equalsIgnoreCase(CITY_MAP))) {
+        if (portal != null && !isAnimalRestrictedMap(portal.getDirection())) {
             game.moveAnimalToAnotherMap(animal, portal);
             arrivingCooldown = 15;
         }
@@ -175,7 +179,7 @@ public class WalkingState implements AnimalState {
 
     private boolean isArrivedToNpc(Game game, Animal animal) {
         if (!animal.getRectangle().intersects(game.getAdoptionNpc().getRectangle())) {
-            animal.setRoute(game.calculateRouteToNpc(animal));
+            requestRoute(game, animal, RouteStart.of(animal, game.getAdoptionNpc()), game::calculateRouteToNpc, animal::setRoute);
             return false;
         } else {
             return true;
@@ -203,38 +207,84 @@ public class WalkingState implements AnimalState {
     }
 
     private void lookForWater(Animal animal, Game game) {
-        animal.setRoute(game.calculateRouteToWater(animal));
-        if (animal.getRoute().isEmpty()) {
-            String mapWithWater = game.getNearestMapWithWater(animal.getCurrentMap());
-            if (!mapWithWater.equalsIgnoreCase(animal.getCurrentMap())) {
-                logger.info(String.format("%s is going to %s to get water", animal, mapWithWater));
-                animal.setRoute(game.calculateRouteToOtherMap(animal, mapWithWater));
+        requestRoute(game, animal, start -> findRouteToWater(start, game), route -> {
+            if (route.isEmpty()) {
+                animal.setWaitingState();
+            } else {
+                animal.setRoute(route);
+            }
+        });
+    }
+
+    private Route findRouteToWater(RouteStart start, Game game) {
+        Route route = game.calculateRouteToWater(start);
+        if (route.isEmpty()) {
+            String mapWithWater = game.getNearestMapWithWater(start);
+            if (!mapWithWater.equalsIgnoreCase(start.getMapName())) {
+                logger.info(String.format("%s is going to %s to get water", start, mapWithWater));
+                route = game.calculateRouteToMap(start, mapWithWater);
             }
         }
-        if (animal.getRoute().isEmpty()) {
-            animal.setWaitingState();
-        }
+        return route;
     }
 
     private void lookForFood(Animal animal, Game game) {
-        animal.setRoute(game.calculateRouteToFood(animal));
-        if (animal.getRoute().isEmpty()) {
-            String mapWithFood = game.getNearestMapWithFood(animal.getCurrentMap());
-            if (!mapWithFood.equalsIgnoreCase(animal.getCurrentMap())) {
-                logger.info(String.format("%s is going to %s to get food", animal, mapWithFood));
-                Route routeToOtherMap = game.calculateRouteToOtherMap(animal, mapWithFood);
-                if (routeToOtherMap.isEmpty()) {
+        requestRoute(game, animal, start -> findRouteToFood(start, game), route -> {
+            if (route.isEmpty()) {
+                animal.setWaitingState(400);
+            } else {
+                animal.setRoute(route);
+                movingTicks = 0;
+            }
+        });
+    }
+
+    private Route findRouteToFood(RouteStart start, Game game) {
+        Route route = game.calculateRouteToFood(start);
+        if (route.isEmpty()) {
+            String mapWithFood = game.getNearestMapWithFood(start);
+            if (!mapWithFood.equalsIgnoreCase(start.getMapName())) {
+                logger.info(String.format("%s is going to %s to get food", start, mapWithFood));
+                route = game.calculateRouteToMap(start, mapWithFood);
+                if (route.isEmpty()) {
                     logger.info("Route to other map was empty");
-                    animal.setWaitingState();
-                } else {
-                    animal.setRoute(routeToOtherMap);
-                    movingTicks = 0;
                 }
             }
         }
-        if (animal.getRoute().isEmpty()) {
-            animal.setWaitingState(400);
+        return route;
+    }
+
+    /**
+     * The search runs in the background while the animal keeps walking. It gets a copy of where the animal was
+     * when it asked, so the route is used only if the animal is still between the same tile lines as that copy
+     * and still walking, otherwise the animal asks again on a later tick.
+     */
+    private void requestRoute(Game game, Animal animal, Function<RouteStart, Route> search, Consumer<Route> onRoute) {
+        requestRoute(game, animal, RouteStart.of(animal), search, onRoute);
+    }
+
+    private void requestRoute(Game game, Animal animal, RouteStart start, Function<RouteStart, Route> search, Consumer<Route> onRoute) {
+        game.getPathRequestService().submit(animal, () -> search.apply(start), route -> {
+            if (animal.getState() == this && animal.getRoute().isEmpty() && isSameStart(start, animal)) {
+                onRoute.accept(route);
+            }
+        });
+    }
+
+    private boolean isSameStart(RouteStart start, Animal animal) {
+        return start.getMapName().equals(animal.getCurrentMap())
+                && isSameStart(start.getX(), animal.getCurrentX()) && isSameStart(start.getY(), animal.getCurrentY());
+    }
+
+    /**
+     * Every step moves to the next tile line, so from both positions a route makes the same steps
+     */
+    private boolean isSameStart(int start, int current) {
+        if (start == current) {
+            return true;
         }
+        return Math.floorMod(start, TILE_SIZE) != 0 && Math.floorMod(current, TILE_SIZE) != 0
+                && Math.floorDiv(start, TILE_SIZE) == Math.floorDiv(current, TILE_SIZE);
     }
 
     private boolean isSleepy(Animal animal) {
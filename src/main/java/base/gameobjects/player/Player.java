@@ -6,13 +6,11 @@ import base.gameobjects.GameObject;
 import base.gameobjects.Portal;
 import base.graphicsservice.Rectangle;
 import base.graphicsservice.RenderHandler;
-import base.map.MapTile;
 import base.navigationservice.Direction;
 import base.navigationservice.KeyboardListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import static base.constants.Constants.*;
@@ -172,32 +170,10 @@ public class Player implements GameObject {
                 yPosition = yPosition + (speed + 2);
                 break;
         }
-        List<MapTile> tilesOnLayer = game.getGameMap().getTilesOnLayer(getLayer());
-        if (tilesOnLayer != null) {
-            for (MapTile tile : tilesOnLayer) {
-                if (playerRectangle.potentialIntersects(tile, xPosition, yPosition)) {
-                    return true;
-                }
-            }
-        }
-        List<GameObject> gameObjects = new ArrayList<>();
-        gameObjects.addAll(game.getGameMap().getSpruces());
-        gameObjects.addAll(game.getGameMap().getOaks());
-        gameObjects.addAll(game.getGameMap().getItems());
-        gameObjects.addAll(game.getGameMap().getPlants());
-        gameObjects.addAll(game.getGameMap().getFoodBowls());
-        gameObjects.addAll(game.getGameMap().getStorageChests());
-        gameObjects.addAll(game.getGameMap().getNpcSpots());
-        gameObjects.addAll(game.getGameMap().getBushes());
-        if (!gameObjects.isEmpty()) {
-            Rectangle potentialRectangle = new Rectangle(xPosition, yPosition, playerRectangle.getWidth(), playerRectangle.getHeight());
-            for (GameObject gameObject : gameObjects) {
-                if (gameObject.getLayer() == getLayer() && potentialRectangle.intersects(gameObject.getRectangle())) {
-                    return true;
-                }
-            }
+        if (game.getGameMap().getNavigationGrid().isOccupied(getLayer(), xPosition, yPosition, playerRectangle.getWidth(), playerRectangle.getHeight())) {
+            return true;
         }
-        return false;
+        return game.getGameMap().getColliders().intersectsAny(xPosition, yPosition, playerRectangle.getWidth(), playerRectangle.getHeight(), getLayer());
     }
 
     private boolean nearPortal(List<Portal> portals) {
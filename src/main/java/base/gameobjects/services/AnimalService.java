@@ -61,6 +61,23 @@ public class AnimalService {
         }
     }
 
+    public List<String> getImagePaths() {
+        List<String> paths = new ArrayList<>();
+        for (String animalType : ANIMAL_TYPES) {
+            List<String> variants = Collections.singletonList(animalType);
+            if (Cat.TYPE.equals(animalType)) {
+                variants = CAT_COLORS;
+            } else if (Rat.TYPE.equals(animalType)) {
+                variants = RAT_COLORS;
+            }
+            for (String variant : variants) {
+                paths.add(IMAGES_PATH + variant + "-preview.png");
+                paths.add(IMAGES_PATH + variant + ".png");
+            }
+        }
+        return paths;
+    }
+
     public Map<String, Sprite> getAnimalPreviewSprites() {
         Map<String, Sprite> previews = new HashMap<>();
         for (String animalName : ANIMAL_TYPES) {
@@ -0,0 +1,84 @@
+package base.gameobjects.services;
+
+import base.Game;
+import base.gameobjects.*;
+import base.gameobjects.storage.StorageChest;
+import base.graphicsservice.Rectangle;
+import base.map.GameMap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static base.constants.Constants.TILE_SIZE;
+import static base.constants.Constants.ZOOM;
+
+/**
+ * Finds what a click on the map hits. Objects which stay where they are put come from the object index of
+ * the map, only the few under the mouse are asked, the highest layer first. Interactive objects, storage
+ * chests with their storage panels and animals are still asked one by one. Clicks come one at a time,
+ * the mouse rectangle and the list of hit objects are reused.
+ */
+public class PickService {
+
+    private static final List<Class<? extends GameObject>> PICK_ORDER = List.of(Plant.class, FoodBowl.class, WaterBowl.class,
+            Bush.class, Item.class, Feather.class, Mushroom.class, Wood.class, CookingStove.class, Fridge.class);
+    private static final Comparator<GameObject> BY_LAYER = Comparator.comparingInt(GameObject::getLayer).reversed()
+            .thenComparingInt(PickService::getPickOrder);
+
+    private final Rectangle mouseRectangle = new Rectangle();
+    private final List<GameObject> hits = new ArrayList<>();
+
+    /**
+     * Gives the click to the objects under the mouse until one of them takes it
+     */
+    public boolean pickOnMap(Game game, GameMap gameMap, List<Animal> animals, int xMapRelated, int yMapRelated) {
+        mouseRectangle.setX(xMapRelated - TILE_SIZE);
+        mouseRectangle.setY(yMapRelated - TILE_SIZE);
+        mouseRectangle.setWidth(TILE_SIZE);
+        mouseRectangle.setHeight(TILE_SIZE);
+        Rectangle camera = game.getRenderer().getCamera();
+
+        hits.clear();
+        gameMap.getObjectIndex().collect(mouseRectangle, GameObject.class, hits);
+        hits.sort(BY_LAYER);
+        try {
+            for (int i = 0; i < hits.size(); i++) {
+                GameObject hit = hits.get(i);
+                if (!(hit instanceof StorageChest) && hit.handleMouseClick(mouseRectangle, camera, ZOOM, game)) {
+                    return true;
+                }
+            }
+        } finally {
+            hits.clear();
+        }
+        for (GameObject gameObject : gameMap.getInteractiveObjects()) {
+            if (gameObject.handleMouseClick(mouseRectangle, camera, ZOOM, game)) {
+                return true;
+            }
+        }
+        // chests are asked every time, an open one takes clicks on its storage panel too
+        for (StorageChest chest : gameMap.getStorageChests()) {
+            if (chest.handleMouseClick(mouseRectangle, camera, ZOOM, game)) {
+                return true;
+            }
+        }
+        if (animals != null) {
+            for (Animal animal : animals) {
+                if (animal.handleMouseClick(mouseRectangle, camera, ZOOM, game)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static int getPickOrder(GameObject gameObject) {
+        for (int i = 0; i < PICK_ORDER.size(); i++) {
+            if (PICK_ORDER.get(i).isInstance(gameObject)) {
+                return i;
+            }
+        }
+        return PICK_ORDER.size();
+    }
+}
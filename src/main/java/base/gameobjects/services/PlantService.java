@@ -1,6 +1,6 @@
 package base.gameobjects.services;
 
-import base.gameobjects.AnimatedSprite;
+import base.gameobjects.AnimationClip;
 import base.gameobjects.Plant;
 import base.gameobjects.plants.*;
 import base.graphicsservice.ImageLoader;
@@ -9,6 +9,7 @@ import base.graphicsservice.SpriteService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -102,6 +103,20 @@ public class PlantService {
         return newPlant;
     }
 
+    public List<String> getImagePaths() {
+        List<String> paths = new ArrayList<>();
+        for (String plantType : plantTypes) {
+            paths.add(plantMapping.get(plantType));
+        }
+        for (String plantType : plantTypes) {
+            paths.add(plantAnimations.get(plantType));
+        }
+        for (String plantType : plantTypes) {
+            paths.add(seedMapping.get(plantType));
+        }
+        return paths;
+    }
+
     public Map<String, Sprite> getPreviews() {
         Map<String, Sprite> previews = new HashMap<>();
         for (String plantType : plantTypes) {
@@ -118,19 +133,18 @@ public class PlantService {
         return seedSprites;
     }
 
-    public Map<String, AnimatedSprite> getAnimatedSprites() {
-        Map<String, AnimatedSprite> animatedSprites = new HashMap<>();
+    public Map<String, AnimationClip> getAnimationClips() {
+        Map<String, AnimationClip> animationClips = new HashMap<>();
         for (String plantType : plantTypes) {
-            AnimatedSprite animatedSprite;
+            Sprite[] frames;
             if (plantType.equalsIgnoreCase(Corn.NAME)) {
-                animatedSprite = ImageLoader.getAnimatedSprite(plantAnimations.get(plantType), 32, 64, 0);
+                frames = ImageLoader.getFrames(plantAnimations.get(plantType), 32, 64);
             } else {
-                animatedSprite = ImageLoader.getAnimatedSprite(plantAnimations.get(plantType), TILE_SIZE, 0);
+                frames = ImageLoader.getFrames(plantAnimations.get(plantType), TILE_SIZE, TILE_SIZE);
             }
-            animatedSprite.setAnimationRange(0, 4);
-            animatedSprites.put(plantType, animatedSprite);
+            animationClips.put(plantType, new AnimationClip(frames, 0, false, 4));
         }
-        return animatedSprites;
+        return animationClips;
     }
 
     @Deprecated
@@ -10,7 +10,6 @@ import com.google.gson.Gson;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.awt.image.BufferedImage;
 import java.io.*;
 
 import static base.constants.Constants.PLAYER_SPRITE_SIZE;
@@ -60,9 +59,7 @@ public class PlayerService {
     private AnimatedSprite loadPlayerAnimatedImages() {
         logger.info("Loading player animations");
 
-        BufferedImage playerSheetImage = ImageLoader.loadImage(FilePath.PLAYER_SHEET_PATH);
-        SpriteSheet playerSheet = new SpriteSheet(playerSheetImage);
-        playerSheet.loadSprites(PLAYER_SPRITE_SIZE, PLAYER_SPRITE_SIZE, 0);
+        SpriteSheet playerSheet = ImageLoader.getSpriteSheet(FilePath.PLAYER_SHEET_PATH, PLAYER_SPRITE_SIZE, PLAYER_SPRITE_SIZE);
 
         return new AnimatedSprite(playerSheet, 5, true);
     }
@@ -0,0 +1,349 @@
+package base.graphicsservice;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.awt.image.BufferedImage;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process wide cache of decoded images. Every image is decoded once per path and slicing,
+ * after that all callers share the same frames, so returned arrays and sprites must not be modified.
+ * Safe to use from several threads: concurrent requests for the same asset wait for a single decode,
+ * and images can be decoded ahead of time with preload, in which case a request waits only for its own image.
+ * A request served by a preload counts as a hit, the preload itself as the miss.
+ */
+public class AssetCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AssetCache.class);
+
+    /**
+     * Frame size used for images which are not sliced
+     */
+    public static final int WHOLE_IMAGE = 0;
+
+    private final ConcurrentMap<AssetKey, CompletableFuture<SlicedImage>> entries = new ConcurrentHashMap<>();
+    // decoded but not yet sliced images, dropped as soon as they are sliced or by dropUnusedPreloads
+    private final ConcurrentMap<String, CompletableFuture<DecodedImage>> decodedImages = new ConcurrentHashMap<>();
+
+    private volatile AssetPack assetPack;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final AtomicLong residentBytes = new AtomicLong();
+
+    /**
+     * =================================== Lookups ======================================
+     */
+
+    public Sprite getSprite(String path) {
+        return getFrames(path, WHOLE_IMAGE, WHOLE_IMAGE)[0];
+    }
+
+    public Sprite[] getFrames(String path, int frameWidth, int frameHeight) {
+        return get(path, frameWidth, frameHeight).getFrames();
+    }
+
+    public SpriteSheet getSpriteSheet(String path, int frameWidth, int frameHeight) {
+        SlicedImage image = get(path, frameWidth, frameHeight);
+        return new SpriteSheet(image.getWidth(), image.getHeight(), frameWidth, image.getFrames());
+    }
+
+    /**
+     * Starts decoding the image on the executor, unless it is already cached or being decoded
+     */
+    public CompletableFuture<Void> preload(String path, Executor executor) {
+        if (isCached(path) || isPacked(path)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<DecodedImage> created = new CompletableFuture<>();
+        CompletableFuture<DecodedImage> decoding = decodedImages.putIfAbsent(path, created);
+        if (decoding != null) {
+            return decoding.thenApply(image -> null);
+        }
+        misses.increment();
+        CompletableFuture.runAsync(() -> completeDecode(path, created), executor);
+        return created.thenApply(image -> null);
+    }
+
+    /**
+     * Drops preloaded images nobody asked for, images still decoding are dropped when they are done.
+     * Asking for them later decodes them again.
+     */
+    public void dropUnusedPreloads() {
+        int dropped = 0;
+        for (Map.Entry<String, CompletableFuture<DecodedImage>> entry : decodedImages.entrySet()) {
+            String path = entry.getKey();
+            CompletableFuture<DecodedImage> decoding = entry.getValue();
+            if (decoding.isDone()) {
+                if (decodedImages.remove(path, decoding)) {
+                    dropped++;
+                }
+            } else {
+                decoding.whenComplete((image, error) -> decodedImages.remove(path, decoding));
+            }
+        }
+        logger.info(String.format("Dropped %d preloaded images which were not used", dropped));
+    }
+
+    /**
+     * Images waiting in the cache to be sliced
+     */
+    int getDecodedImageCount() {
+        return decodedImages.size();
+    }
+
+    /**
+     * Images found in the pack are read from it, everything else is still decoded from png
+     */
+    public void setAssetPack(AssetPack assetPack) {
+        this.assetPack = assetPack;
+    }
+
+    boolean hasAssetPack() {
+        return assetPack != null;
+    }
+
+    private boolean isPacked(String path) {
+        AssetPack pack = assetPack;
+        return pack != null && pack.contains(path);
+    }
+
+    private boolean isCached(String path) {
+        for (AssetKey key : entries.keySet()) {
+            if (key.path.equals(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private SlicedImage get(String path, int frameWidth, int frameHeight) {
+        AssetKey key = new AssetKey(path, frameWidth, frameHeight);
+        CompletableFuture<SlicedImage> entry = entries.get(key);
+        if (entry == null) {
+            CompletableFuture<SlicedImage> created = new CompletableFuture<>();
+            entry = entries.putIfAbsent(key, created);
+            if (entry == null) {
+                return slice(key, created);
+            }
+        }
+        hits.increment();
+        try {
+            return entry.join();
+        } catch (CompletionException e) {
+            throw new IllegalArgumentException(String.format("Unable to load image %s", path), e.getCause());
+        }
+    }
+
+    private SlicedImage slice(AssetKey key, CompletableFuture<SlicedImage> entry) {
+        try {
+            SlicedImage image;
+            if (isPacked(key.path)) {
+                misses.increment();
+                image = sliceFromPack(key, assetPack);
+            } else {
+                image = slice(key, getDecodedImage(key.path));
+            }
+            residentBytes.addAndGet(image.getResidentBytes());
+            entry.complete(image);
+            return image;
+        } catch (RuntimeException e) {
+            entries.remove(key, entry);
+            entry.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private DecodedImage getDecodedImage(String path) {
+        CompletableFuture<DecodedImage> decoding = decodedImages.get(path);
+        if (decoding == null) {
+            CompletableFuture<DecodedImage> created = new CompletableFuture<>();
+            decoding = decodedImages.putIfAbsent(path, created);
+            if (decoding == null) {
+                misses.increment();
+                completeDecode(path, created);
+                decoding = created;
+            } else {
+                hits.increment();
+            }
+        } else {
+            hits.increment();
+        }
+        try {
+            return decoding.join();
+        } catch (CompletionException e) {
+            throw new IllegalArgumentException(String.format("Unable to load image %s", path), e.getCause());
+        } finally {
+            decodedImages.remove(path, decoding);
+        }
+    }
+
+    private void completeDecode(String path, CompletableFuture<DecodedImage> decoding) {
+        try {
+            decoding.complete(decode(path));
+        } catch (RuntimeException e) {
+            decoding.completeExceptionally(e);
+        }
+    }
+
+    private DecodedImage decode(String path) {
+        BufferedImage image = ImageLoader.loadImage(path);
+        if (image == null) {
+            logger.error(String.format("Unable to decode image %s", path));
+            throw new IllegalArgumentException(String.format("Unable to load image %s", path));
+        }
+        int width = image.getWidth();
+        int height = image.getHeight();
+        return new DecodedImage(width, height, image.getRGB(0, 0, width, height, null, 0, width));
+    }
+
+    private SlicedImage slice(AssetKey key, DecodedImage decodedImage) {
+        int width = decodedImage.width;
+        int height = decodedImage.height;
+        int[] pixels = decodedImage.pixels;
+        if (key.frameWidth == WHOLE_IMAGE) {
+            return new SlicedImage(width, height, new Sprite[]{new Sprite(width, height, pixels)});
+        }
+
+        int columns = width / key.frameWidth;
+        int rows = height / key.frameHeight;
+        Sprite[] frames = new Sprite[columns * rows];
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                int[] framePixels = new int[key.frameWidth * key.frameHeight];
+                for (int y = 0; y < key.frameHeight; y++) {
+                    int sourceIndex = (row * key.frameHeight + y) * width + column * key.frameWidth;
+                    System.arraycopy(pixels, sourceIndex, framePixels, y * key.frameWidth, key.frameWidth);
+                }
+                frames[column + row * columns] = new Sprite(key.frameWidth, key.frameHeight, framePixels);
+            }
+        }
+        return new SlicedImage(width, height, frames);
+    }
+
+    private SlicedImage sliceFromPack(AssetKey key, AssetPack pack) {
+        int width = pack.getWidth(key.path);
+        int height = pack.getHeight(key.path);
+        if (key.frameWidth == WHOLE_IMAGE) {
+            return new SlicedImage(width, height, new Sprite[]{new Sprite(width, height, pack.readRegion(key.path, 0, 0, width, height))});
+        }
+
+        int columns = width / key.frameWidth;
+        int rows = height / key.frameHeight;
+        Sprite[] frames = new Sprite[columns * rows];
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                int[] framePixels = pack.readRegion(key.path, column * key.frameWidth, row * key.frameHeight, key.frameWidth, key.frameHeight);
+                frames[column + row * columns] = new Sprite(key.frameWidth, key.frameHeight, framePixels);
+            }
+        }
+        return new SlicedImage(width, height, frames);
+    }
+
+    /**
+     * =================================== Stats ======================================
+     */
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getResidentBytes() {
+        return residentBytes.get();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void logStats() {
+        logger.info(String.format("Asset cache: %d images, %d hits, %d misses, %d KB resident",
+                size(), getHitCount(), getMissCount(), getResidentBytes() / 1024));
+    }
+
+    /**
+     * =================================== Entries ======================================
+     */
+
+    private static class AssetKey {
+        private final String path;
+        private final int frameWidth;
+        private final int frameHeight;
+
+        private AssetKey(String path, int frameWidth, int frameHeight) {
+            this.path = Objects.requireNonNull(path);
+            this.frameWidth = frameWidth;
+            this.frameHeight = frameHeight;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            AssetKey assetKey = (AssetKey) o;
+            return frameWidth == assetKey.frameWidth && frameHeight == assetKey.frameHeight && path.equals(assetKey.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, frameWidth, frameHeight);
+        }
+    }
+
+    private static class DecodedImage {
+        private final int width;
+        private final int height;
+        private final int[] pixels;
+
+        private DecodedImage(int width, int height, int[] pixels) {
+            this.width = width;
+            this.height = height;
+            this.pixels = pixels;
+        }
+    }
+
+    private static class SlicedImage {
+        private final int width;
+        private final int height;
+        private final Sprite[] frames;
+
+        private SlicedImage(int width, int height, Sprite[] frames) {
+            this.width = width;
+            this.height = height;
+            this.frames = frames;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        public Sprite[] getFrames() {
+            return frames;
+        }
+
+        long getResidentBytes() {
+            long bytes = 0;
+            for (Sprite frame : frames) {
+                bytes += (long) frame.getPixels().length * Integer.BYTES;
+            }
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package base.graphicsservice;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Read only view of a pack written by AssetPackBuilder. The file is memory mapped, pixels are stored
+ * exactly as ImageLoader would produce them, so frames are copied row by row straight out of the mapping
+ * without going through ImageIO.
+ *
+ * Layout: magic, version, index size, index (path, width, height, pixel offset for every image), pixels.
+ */
+public class AssetPack {
+
+    private static final Logger logger = LoggerFactory.getLogger(AssetPack.class);
+
+    static final int MAGIC = 0x4153504B;
+    static final int VERSION = 1;
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final IntBuffer pixels;
+
+    private AssetPack(MappedByteBuffer buffer) throws IOException {
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IOException("Not an asset pack or unsupported version");
+        }
+        int indexSize = buffer.getInt();
+        int entryCount = buffer.getInt();
+        for (int i = 0; i < entryCount; i++) {
+            byte[] path = new byte[buffer.getShort()];
+            buffer.get(path);
+            Entry entry = new Entry(buffer.getInt(), buffer.getInt(), buffer.getInt());
+            entries.put(new String(path, StandardCharsets.UTF_8), entry);
+        }
+        buffer.position(getPixelsStart(indexSize));
+        pixels = buffer.slice().asIntBuffer();
+    }
+
+    public static AssetPack open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            AssetPack assetPack = new AssetPack(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            logger.info(String.format("Opened asset pack %s with %d images", path, assetPack.entries.size()));
+            return assetPack;
+        }
+    }
+
+    /**
+     * Header is four ints, pixels start on the next int boundary after the index
+     */
+    static int getPixelsStart(int indexSize) {
+        int start = 4 * Integer.BYTES + indexSize;
+        return (start + Integer.BYTES - 1) / Integer.BYTES * Integer.BYTES;
+    }
+
+    public boolean contains(String path) {
+        return entries.containsKey(path);
+    }
+
+    public int getWidth(String path) {
+        return entries.get(path).width;
+    }
+
+    public int getHeight(String path) {
+        return entries.get(path).height;
+    }
+
+    /**
+     * Copies a frameWidth x frameHeight region of the image, which starts at the given pixel, into a new array
+     */
+    public int[] readRegion(String path, int startX, int startY, int frameWidth, int frameHeight) {
+        Entry entry = entries.get(path);
+        int[] region = new int[frameWidth * frameHeight];
+        IntBuffer source = pixels.duplicate();
+        if (startX == 0 && frameWidth == entry.width) {
+            source.position(entry.offset + startY * entry.width);
+            source.get(region);
+            return region;
+        }
+        for (int y = 0; y < frameHeight; y++) {
+            source.position(entry.offset + (startY + y) * entry.width + startX);
+            source.get(region, y * frameWidth, frameWidth);
+        }
+        return region;
+    }
+
+    private static class Entry {
+        private final int width;
+        private final int height;
+        private final int offset;
+
+        private Entry(int width, int height, int offset) {
+            this.width = width;
+            this.height = height;
+            this.offset = offset;
+        }
+    }
+}
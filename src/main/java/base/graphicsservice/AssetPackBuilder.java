@@ -0,0 +1,86 @@
+package base.graphicsservice;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.awt.image.BufferedImage;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Build time tool which converts every png under the resources directory into one AssetPack file.
+ * Images are loaded through ImageLoader, so the game classes and resources need to be on the classpath.
+ * Usage: AssetPackBuilder [resources directory] [output file], run by the asset-pack maven profile.
+ * The game uses the pack when the asset-pack property points to it, otherwise it decodes the pngs.
+ */
+public class AssetPackBuilder {
+
+    private static final Logger logger = LoggerFactory.getLogger(AssetPackBuilder.class);
+
+    public static void main(String[] args) throws IOException {
+        Path resourcesDirectory = Paths.get(args.length > 0 ? args[0] : "src/main/resources/base");
+        Path output = Paths.get(args.length > 1 ? args[1] : "target/assets.pack");
+        new AssetPackBuilder().build(resourcesDirectory, output);
+    }
+
+    public void build(Path resourcesDirectory, Path output) throws IOException {
+        long startTime = System.currentTimeMillis();
+        List<String> paths;
+        try (Stream<Path> files = Files.walk(resourcesDirectory)) {
+            paths = files.filter(file -> file.toString().endsWith(".png"))
+                    .map(file -> resourcesDirectory.relativize(file).toString().replace(File.separatorChar, '/'))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        List<int[]> images = new ArrayList<>();
+        ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+        DataOutputStream index = new DataOutputStream(indexBytes);
+        int offset = 0;
+        for (String path : paths) {
+            BufferedImage image = ImageLoader.loadImage(path);
+            if (image == null) {
+                logger.error(String.format("Skipping image which can't be loaded: %s", path));
+                continue;
+            }
+            int width = image.getWidth();
+            int height = image.getHeight();
+            byte[] pathBytes = path.getBytes(StandardCharsets.UTF_8);
+            index.writeShort(pathBytes.length);
+            index.write(pathBytes);
+            index.writeInt(width);
+            index.writeInt(height);
+            index.writeInt(offset);
+            images.add(image.getRGB(0, 0, width, height, null, 0, width));
+            offset += width * height;
+        }
+        index.flush();
+
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        try (DataOutputStream pack = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(output)))) {
+            pack.writeInt(AssetPack.MAGIC);
+            pack.writeInt(AssetPack.VERSION);
+            pack.writeInt(indexBytes.size());
+            pack.writeInt(images.size());
+            indexBytes.writeTo(pack);
+            int padding = AssetPack.getPixelsStart(indexBytes.size()) - 4 * Integer.BYTES - indexBytes.size();
+            pack.write(new byte[padding]);
+            for (int[] pixels : images) {
+                for (int pixel : pixels) {
+                    pack.writeInt(pixel);
+                }
+            }
+        }
+        logger.info(String.format("Packed %d images (%d KB) into %s in %d ms", images.size(), Files.size(output) / 1024,
+                output, System.currentTimeMillis() - startTime));
+    }
+}
@@ -0,0 +1,84 @@
+package base.graphicsservice;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decodes images into the asset cache on background threads. Whoever asks the cache
+ * for an image that is still decoding waits only for that image, not for the whole batch.
+ * Once the game shows its first frame finish drops the images nobody asked for.
+ */
+public class AssetPreloader {
+
+    private static final Logger logger = LoggerFactory.getLogger(AssetPreloader.class);
+
+    private final AssetCache assetCache;
+    private final ExecutorService executor;
+
+    public AssetPreloader(AssetCache assetCache) {
+        this(assetCache, createExecutor());
+    }
+
+    AssetPreloader(AssetCache assetCache, ExecutorService executor) {
+        this.assetCache = assetCache;
+        this.executor = executor;
+    }
+
+    private static ExecutorService createExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "asset-preloader-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Images are submitted in the given order, so the ones needed first should come first.
+     * Completes when every image is decoded, failed images are logged and skipped.
+     */
+    public CompletableFuture<Void> preload(Collection<String> paths, ProgressListener progressListener) {
+        Set<String> uniquePaths = new LinkedHashSet<>(paths);
+        int total = uniquePaths.size();
+        AtomicInteger done = new AtomicInteger();
+        long startTime = System.currentTimeMillis();
+        logger.info(String.format("Preloading %d images", total));
+
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[total];
+        int i = 0;
+        for (String path : uniquePaths) {
+            futures[i++] = assetCache.preload(path, executor).handle((result, error) -> {
+                if (error != null) {
+                    logger.error(String.format("Unable to preload image %s", path), error);
+                }
+                if (progressListener != null) {
+                    progressListener.onProgress(done.incrementAndGet(), total);
+                }
+                return null;
+            });
+        }
+        return CompletableFuture.allOf(futures).thenRun(() -> {
+            logger.info(String.format("Preloaded %d images in %d ms", total, System.currentTimeMillis() - startTime));
+            executor.shutdown();
+        });
+    }
+
+    /**
+     * Hands over from the loading splash to the game, images preloaded but not used by then are dropped
+     */
+    public void finish() {
+        assetCache.dropUnusedPreloads();
+    }
+
+    public interface ProgressListener {
+        void onProgress(int loaded, int total);
+    }
+}
@@ -0,0 +1,55 @@
+package base.graphicsservice;
+
+import static base.constants.ColorConstant.ALPHA;
+
+/**
+ * A background tile repeated over the whole screen. Every row of the zoomed tile is laid out once, repeated
+ * over the width of the view and one tile more, so each row of the view is one array copy starting at the
+ * camera offset within the tile. ALPHA pixels become 0, what a cleared view has under a skipped pixel.
+ * Made again when the tile, the zoom or the view width change.
+ */
+class BackgroundPattern {
+
+    private final int frame;
+    private final int zoom;
+    private final int tileSize;
+    private final int[][] rows;
+
+    BackgroundPattern(int frame, int[] tilePixels, int tileSize, int zoom, int viewWidth) {
+        this.frame = frame;
+        this.zoom = zoom;
+        this.tileSize = tileSize * zoom;
+        int rowWidth = viewWidth + this.tileSize;
+        rows = new int[this.tileSize][rowWidth];
+        for (int y = 0; y < this.tileSize; y++) {
+            int[] row = rows[y];
+            int tileRow = (y / zoom) * tileSize;
+            for (int x = 0; x < this.tileSize; x++) {
+                int pixel = tilePixels[tileRow + x / zoom];
+                row[x] = pixel == ALPHA ? 0 : pixel | 0xFF000000;
+            }
+            for (int x = this.tileSize; x < rowWidth; x += this.tileSize) {
+                System.arraycopy(row, 0, row, x, Math.min(this.tileSize, rowWidth - x));
+            }
+        }
+    }
+
+    boolean isFor(int frame, int zoom, int viewWidth) {
+        return this.frame == frame && this.zoom == zoom && rows[0].length >= viewWidth + tileSize;
+    }
+
+    /**
+     * Fills width x height pixels from the top left of the target, originX and originY are the map
+     * position of the first pixel in zoomed pixels
+     */
+    void fill(int[] target, int targetWidth, int width, int height, int originX, int originY) {
+        int fromX = Math.floorMod(originX, tileSize);
+        int rowY = Math.floorMod(originY, tileSize);
+        for (int y = 0; y < height; y++) {
+            System.arraycopy(rows[rowY], fromX, target, y * targetWidth, width);
+            if (++rowY == tileSize) {
+                rowY = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package base.graphicsservice;
+
+/**
+ * Time taken by rendered frames since the last reset, so the full and the low resolution world can be
+ * compared on the same map. Used on the render thread only.
+ */
+public class FrameTimer {
+
+    private int frames;
+    private long totalTime;
+    private long maxTime;
+
+    public void addFrame(long nanos) {
+        frames++;
+        totalTime += nanos;
+        maxTime = Math.max(maxTime, nanos);
+    }
+
+    public int getFrames() {
+        return frames;
+    }
+
+    public double getAverageMillis() {
+        return frames == 0 ? 0 : totalTime / 1_000_000.0 / frames;
+    }
+
+    public double getMaxMillis() {
+        return maxTime / 1_000_000.0;
+    }
+
+    public void reset() {
+        frames = 0;
+        totalTime = 0;
+        maxTime = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("frames %d, average %.2f ms, max %.2f ms", frames, getAverageMillis(), getMaxMillis());
+    }
+}
@@ -2,18 +2,22 @@ package base.graphicsservice;
 
 import base.Game;
 import base.gameobjects.AnimatedSprite;
+import base.gameobjects.AnimationClip;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.Objects;
 
 public class ImageLoader {
 
     private static final Logger logger = LoggerFactory.getLogger(ImageLoader.class);
 
+    private static final AssetCache assetCache = new AssetCache();
+
     private ImageLoader() {
     }
 
@@ -30,6 +34,20 @@ public class ImageLoader {
         return null;
     }
 
+    /**
+     * Switches image loading to a pack built by AssetPackBuilder, blank path keeps decoding pngs
+     */
+    public static void useAssetPack(String packPath) {
+        if (packPath == null || packPath.isBlank()) {
+            return;
+        }
+        try {
+            assetCache.setAssetPack(AssetPack.open(Paths.get(packPath)));
+        } catch (IOException e) {
+            logger.warn(String.format("Unable to open asset pack %s, will load png images instead", packPath), e);
+        }
+    }
+
     public static AnimatedSprite getAnimatedSprite(String path, int tileSize, int animationSpeed) {
         return getAnimatedSprite(path, tileSize, tileSize, animationSpeed);
     }
@@ -38,17 +56,32 @@ public class ImageLoader {
         if (path == null) {
             return null;
         }
-        BufferedImage sheetImage = loadImage(path);
-        SpriteSheet animalSheet = new SpriteSheet(sheetImage);
-        animalSheet.loadSprites(tileWidth, tileHeight, 0);
-        return new AnimatedSprite(animalSheet, animationSpeed, false);
+        return new AnimatedSprite(getAnimationClip(path, tileWidth, tileHeight, animationSpeed));
+    }
+
+    public static AnimationClip getAnimationClip(String path, int tileWidth, int tileHeight, int animationSpeed) {
+        return new AnimationClip(getFrames(path, tileWidth, tileHeight), animationSpeed, false);
+    }
+
+    /**
+     * Frames are shared with everyone else asking for the same image, they must not be modified
+     */
+    public static Sprite[] getFrames(String path, int tileWidth, int tileHeight) {
+        return assetCache.getFrames(path, tileWidth, tileHeight);
+    }
+
+    public static SpriteSheet getSpriteSheet(String path, int tileWidth, int tileHeight) {
+        return assetCache.getSpriteSheet(path, tileWidth, tileHeight);
     }
 
     public static Sprite getPreviewSprite(String previewPath) {
         if (previewPath == null) {
             return null;
         }
-        BufferedImage sheetImage = loadImage(previewPath);
-        return new Sprite(sheetImage);
+        return assetCache.getSprite(previewPath);
+    }
+
+    public static AssetCache getAssetCache() {
+        return assetCache;
     }
 }
@@ -0,0 +1,123 @@
+package base.graphicsservice;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+/**
+ * Puts a part of an image drawn through its pixels on the screen. Such images stay in memory, so every
+ * frame is copied once into a volatile image of the screen which is then drawn, and scaled, by the
+ * graphics card. The volatile image is made again when its contents are lost, when it is too small or when
+ * the window moves to another screen. Where volatile images are not accelerated the image is drawn as it is.
+ * Upload and draw times are counted apart. Used on the render thread only.
+ */
+class ImagePresenter {
+
+    protected static final Logger logger = LoggerFactory.getLogger(ImagePresenter.class);
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final int transparency;
+    private final FrameTimer uploadTimer = new FrameTimer();
+    private final FrameTimer drawTimer = new FrameTimer();
+
+    private GraphicsConfiguration configuration;
+    private boolean accelerated;
+    private VolatileImage volatileImage;
+
+    ImagePresenter(int transparency) {
+        this.transparency = transparency;
+    }
+
+    /**
+     * Draws width x height pixels from the top left of the image at x, y scaled to targetWidth x targetHeight
+     */
+    void present(Graphics graphics, BufferedImage image, int width, int height, int x, int y, int targetWidth, int targetHeight) {
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        if (!isAccelerated(graphics, width, height)) {
+            drawDirectly(graphics, image, width, height, x, y, targetWidth, targetHeight);
+            return;
+        }
+        int attempts = 0;
+        do {
+            if (volatileImage.validate(configuration) == VolatileImage.IMAGE_INCOMPATIBLE) {
+                createVolatileImage(width, height);
+                if (!accelerated) {
+                    drawDirectly(graphics, image, width, height, x, y, targetWidth, targetHeight);
+                    return;
+                }
+            }
+            long startTime = System.nanoTime();
+            Graphics2D volatileGraphics = volatileImage.createGraphics();
+            volatileGraphics.setComposite(AlphaComposite.Src);
+            volatileGraphics.drawImage(image, 0, 0, width, height, 0, 0, width, height, null);
+            volatileGraphics.dispose();
+            long uploadTime = System.nanoTime();
+            graphics.drawImage(volatileImage, x, y, x + targetWidth, y + targetHeight, 0, 0, width, height, null);
+            uploadTimer.addFrame(uploadTime - startTime);
+            drawTimer.addFrame(System.nanoTime() - uploadTime);
+        } while (volatileImage.contentsLost() && ++attempts < MAX_ATTEMPTS);
+    }
+
+    private void drawDirectly(Graphics graphics, BufferedImage image, int width, int height, int x, int y, int targetWidth, int targetHeight) {
+        long startTime = System.nanoTime();
+        graphics.drawImage(image, x, y, x + targetWidth, y + targetHeight, 0, 0, width, height, null);
+        drawTimer.addFrame(System.nanoTime() - startTime);
+    }
+
+    /**
+     * Whether the screen takes accelerated volatile images is checked once for every screen the window is on
+     */
+    private boolean isAccelerated(Graphics graphics, int width, int height) {
+        if (!(graphics instanceof Graphics2D)) {
+            return false;
+        }
+        GraphicsConfiguration currentConfiguration = ((Graphics2D) graphics).getDeviceConfiguration();
+        if (currentConfiguration != configuration) {
+            configuration = currentConfiguration;
+            if (volatileImage != null) {
+                volatileImage.flush();
+                volatileImage = null;
+            }
+            createVolatileImage(width, height);
+        } else if (accelerated && (volatileImage.getWidth() < width || volatileImage.getHeight() < height)) {
+            createVolatileImage(width, height);
+        }
+        return accelerated;
+    }
+
+    private void createVolatileImage(int width, int height) {
+        if (volatileImage != null) {
+            width = Math.max(width, volatileImage.getWidth());
+            height = Math.max(height, volatileImage.getHeight());
+            volatileImage.flush();
+        }
+        try {
+            volatileImage = configuration.createCompatibleVolatileImage(width, height, transparency);
+            accelerated = volatileImage != null && volatileImage.getCapabilities().isAccelerated();
+        } catch (RuntimeException e) {
+            logger.warn(String.format("Volatile image %dx%d not available, drawing the view directly", width, height), e);
+            volatileImage = null;
+            accelerated = false;
+        }
+    }
+
+    boolean isAccelerated() {
+        return accelerated;
+    }
+
+    void resetTimers() {
+        uploadTimer.reset();
+        drawTimer.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s, upload %s, draw %s", accelerated ? "volatile image" : "direct", uploadTimer, drawTimer);
+    }
+}
@@ -2,6 +2,7 @@ package base.graphicsservice;
 
 import base.Game;
 import base.gameobjects.*;
+import base.gameobjects.npc.Npc;
 import base.gameobjects.npc.NpcSpawnSpot;
 import base.gameobjects.npc.NpcSpot;
 import base.gameobjects.player.Player;
@@ -9,6 +10,7 @@ import base.gameobjects.storage.StorageChest;
 import base.gui.EditIcon;
 import base.map.GameMap;
 import base.map.MapTile;
+import base.map.TileService;
 import base.map.bigobjects.Bookcase;
 import javafx.scene.shape.Circle;
 import org.slf4j.Logger;
@@ -24,6 +26,12 @@ import static base.constants.ColorConstant.*;
 import static base.constants.Constants.*;
 import static base.constants.MultiOptionalObjects.bookcases;
 
+/**
+ * Draws the map, objects, GUI and texts into the pixels of one view image which is put on the screen once
+ * per frame. With a low resolution world the map and objects are drawn at one pixel per sprite pixel into
+ * a world image which is scaled up by ZOOM when it is put on the screen, GUI, texts and previews are drawn
+ * into the view at full resolution and put over it.
+ */
 public class RenderHandler {
 
     private final BufferedImage view;
@@ -32,73 +40,164 @@ public class RenderHandler {
     private int maxScreenWidth;
     private int maxScreenHeight;
 
+    private final boolean lowResolutionWorld;
+    private final BufferedImage worldView;
+    private final int[] worldPixels;
+    private final ImagePresenter viewPresenter;
+    private final ImagePresenter worldPresenter;
+
     private final List<String> textToDrawInCenter;
     private int textCountdown;
     private Map<Position, String> textToDrawFixed;
     private Map<Position, String> textToDrawNotFixed;
 
+    private final TextSpriteCache textSprites = new TextSpriteCache(TEXT_SPRITE_CACHE_SIZE);
+    private final Map<Sprite, int[]> previewPixels = new IdentityHashMap<>();
+    private final RenderQueue renderQueue = new RenderQueue(LAYER_COUNT);
+    private BackgroundPattern backgroundPattern;
+
     protected static final Logger logger = LoggerFactory.getLogger(RenderHandler.class);
 
+    private static final int TEXT_SPRITE_CACHE_SIZE = 256;
+    private static final int TEXT_COLOR = 0xFF000000;
+    private static final int CENTER_TEXT_COLOR = 0xB3FFFFFF;
+    private static final int OPAQUE = 0xFF000000;
+    private static final int LAYER_COUNT = 6;
+    private static final int RENDER_MARGIN = 3 * CELL_SIZE;
+
     public RenderHandler(int width, int height) {
+        this(width, height, false);
+    }
 
-        setSizeBasedOnScreenSize();
+    public RenderHandler(int width, int height, boolean lowResolutionWorld) {
+        this(width, height, getMaxScreenSize(), lowResolutionWorld);
+    }
+
+    RenderHandler(int width, int height, Dimension maxScreenSize, boolean lowResolutionWorld) {
+        maxScreenWidth = maxScreenSize.width;
+        maxScreenHeight = maxScreenSize.height;
+        this.lowResolutionWorld = lowResolutionWorld;
 
-        //Create a BufferedImage that will represent our view.
-        view = new BufferedImage(maxScreenWidth, maxScreenHeight, BufferedImage.TYPE_INT_RGB);
+        //Create a BufferedImage that will represent our view, over the world it has to be transparent where nothing is drawn.
+        view = new BufferedImage(maxScreenWidth, maxScreenHeight, lowResolutionWorld ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
 
         camera = new Rectangle(0, 0, width, height);
 
         //Create an array for pixels
         pixels = ((DataBufferInt) view.getRaster().getDataBuffer()).getData();
 
+        viewPresenter = new ImagePresenter(lowResolutionWorld ? Transparency.TRANSLUCENT : Transparency.OPAQUE);
+        worldPresenter = lowResolutionWorld ? new ImagePresenter(Transparency.OPAQUE) : null;
+        if (lowResolutionWorld) {
+            // one pixel more on each side, the camera does not have to start at a whole world pixel
+            worldView = new BufferedImage(maxScreenWidth / ZOOM + 2, maxScreenHeight / ZOOM + 2, BufferedImage.TYPE_INT_RGB);
+            worldPixels = ((DataBufferInt) worldView.getRaster().getDataBuffer()).getData();
+        } else {
+            worldView = null;
+            worldPixels = null;
+        }
+
         textToDrawInCenter = new ArrayList<>();
         textToDrawFixed = new HashMap<>();
         textToDrawNotFixed = new HashMap<>();
     }
 
-    private void setSizeBasedOnScreenSize() {
+    private static Dimension getMaxScreenSize() {
+        Dimension maxScreenSize = new Dimension();
         GraphicsDevice[] graphicsDevices = GraphicsEnvironment.getLocalGraphicsEnvironment().getScreenDevices();
         for (GraphicsDevice device : graphicsDevices) {
-            if (maxScreenWidth < device.getDisplayMode().getWidth()) {
-                maxScreenWidth = device.getDisplayMode().getWidth();
+            if (maxScreenSize.width < device.getDisplayMode().getWidth()) {
+                maxScreenSize.width = device.getDisplayMode().getWidth();
             }
-            if (maxScreenHeight < device.getDisplayMode().getHeight()) {
-                maxScreenHeight = device.getDisplayMode().getHeight();
+            if (maxScreenSize.height < device.getDisplayMode().getHeight()) {
+                maxScreenSize.height = device.getDisplayMode().getHeight();
             }
         }
+        return maxScreenSize;
     }
 
     public void render(Game game, Graphics graphics) {
 
         drawPreview(game);
 
-        graphics.drawImage(view.getSubimage(0, 0, camera.getWidth(), camera.getHeight()), 0, 0, camera.getWidth(), camera.getHeight(), null);
+        drawTemporaryText();
 
-        drawTemporaryText(graphics);
+        drawFixedTexts();
+        drawNonFixedTexts();
+
+        present(graphics);
+    }
+
+    /**
+     * Puts what was drawn on the screen, with a low resolution world the world goes under the view
+     */
+    void present(Graphics graphics) {
+        if (lowResolutionWorld) {
+            drawWorld(graphics);
+        }
+        viewPresenter.present(graphics, view, camera.getWidth(), camera.getHeight(), 0, 0, camera.getWidth(), camera.getHeight());
+    }
 
-        drawFixedTexts(graphics);
-        drawNonFixedTexts(graphics);
+    /**
+     * Scales the world image up by ZOOM onto the screen, the first world pixel is where the camera starts
+     * or up to ZOOM - 1 screen pixels left and above of it
+     */
+    private void drawWorld(Graphics graphics) {
+        int worldX = Math.floorDiv(camera.getX(), ZOOM);
+        int worldY = Math.floorDiv(camera.getY(), ZOOM);
+        int screenX = worldX * ZOOM - camera.getX();
+        int screenY = worldY * ZOOM - camera.getY();
+        int width = getWorldWidth();
+        int height = getWorldHeight();
+        Graphics2D graphics2D = (Graphics2D) graphics;
+        graphics2D.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        worldPresenter.present(graphics2D, worldView, width, height, screenX, screenY, width * ZOOM, height * ZOOM);
     }
 
-    private void drawNonFixedTexts(Graphics graphics) {
+    /**
+     * How the view, and the world under it, were put on the screen since the last reset
+     */
+    public String getPresentStatistics() {
+        if (lowResolutionWorld) {
+            return String.format("view - %s; world - %s", viewPresenter, worldPresenter);
+        }
+        return String.format("view - %s", viewPresenter);
+    }
+
+    public void resetPresentStatistics() {
+        viewPresenter.resetTimers();
+        if (worldPresenter != null) {
+            worldPresenter.resetTimers();
+        }
+    }
+
+    private int getWorldWidth() {
+        return Math.min(worldView.getWidth(), camera.getWidth() / ZOOM + 2);
+    }
+
+    private int getWorldHeight() {
+        return Math.min(worldView.getHeight(), camera.getHeight() / ZOOM + 2);
+    }
+
+    private void drawNonFixedTexts() {
         for (Map.Entry<Position, String> entry : textToDrawNotFixed.entrySet()) {
             Position linePosition = entry.getKey();
             int xPosition = linePosition.getXPosition() - camera.getX();
             int yPosition = linePosition.getYPosition() - camera.getY();
-            renderText(graphics, entry.getValue(), xPosition, yPosition, Color.BLACK, 20);
+            renderText(entry.getValue(), xPosition, yPosition, TEXT_COLOR, 20);
         }
     }
 
-    private void drawFixedTexts(Graphics graphics) {
+    private void drawFixedTexts() {
         for (Map.Entry<Position, String> entry : textToDrawFixed.entrySet()) {
             Position linePosition = entry.getKey();
-            renderText(graphics, entry.getValue(), linePosition.getXPosition(), linePosition.getYPosition(), Color.BLACK, 20);
+            renderText(entry.getValue(), linePosition.getXPosition(), linePosition.getYPosition(), TEXT_COLOR, 20);
         }
     }
 
-    private void drawTemporaryText(Graphics graphics) {
+    private void drawTemporaryText() {
         if (!textToDrawInCenter.isEmpty() && textCountdown != 1) {
-            renderText(graphics);
+            renderCenterText();
             if (textCountdown > 1) {
                 textCountdown--;
             }
@@ -140,7 +239,6 @@ public class RenderHandler {
         int yPositionActual = yScreenRelated + getCamera().getY();
         int xPosition = xScreenRelated - (xPositionActual % CELL_SIZE);
         int yPosition = yScreenRelated - (yPositionActual % CELL_SIZE);
-        MapTile potentialTile = new MapTile(5, game.getSelectedTileId(), 0, 0, game.isRegularTiles());
 
         if (bookcases.contains(game.getSelectedTileId()) && game.isRegularTiles()) {
             Bookcase bookcase = new Bookcase(xPosition, yPosition, bookcases.indexOf(game.getSelectedTileId()), 64);
@@ -148,10 +246,10 @@ public class RenderHandler {
                 int xForCurrentPart = mapTile.getX();
                 int yForCurrentPart = mapTile.getY();
 
-                drawPreview(xForCurrentPart, yForCurrentPart, getTileSpriteForPreview(game, mapTile));
+                drawPreview(xForCurrentPart, yForCurrentPart, getTileSpriteForPreview(game, mapTile.getId(), mapTile.isRegularTile()));
             }
         } else {
-            drawPreview(xPosition, yPosition, getTileSpriteForPreview(game, potentialTile));
+            drawPreview(xPosition, yPosition, getTileSpriteForPreview(game, game.getSelectedTileId(), game.isRegularTiles()));
         }
     }
 
@@ -165,34 +263,34 @@ public class RenderHandler {
         int yPositionActual = yScreenRelated + getCamera().getY();
         int xPosition = xScreenRelated - (xPositionActual % CELL_SIZE);
         int yPosition = yScreenRelated - (yPositionActual % CELL_SIZE);
-        Item itemToDraw = new Item(0, 0, game.getSelectedItem(), game.getSpriteService().getItemSprite(game.getItemNameByButtonId(), game.getTileService()));
+        Sprite itemSprite = game.getSpriteService().getItemSprite(game.getItemNameByButtonId(), game.getTileService());
 
-        if (itemToDraw.getSprite() != null) {
-            drawPreview(xPosition, yPosition, itemToDraw.getSprite());
+        if (itemSprite != null) {
+            drawPreview(xPosition, yPosition, itemSprite);
         }
-
     }
 
-    private Sprite getTileSpriteForPreview(Game game, MapTile potentialTile) {
+    private Sprite getTileSpriteForPreview(Game game, int tileId, boolean regularTile) {
         Sprite sprite;
-        if (potentialTile.isRegularTile()) {
-            sprite = game.getTileService().getTiles().get(potentialTile.getId()).getSprite();
+        if (regularTile) {
+            sprite = game.getTileService().getTiles().get(tileId).getSprite();
         } else {
-            sprite = game.getTileService().getTerrainTiles().get(potentialTile.getId()).getSprite();
+            sprite = game.getTileService().getTerrainTiles().get(tileId).getSprite();
         }
         return sprite;
     }
 
+    /**
+     * Translucent pixels of a sprite are made once and kept, sprites are shared so there are only as
+     * many as there are tiles and items
+     */
     private void drawPreview(int xPosition, int yPosition, Sprite sprite) {
-        BufferedImage subimage = view.getSubimage(0, 0, camera.getWidth(), camera.getHeight());
-
-        BufferedImage tmpImage = new BufferedImage(sprite.getWidth() * ZOOM, sprite.getHeight() * ZOOM, BufferedImage.TYPE_INT_ARGB);
-
-        Graphics tGraphics = subimage.createGraphics();
-        int[] result = fillTransparentArray(sprite.getPixels(), sprite.getWidth(), sprite.getHeight(), ZOOM, ZOOM);
-        tmpImage.setRGB(0, 0, tmpImage.getWidth(), tmpImage.getHeight(), result, 0, tmpImage.getWidth());
-        tGraphics.drawImage(tmpImage, xPosition, yPosition, null);
-        tGraphics.dispose();
+        int[] preview = previewPixels.get(sprite);
+        if (preview == null) {
+            preview = fillTransparentArray(sprite.getPixels(), sprite.getWidth(), sprite.getHeight(), ZOOM, ZOOM);
+            previewPixels.put(sprite, preview);
+        }
+        blendPixels(preview, sprite.getWidth() * ZOOM, sprite.getHeight() * ZOOM, xPosition, yPosition);
     }
 
     public int[] fillTransparentArray(int[] spritePixels, int renderWidth, int renderHeight, int xZoom, int yZoom) {
@@ -212,12 +310,7 @@ public class RenderHandler {
                         if (isAlphaColor(spritePixels[pixel])) {
                             transparency = 0;
                         }
-                        Color c = new Color(spritePixels[pixel]);
-                        int r = c.getRed();
-                        int g = c.getGreen();
-                        int b = c.getBlue();
-                        c = new Color(r, g, b, transparency);
-                        result[pixelIndex] = c.getRGB();
+                        result[pixelIndex] = transparency << 24 | (spritePixels[pixel] & 0xFFFFFF);
                     }
                 }
                 pixel++;
@@ -227,20 +320,32 @@ public class RenderHandler {
     }
 
     public void renderMap(Game game, GameMap gameMap) {
-        renderBackground(game, gameMap);
-        for (int i = 0; i <= 5; i++) {
+        List<Npc> npcs = game.getGameMap().getNpcs();
+        renderMap(game.getTileService(), gameMap, game.getAnimalsOnMaps().get(gameMap.getMapName()), game.getPlayer(),
+                npcs != null && !npcs.isEmpty() ? npcs.get(0) : null);
+    }
+
+    /**
+     * Draws the map with the animals on it, the player and the npc, any of which can be null. Needs nothing
+     * else of the game, so maps can be drawn without a window.
+     */
+    public void renderMap(TileService tileService, GameMap gameMap, List<? extends GameObject> animals, GameObject player, GameObject npc) {
+        renderBackground(tileService, gameMap);
+        fillRenderQueue(gameMap, animals, player, npc);
+        for (int i = 0; i < LAYER_COUNT; i++) {
             List<MapTile> tiles = gameMap.getLayeredTiles().get(i);
             if (tiles != null) {
                 // with for-each loop there is ConcurrentModificationException often, but with this loop everything works fine
                 for (int j = 0; j < tiles.size(); j++) {
                     MapTile mappedTile = tiles.get(j);
                     if (mappedTile.getLayer() == i && isInRangeOfCamera(mappedTile)) {
-                        renderTile(game, gameMap, mappedTile);
+                        renderTile(tileService, gameMap, mappedTile);
                     }
                 }
             }
-            renderGameObjects(game, gameMap, i);
+            renderGameObjects(renderQueue.getLayer(i));
         }
+        renderQueue.clear();
     }
 
     private boolean isInRangeOfCamera(MapTile mappedTile) {
@@ -250,150 +355,156 @@ public class RenderHandler {
                 && mappedTile.getY() * CELL_SIZE < camera.getY() + camera.getHeight() + CELL_SIZE;
     }
 
-    private void renderBackground(Game game, GameMap gameMap) {
+    private void renderBackground(TileService tileService, GameMap gameMap) {
         int backGroundTileId = gameMap.getBackGroundTileId();
         if (backGroundTileId >= 0) {
-            for (int i = (camera.getX() / CELL_SIZE) * CELL_SIZE - 64;
-                 i < (camera.getX() / CELL_SIZE) * CELL_SIZE + camera.getWidth() + CELL_SIZE;
-                 i += CELL_SIZE) {
-                for (int j = (camera.getY() / CELL_SIZE) * CELL_SIZE - 64;
-                     j < (camera.getY() / CELL_SIZE) * CELL_SIZE + camera.getHeight() + CELL_SIZE;
-                     j += CELL_SIZE) {
-                    renderSprite(game.getTileService().getTerrainTiles().get(backGroundTileId).getSprite(), i, j, ZOOM, false);
-                }
+            Sprite sprite = tileService.getTerrainTiles().get(backGroundTileId).getSprite();
+            if (!renderBackgroundPattern(sprite)) {
+                renderBackgroundTiles(sprite);
             }
         }
     }
 
-    private void renderTile(Game game, GameMap gameMap, MapTile mappedTile) {
-        int xPosition = mappedTile.getX() * CELL_SIZE;
-        int yPosition = mappedTile.getY() * CELL_SIZE;
-        if (xPosition <= gameMap.getMapWidth() * CELL_SIZE && yPosition <= gameMap.getMapHeight() * CELL_SIZE) {
-            if (mappedTile.isRegularTile()) {
-                renderSprite(game.getTileService().getTiles().get(mappedTile.getId()).getSprite(), xPosition, yPosition, ZOOM, false);
-            } else {
-                renderSprite(game.getTileService().getTerrainTiles().get(mappedTile.getId()).getSprite(), xPosition, yPosition, ZOOM, false);
-            }
+    /**
+     * Fills the whole view, or the world under it, with the tile repeated from the map origin. Only tiles of
+     * the atlas with the size of a map cell can be repeated, false when the tile has to be drawn cell by cell.
+     */
+    boolean renderBackgroundPattern(Sprite sprite) {
+        int frame = sprite.getFrameId();
+        if (!SpriteAtlas.contains(frame) || sprite.getWidth() != TILE_SIZE || sprite.getHeight() != TILE_SIZE) {
+            return false;
         }
+        // a world pixel is a sprite pixel
+        int zoom = lowResolutionWorld ? 1 : ZOOM;
+        int targetWidth = lowResolutionWorld ? worldView.getWidth() : view.getWidth();
+        if (backgroundPattern == null || !backgroundPattern.isFor(frame, zoom, targetWidth)) {
+            backgroundPattern = new BackgroundPattern(frame, sprite.getPixels(), TILE_SIZE, zoom, targetWidth);
+        }
+        if (lowResolutionWorld) {
+            backgroundPattern.fill(worldPixels, targetWidth, getWorldWidth(), getWorldHeight(),
+                    Math.floorDiv(camera.getX(), ZOOM), Math.floorDiv(camera.getY(), ZOOM));
+        } else {
+            // with the pixel right of and below the camera, like drawn tiles
+            backgroundPattern.fill(pixels, targetWidth, Math.min(camera.getWidth() + 1, targetWidth),
+                    Math.min(camera.getHeight() + 1, view.getHeight()), camera.getX(), camera.getY());
+        }
+        return true;
     }
 
-    private void renderGameObjects(Game game, GameMap gameMap, int layer) {
-        List<Animal> animalsOnCurrentMap = game.getAnimalsOnMaps().get(gameMap.getMapName());
-        for (Animal animal : animalsOnCurrentMap) {
-            if (animal.getLayer() == layer) {
-                animal.render(this, ZOOM);
+    void renderBackgroundTiles(Sprite sprite) {
+        for (int i = (camera.getX() / CELL_SIZE) * CELL_SIZE - 64;
+             i < (camera.getX() / CELL_SIZE) * CELL_SIZE + camera.getWidth() + CELL_SIZE;
+             i += CELL_SIZE) {
+            for (int j = (camera.getY() / CELL_SIZE) * CELL_SIZE - 64;
+                 j < (camera.getY() / CELL_SIZE) * CELL_SIZE + camera.getHeight() + CELL_SIZE;
+                 j += CELL_SIZE) {
+                renderSprite(sprite, i, j, ZOOM, false);
             }
         }
-        for (GameObject gameObject : new ArrayList<>(gameMap.getItems())) {
-            if (gameObject != null && gameObject.getLayer() == layer) {
-                gameObject.render(this, ZOOM);
-            }
+    }
+
+    private void renderTile(TileService tileService, GameMap gameMap, MapTile mappedTile) {
+        int xPosition = mappedTile.getX() * CELL_SIZE;
+        int yPosition = mappedTile.getY() * CELL_SIZE;
+        if (xPosition <= gameMap.getMapWidth() * CELL_SIZE && yPosition <= gameMap.getMapHeight() * CELL_SIZE) {
+            renderTileSprite(tileService, mappedTile.getId(), mappedTile.isRegularTile(), xPosition, yPosition);
         }
-        for (Plant plant : new ArrayList<>(gameMap.getPlants())) {
-            if (plant.getLayer() == layer) {
-                plant.render(this, ZOOM);
-            }
+    }
+
+    private void renderTileSprite(TileService tileService, int tileId, boolean regularTile, int xPosition, int yPosition) {
+        int frame = tileService.getTileFrame(tileId, regularTile);
+        if (SpriteAtlas.contains(frame)) {
+            renderFrame(frame, xPosition, yPosition, ZOOM, false);
+        } else if (regularTile) {
+            renderSprite(tileService.getTiles().get(tileId).getSprite(), xPosition, yPosition, ZOOM, false);
+        } else {
+            renderSprite(tileService.getTerrainTiles().get(tileId).getSprite(), xPosition, yPosition, ZOOM, false);
         }
+    }
+
+    /**
+     * Objects of the map near the camera, those in the spatial indexes of the map are taken from there, so
+     * only the few near the camera are looked at
+     */
+    private void fillRenderQueue(GameMap gameMap, List<? extends GameObject> animals, GameObject player, GameObject npc) {
+        renderQueue.begin(camera, RENDER_MARGIN);
+        renderQueue.addAll(animals);
+        renderQueue.addFromIndex(gameMap.getObjectIndex(), GameObject.class);
+        // an open chest draws its storage panel even when the chest is out of sight
         for (StorageChest chest : gameMap.getStorageChests()) {
-            if (chest.getLayer() == layer) {
-                chest.render(this, ZOOM);
-            }
-        }
-        if (game.getPlayer().getLayer() == layer) {
-            game.getPlayer().render(this, ZOOM);
-        }
-        if (game.getGameMap().getNpcs() != null && !game.getGameMap().getNpcs().isEmpty() && game.getGameMap().getNpcs().get(0).getLayer() == layer) {
-            game.getGameMap().getNpcs().get(0).render(this, ZOOM);
-        }
-        for (Bowl bowl : gameMap.getFoodBowls()) {
-            if (bowl.getLayer() == layer) {
-                bowl.render(this, ZOOM);
-            }
-        }
-        for (Bowl bowl : gameMap.getWaterBowls()) {
-            if (bowl.getLayer() == layer) {
-                bowl.render(this, ZOOM);
-            }
-        }
-        for (Feather feather : gameMap.getFeathers()) {
-            if (feather.getLayer() == layer) {
-                feather.render(this, ZOOM);
-            }
-        }
-        for (Mushroom mushroom : gameMap.getMushrooms()) {
-            if (mushroom.getLayer() == layer) {
-                mushroom.render(this, ZOOM);
-            }
-        }
-        for (Wood wood : gameMap.getWoods()) {
-            if (wood.getLayer() == layer) {
-                wood.render(this, ZOOM);
-            }
-        }
-        for (Bush bush : gameMap.getBushes()) {
-            if (bush.getLayer() == layer) {
-                bush.render(this, ZOOM);
-            }
-        }
-        for (Oak oak : gameMap.getOaks()) {
-            if (oak.getLayer() == layer) {
-                oak.render(this, ZOOM);
-            }
-        }
-        for (Spruce spruce : gameMap.getSpruces()) {
-            if (spruce.getLayer() == layer) {
-                spruce.render(this, ZOOM);
-            }
-        }
-        for (NpcSpot npcSpot : gameMap.getNpcSpots()) {
-            if (npcSpot.getLayer() == layer) {
-                npcSpot.render(this, ZOOM);
-            }
-        }
-        for (NpcSpawnSpot npcSpawnSpot : gameMap.getNpcSpawnSpots()) {
-            if (npcSpawnSpot.getLayer() == layer) {
-                npcSpawnSpot.render(this, ZOOM);
-            }
-        }
-        for (Portal portal : gameMap.getPortals()) {
-            if (portal.getLayer() == layer) {
-                portal.render(this, ZOOM);
-            }
-        }
-        for (CookingStove cookingStove : gameMap.getCookingStoves()) {
-            if (cookingStove.getLayer() == layer) {
-                cookingStove.render(this, ZOOM);
-            }
-        }
-        for (Fridge fridge : gameMap.getFridges()) {
-            if (fridge.getLayer() == layer) {
-                fridge.render(this, ZOOM);
-            }
-        }
+            if (chest.isOpen() && !renderQueue.isNearCamera(chest)) {
+                renderQueue.addAlways(chest);
+            }
+        }
+        renderQueue.addAlways(player);
+        renderQueue.addAlways(npc);
+        // trees overlap their neighbours, in map order the same one stays in front as before
+        renderQueue.addAll(gameMap.getOaks());
+        renderQueue.addAll(gameMap.getSpruces());
+        renderQueue.addFromIndex(gameMap.getColliders(), NpcSpot.class);
+        renderQueue.addAll(gameMap.getNpcSpawnSpots());
+        renderQueue.addAll(gameMap.getPortals());
         for (GameObject gameObject : gameMap.getInteractiveObjects()) {
-            if (gameObject.getLayer() == layer) {
-                gameObject.render(this, ZOOM);
-            }
+            renderQueue.addAlways(gameObject);
+        }
+        renderQueue.sort();
+    }
+
+    private void renderGameObjects(List<GameObject> gameObjects) {
+        for (int i = 0; i < gameObjects.size(); i++) {
+            gameObjects.get(i).render(this, ZOOM);
         }
     }
 
-    private void renderText(Graphics graphics) {
+    private void renderCenterText() {
         int xOffset = maxScreenWidth / 3;
         int yOffset = 20;
         for (int i = 0; i < textToDrawInCenter.size(); i++) {
-            Color color = new Color(0xB3FFFFFF, true);
-            renderText(graphics, textToDrawInCenter.get(i), xOffset, maxScreenHeight / 3 + (yOffset * i), color, 24);
+            renderText(textToDrawInCenter.get(i), xOffset, maxScreenHeight / 3 + (yOffset * i), CENTER_TEXT_COLOR, 24);
+        }
+    }
+
+    /**
+     * Text on the screen with its baseline at y, like Graphics.drawString
+     */
+    private void renderText(String line, int x, int y, int color, int fontSize) {
+        int style = fontSize > 20 ? Font.BOLD : Font.PLAIN;
+        TextSpriteCache.TextSprite sprite = textSprites.get(line, style, fontSize, color);
+        blendPixels(sprite.getPixels(), sprite.getWidth(), sprite.getHeight(), x, y - sprite.getAscent());
+    }
+
+    /**
+     * Draws translucent screen fixed pixels over the view, fully transparent ones are skipped. Same
+     * result as drawing them with Graphics, without an image or a graphics context.
+     */
+    private void blendPixels(int[] renderPixels, int renderWidth, int renderHeight, int xPosition, int yPosition) {
+        int viewWidth = view.getWidth();
+        int fromX = Math.max(0, -xPosition);
+        int toX = Math.min(renderWidth, Math.min(camera.getWidth(), viewWidth) - xPosition);
+        int fromY = Math.max(0, -yPosition);
+        int toY = Math.min(renderHeight, Math.min(camera.getHeight(), view.getHeight()) - yPosition);
+        for (int y = fromY; y < toY; y++) {
+            int pixelIndex = (yPosition + y) * viewWidth + xPosition + fromX;
+            int renderIndex = y * renderWidth + fromX;
+            for (int x = fromX; x < toX; x++, pixelIndex++, renderIndex++) {
+                int pixel = renderPixels[renderIndex];
+                int alpha = pixel >>> 24;
+                if (alpha == 0xFF) {
+                    pixels[pixelIndex] = pixel;
+                } else if (alpha != 0) {
+                    int background = pixels[pixelIndex];
+                    // over the world nothing drawn yet is transparent, the pixel is blended when the view is drawn
+                    pixels[pixelIndex] = lowResolutionWorld && background >>> 24 == 0 ? pixel : blend(background, pixel, alpha);
+                }
+            }
         }
     }
 
-    private void renderText(Graphics graphics, String line, int x, int y, Color color, int fontSize) {
-        graphics.setColor(color);
-        if (fontSize > 20) {
-            graphics.setFont(new Font(Font.SANS_SERIF, Font.BOLD, fontSize));
-        } else {
-            graphics.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, fontSize));
-        }
-        graphics.drawString(line, x, y);
+    private static int blend(int background, int pixel, int alpha) {
+        int red = (((pixel >> 16) & 0xFF) * alpha + ((background >> 16) & 0xFF) * (255 - alpha)) / 255;
+        int green = (((pixel >> 8) & 0xFF) * alpha + ((background >> 8) & 0xFF) * (255 - alpha)) / 255;
+        int blue = ((pixel & 0xFF) * alpha + (background & 0xFF) * (255 - alpha)) / 255;
+        return OPAQUE | red << 16 | green << 8 | blue;
     }
 
     public void renderRectangle(Rectangle rectangle, int xZoom, boolean fixed) {
@@ -419,11 +530,86 @@ public class RenderHandler {
     }
 
     public void renderSprite(Sprite sprite, int xPosition, int yPosition, int zoom, boolean fixed) {
-        renderPixelsArrays(sprite.getPixels(), sprite.getWidth(), sprite.getHeight(), xPosition, yPosition, zoom, fixed);
+        renderSpritePixels(sprite, xPosition, yPosition, zoom, fixed);
+    }
+
+    private void renderSpritePixels(Sprite sprite, int xPosition, int yPosition, int zoom, boolean fixed) {
+        int frame = sprite.getFrameId();
+        if (SpriteAtlas.contains(frame)) {
+            renderFrame(frame, xPosition, yPosition, zoom, fixed);
+        } else {
+            renderPixelsArrays(sprite.getPixels(), sprite.getWidth(), sprite.getHeight(), xPosition, yPosition, zoom, fixed);
+        }
+    }
+
+    /**
+     * Draws a frame of SpriteAtlas, only the spans of the rows between transparent edges are read. Rows
+     * without ALPHA pixels are written once and copied for every further row of the zoom.
+     */
+    public void renderFrame(int frame, int xPosition, int yPosition, int zoom, boolean fixed) {
+        int[] frames = SpriteAtlas.getFrames();
+        int base = frame * SpriteAtlas.FIELDS;
+        int[] page = SpriteAtlas.getPages()[frames[base + SpriteAtlas.PAGE]];
+        int offset = frames[base + SpriteAtlas.OFFSET];
+        int width = frames[base + SpriteAtlas.WIDTH];
+        int height = frames[base + SpriteAtlas.HEIGHT];
+        int[] spans = SpriteAtlas.getSpans();
+        int spanOffset = frames[base + SpriteAtlas.SPANS];
+        if (lowResolutionWorld && !fixed) {
+            renderWorldPixels(page, offset, width, height, xPosition, yPosition, zoom);
+            return;
+        }
+        int viewWidth = view.getWidth();
+        int left = fixed ? xPosition : xPosition - camera.getX();
+        int top = fixed ? yPosition : yPosition - camera.getY();
+        // the pixel right of and below the camera is still drawn, as setPixel does
+        int maxX = Math.min(camera.getWidth(), viewWidth - 1);
+        int maxY = Math.min(camera.getHeight(), view.getHeight() - 1);
+        int fromY = Math.max(0, Math.floorDiv(-top, zoom));
+        int toY = Math.min(height, Math.floorDiv(maxY - top, zoom) + 1);
+        int fromX = Math.max(0, Math.floorDiv(-left, zoom));
+        int toX = Math.min(width, Math.floorDiv(maxX - left, zoom) + 1);
+        for (int y = fromY; y < toY; y++) {
+            int span = spans[spanOffset + y];
+            int start = Math.max(fromX, SpriteAtlas.getSpanStart(span));
+            int end = Math.min(toX, SpriteAtlas.getSpanEnd(span));
+            if (start >= end) {
+                continue;
+            }
+            boolean solid = SpriteAtlas.isSolid(span);
+            int rowIndex = offset + y * width;
+            int firstRow = -1;
+            for (int yZ = 0; yZ < zoom; yZ++) {
+                int viewY = top + y * zoom + yZ;
+                if (viewY < 0 || viewY > maxY) {
+                    continue;
+                }
+                int rowStart = viewY * viewWidth;
+                if (solid && firstRow >= 0) {
+                    int from = Math.max(0, left + start * zoom);
+                    int to = Math.min(maxX + 1, left + end * zoom);
+                    System.arraycopy(pixels, firstRow + from, pixels, rowStart + from, to - from);
+                    continue;
+                }
+                for (int x = start; x < end; x++) {
+                    int pixel = page[rowIndex + x];
+                    if (!solid && isAlphaColor(pixel)) {
+                        continue;
+                    }
+                    int viewX = left + x * zoom;
+                    for (int xZ = 0; xZ < zoom; xZ++, viewX++) {
+                        if (viewX >= 0 && viewX <= maxX) {
+                            pixels[rowStart + viewX] = pixel | OPAQUE;
+                        }
+                    }
+                }
+                firstRow = rowStart;
+            }
+        }
     }
 
     public void renderSprite(Sprite sprite, int xPosition, int yPosition, int zoom, boolean fixed, String line) {
-        renderPixelsArrays(sprite.getPixels(), sprite.getWidth(), sprite.getHeight(), xPosition, yPosition, zoom, fixed);
+        renderSpritePixels(sprite, xPosition, yPosition, zoom, fixed);
         Position position = new Position(xPosition + (sprite.getWidth() * zoom - 62), yPosition + (sprite.getHeight() * zoom - 6));
         if (line != null) {
             textToDrawFixed.put(position, line);
@@ -431,7 +617,7 @@ public class RenderHandler {
     }
 
     public void renderSprite(Sprite sprite, int xPosition, int yPosition, int zoom, boolean fixed, Integer count) {
-        renderPixelsArrays(sprite.getPixels(), sprite.getWidth(), sprite.getHeight(), xPosition, yPosition, zoom, fixed);
+        renderSpritePixels(sprite, xPosition, yPosition, zoom, fixed);
         Position numberPosition = new Position(xPosition + (sprite.getWidth() * zoom - 25), yPosition + (sprite.getHeight() * zoom - 5));
         if (fixed) {
             if (count != null && count != 0) {
@@ -449,7 +635,7 @@ public class RenderHandler {
     }
 
     public void renderStorageSprite(Sprite sprite, int xPosition, int yPosition, int zoom, boolean fixed, Integer count) {
-        renderPixelsArrays(sprite.getPixels(), sprite.getWidth(), sprite.getHeight(), xPosition, yPosition, zoom, fixed);
+        renderSpritePixels(sprite, xPosition, yPosition, zoom, fixed);
         Position numberPosition = new Position(xPosition + (TILE_SIZE * zoom) - 25, yPosition + (TILE_SIZE * zoom) - 5);
         if (fixed) {
             if (count != null && count != 0) {
@@ -491,6 +677,10 @@ public class RenderHandler {
     }
 
     public void renderPixelsArrays(int[] renderPixels, int renderWidth, int renderHeight, int xPosition, int yPosition, int zoom, boolean fixed) {
+        if (lowResolutionWorld && !fixed) {
+            renderWorldPixels(renderPixels, 0, renderWidth, renderHeight, xPosition, yPosition, zoom);
+            return;
+        }
         for (int y = 0; y < renderHeight; y++) {
             for (int x = 0; x < renderWidth; x++) {
                 for (int yZ = 0; yZ < zoom; yZ++) {
@@ -505,8 +695,34 @@ public class RenderHandler {
         }
     }
 
+    /**
+     * Map positioned pixels into the world image, a sprite pixel drawn at ZOOM is one world pixel. Other
+     * zooms take the nearest sprite pixel, positions are rounded down to whole world pixels.
+     */
+    private void renderWorldPixels(int[] renderPixels, int renderOffset, int renderWidth, int renderHeight, int xPosition, int yPosition, int zoom) {
+        int worldViewWidth = worldView.getWidth();
+        int left = Math.floorDiv(xPosition, ZOOM) - Math.floorDiv(camera.getX(), ZOOM);
+        int top = Math.floorDiv(yPosition, ZOOM) - Math.floorDiv(camera.getY(), ZOOM);
+        int width = renderWidth * zoom / ZOOM;
+        int height = renderHeight * zoom / ZOOM;
+        int fromX = Math.max(0, -left);
+        int toX = Math.min(width, getWorldWidth() - left);
+        int fromY = Math.max(0, -top);
+        int toY = Math.min(height, getWorldHeight() - top);
+        for (int y = fromY; y < toY; y++) {
+            int rowIndex = renderOffset + (y * ZOOM / zoom) * renderWidth;
+            int pixelIndex = (top + y) * worldViewWidth + left + fromX;
+            for (int x = fromX; x < toX; x++, pixelIndex++) {
+                int pixel = renderPixels[zoom == ZOOM ? rowIndex + x : rowIndex + x * ZOOM / zoom];
+                if (!isAlphaColor(pixel)) {
+                    worldPixels[pixelIndex] = pixel;
+                }
+            }
+        }
+    }
+
     public void setPixel(int pixel, int x, int y, boolean fixed) {
-        int pixelIndex = 0;
+        int pixelIndex = -1;
         if (!fixed && isInRangeOfCamera(x, y)) {
             pixelIndex = (x - camera.getX()) + (y - camera.getY()) * view.getWidth();
         }
@@ -514,7 +730,7 @@ public class RenderHandler {
             pixelIndex = x + y * view.getWidth();
         }
         if (isInGlobalRange(pixelIndex) && !isAlphaColor(pixel)) {
-            pixels[pixelIndex] = pixel;
+            pixels[pixelIndex] = pixel | OPAQUE;
         }
     }
 
@@ -523,7 +739,7 @@ public class RenderHandler {
     }
 
     private boolean isInGlobalRange(int pixelIndex) {
-        return pixelIndex < pixels.length;
+        return pixelIndex >= 0 && pixelIndex < pixels.length;
     }
 
     private boolean isInRangeOfCamera(int x, int y) {
@@ -535,6 +751,9 @@ public class RenderHandler {
 
     public void clear() {
         Arrays.fill(pixels, 0);
+        if (worldPixels != null) {
+            Arrays.fill(worldPixels, 0);
+        }
     }
 
     public int getMaxWidth() {
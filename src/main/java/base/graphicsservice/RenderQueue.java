@@ -0,0 +1,118 @@
+package base.graphicsservice;
+
+import base.gameobjects.GameObject;
+import base.map.SpatialHash;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Objects to draw in one frame, by layer. Objects are taken only when their rectangles are near the
+ * camera, the margin leaves room for sprites drawn above or beside their rectangles. Each layer is drawn
+ * from the top of the map down, by the bottom of the rectangles, so whatever stands lower covers what
+ * stands behind it. Objects with the same bottom keep the order they were added in. Built, drawn and
+ * cleared on the render thread every frame.
+ */
+class RenderQueue {
+
+    private static final Comparator<GameObject> BY_Y = Comparator.comparingInt(RenderQueue::getSortY);
+
+    private final List<GameObject>[] layers;
+    private final Rectangle visibleArea = new Rectangle();
+    private final List<GameObject> found = new ArrayList<>();
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    RenderQueue(int layerCount) {
+        layers = new List[layerCount];
+        for (int i = 0; i < layerCount; i++) {
+            layers[i] = new ArrayList<>();
+        }
+    }
+
+    void begin(Rectangle camera, int margin) {
+        clear();
+        visibleArea.setX(camera.getX() - margin);
+        visibleArea.setY(camera.getY() - margin);
+        visibleArea.setWidth(camera.getWidth() + 2 * margin);
+        visibleArea.setHeight(camera.getHeight() + 2 * margin);
+    }
+
+    /**
+     * Adds the object if it is near the camera, objects without rectangles are always added
+     */
+    void add(GameObject object) {
+        if (object != null && isNearCamera(object)) {
+            addToLayer(object);
+        }
+    }
+
+    boolean isNearCamera(GameObject object) {
+        return object.getRectangle() == null || object.getRectangle().intersects(visibleArea);
+    }
+
+    void addAll(List<? extends GameObject> objects) {
+        if (objects == null) {
+            return;
+        }
+        for (int i = 0; i < objects.size(); i++) {
+            add(objects.get(i));
+        }
+    }
+
+    /**
+     * Adds the object wherever it is, for objects which draw panels on the screen
+     */
+    void addAlways(GameObject object) {
+        if (object != null) {
+            addToLayer(object);
+        }
+    }
+
+    /**
+     * Adds the objects of the type which the index has near the camera
+     */
+    <T extends GameObject> void addFromIndex(SpatialHash index, Class<T> type) {
+        index.collect(visibleArea, type, found);
+        for (int i = 0; i < found.size(); i++) {
+            addToLayer(found.get(i));
+        }
+        found.clear();
+    }
+
+    private void addToLayer(GameObject object) {
+        int layer = object.getLayer();
+        if (layer >= 0 && layer < layers.length) {
+            layers[layer].add(object);
+        }
+    }
+
+    void sort() {
+        for (List<GameObject> layer : layers) {
+            layer.sort(BY_Y);
+        }
+    }
+
+    List<GameObject> getLayer(int layer) {
+        return layers[layer];
+    }
+
+    int size() {
+        int size = 0;
+        for (List<GameObject> layer : layers) {
+            size += layer.size();
+        }
+        return size;
+    }
+
+    void clear() {
+        for (List<GameObject> layer : layers) {
+            layer.clear();
+        }
+    }
+
+    private static int getSortY(GameObject object) {
+        Rectangle rectangle = object.getRectangle();
+        return rectangle == null ? Integer.MAX_VALUE : rectangle.getY() + rectangle.getHeight();
+    }
+}
@@ -1,9 +1,10 @@
 package base.graphicsservice;
 
 import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.Arrays;
-import java.util.Objects;
 
 public class Sprite implements Serializable {
 
@@ -12,6 +13,8 @@ public class Sprite implements Serializable {
     private int width;
     private int height;
     private int[] pixels;
+    // identity of the image, see SpriteRegistry
+    private transient int id;
 
     public Sprite() {
     }
@@ -22,6 +25,14 @@ public class Sprite implements Serializable {
 
         pixels = new int[width * height];
         sheet.getImage().getRGB(startX, startY, width, height, pixels, 0, width);
+        id = SpriteRegistry.intern(width, height, pixels);
+    }
+
+    public Sprite(int width, int height, int[] pixels) {
+        this.width = width;
+        this.height = height;
+        this.pixels = pixels;
+        id = SpriteRegistry.intern(width, height, pixels);
     }
 
     public Sprite(BufferedImage image) {
@@ -30,6 +41,29 @@ public class Sprite implements Serializable {
 
         pixels = new int[width * height];
         image.getRGB(0, 0, width, height, pixels, 0, width);
+        id = SpriteRegistry.intern(width, height, pixels);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        id = SpriteRegistry.intern(width, height, pixels);
+    }
+
+    /**
+     * Sprites made without a constructor, like the ones Gson builds, get their id on first use
+     */
+    public int getId() {
+        if (id == SpriteRegistry.NO_ID && pixels != null) {
+            id = SpriteRegistry.intern(width, height, pixels);
+        }
+        return id;
+    }
+
+    /**
+     * Frame of the shown image in SpriteAtlas
+     */
+    public int getFrameId() {
+        return getId();
     }
 
     public int getWidth() {
@@ -49,13 +83,16 @@ public class Sprite implements Serializable {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Sprite sprite = (Sprite) o;
-        return width == sprite.width && height == sprite.height && Arrays.equals(pixels, sprite.pixels);
+        int spriteId = getId();
+        if (spriteId != sprite.getId()) {
+            return false;
+        }
+        // sprites without pixels have no id
+        return spriteId != SpriteRegistry.NO_ID || width == sprite.width && height == sprite.height && Arrays.equals(pixels, sprite.pixels);
     }
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(width, height);
-        result = 31 * result + Arrays.hashCode(pixels);
-        return result;
+        return getId();
     }
 }
@@ -0,0 +1,140 @@
+package base.graphicsservice;
+
+import java.util.Arrays;
+
+import static base.constants.ColorConstant.ALPHA;
+
+/**
+ * Pixels of every sprite image packed one after another into a few large pages, so drawing reads from
+ * contiguous memory instead of from arrays spread over the heap. Frames are the ids SpriteRegistry gives,
+ * so a sprite finds its frame without a lookup. For every row of a frame the span between the first and
+ * the last pixel which is not ALPHA is kept, with a flag when the span has no ALPHA pixels in it, so
+ * transparent edges are skipped and solid rows are copied without checking every pixel. Images are added
+ * when they are registered, which is mostly at load time, and are kept for the whole process.
+ */
+public class SpriteAtlas {
+
+    static final int PAGE_SIZE = 1 << 20;
+
+    static final int PAGE = 0;
+    static final int OFFSET = 1;
+    static final int WIDTH = 2;
+    static final int HEIGHT = 3;
+    static final int SPANS = 4;
+    static final int FIELDS = 5;
+
+    private static final int SPAN_END_SHIFT = 15;
+    private static final int SPAN_MASK = (1 << SPAN_END_SHIFT) - 1;
+    private static final int SOLID = 1 << 30;
+
+    private static volatile int[] frames = new int[256 * FIELDS];
+    private static volatile int[][] pages = new int[0][];
+    private static volatile int[] spans = new int[4096];
+    private static int pageFill = PAGE_SIZE;
+    private static int spanFill;
+    private static int frameCount;
+
+    private SpriteAtlas() {
+    }
+
+    /**
+     * Copies the pixels into the atlas as the frame with the id, every id is added once
+     */
+    static synchronized void add(int id, int width, int height, int[] pixels) {
+        if (id <= SpriteRegistry.NO_ID || pixels == null || width <= 0 || height <= 0
+                || width > SPAN_MASK || pixels.length < width * height) {
+            return;
+        }
+        int[] currentFrames = frames;
+        if ((id + 1) * FIELDS > currentFrames.length) {
+            currentFrames = Arrays.copyOf(currentFrames, Math.max(currentFrames.length * 2, (id + 1) * FIELDS));
+        }
+        int size = width * height;
+        int[][] currentPages = pages;
+        if (size > PAGE_SIZE - pageFill) {
+            currentPages = Arrays.copyOf(currentPages, currentPages.length + 1);
+            currentPages[currentPages.length - 1] = new int[Math.max(size, PAGE_SIZE)];
+            pageFill = 0;
+        }
+        int page = currentPages.length - 1;
+        System.arraycopy(pixels, 0, currentPages[page], pageFill, size);
+
+        int[] currentSpans = spans;
+        if (spanFill + height > currentSpans.length) {
+            currentSpans = Arrays.copyOf(currentSpans, Math.max(currentSpans.length * 2, spanFill + height));
+        }
+        for (int y = 0; y < height; y++) {
+            currentSpans[spanFill + y] = getSpan(pixels, y * width, width);
+        }
+
+        int base = id * FIELDS;
+        currentFrames[base + PAGE] = page;
+        currentFrames[base + OFFSET] = pageFill;
+        currentFrames[base + WIDTH] = width;
+        currentFrames[base + HEIGHT] = height;
+        currentFrames[base + SPANS] = spanFill;
+        pageFill += size;
+        spanFill += height;
+        frameCount++;
+        // published after the frame is complete, drawing threads read the arrays without locking
+        spans = currentSpans;
+        pages = currentPages;
+        frames = currentFrames;
+    }
+
+    private static int getSpan(int[] pixels, int rowStart, int width) {
+        int start = 0;
+        while (start < width && pixels[rowStart + start] == ALPHA) {
+            start++;
+        }
+        int end = width;
+        while (end > start && pixels[rowStart + end - 1] == ALPHA) {
+            end--;
+        }
+        boolean solid = true;
+        for (int x = start; x < end && solid; x++) {
+            solid = pixels[rowStart + x] != ALPHA;
+        }
+        return (solid ? SOLID : 0) | end << SPAN_END_SHIFT | start;
+    }
+
+    /**
+     * Frames table, FIELDS values for every id, a frame with width 0 is not in the atlas
+     */
+    static int[] getFrames() {
+        return frames;
+    }
+
+    static int[][] getPages() {
+        return pages;
+    }
+
+    static int[] getSpans() {
+        return spans;
+    }
+
+    static boolean contains(int id) {
+        int[] currentFrames = frames;
+        return id > SpriteRegistry.NO_ID && (id + 1) * FIELDS <= currentFrames.length && currentFrames[id * FIELDS + WIDTH] > 0;
+    }
+
+    static int getSpanStart(int span) {
+        return span & SPAN_MASK;
+    }
+
+    static int getSpanEnd(int span) {
+        return (span >> SPAN_END_SHIFT) & SPAN_MASK;
+    }
+
+    static boolean isSolid(int span) {
+        return (span & SOLID) != 0;
+    }
+
+    public static synchronized int getFrameCount() {
+        return frameCount;
+    }
+
+    public static synchronized int getPageCount() {
+        return pages.length;
+    }
+}
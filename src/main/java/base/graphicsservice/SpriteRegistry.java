@@ -0,0 +1,99 @@
+package base.graphicsservice;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gives every distinct image a small id, so sprites can be compared and hashed by id instead of by pixels.
+ * Pixels are hashed once when a sprite gets its id, full comparison happens only on hash collisions.
+ * The registry keeps only weak references to the pixels of the sprites, an image no sprite uses any more is
+ * forgotten and gets a new id if it comes back. Its pixels stay in SpriteAtlas under the old id, which is
+ * fine for images loaded once and kept, see AssetCache.
+ */
+public class SpriteRegistry {
+
+    /**
+     * Id of sprites without own pixels, like AnimatedSprite, and of unknown items
+     */
+    public static final int NO_ID = 0;
+
+    // images by the hash of their size and pixels, guarded by the class
+    private static final Map<Integer, List<Entry>> ids = new HashMap<>();
+    private static int nextId = NO_ID + 1;
+    private static int size;
+
+    private static final Map<String, Integer> itemSpriteIds = new ConcurrentHashMap<>();
+
+    private SpriteRegistry() {
+    }
+
+    public static int intern(int width, int height, int[] pixels) {
+        if (pixels == null) {
+            return NO_ID;
+        }
+        int hash = 31 * (31 * width + height) + Arrays.hashCode(pixels);
+        synchronized (SpriteRegistry.class) {
+            List<Entry> entries = ids.computeIfAbsent(hash, key -> new ArrayList<>(1));
+            Iterator<Entry> iterator = entries.iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                int[] registered = entry.pixels.get();
+                if (registered == null) {
+                    iterator.remove();
+                    size--;
+                } else if (entry.width == width && entry.height == height && Arrays.equals(registered, pixels)) {
+                    return entry.id;
+                }
+            }
+            int id = nextId++;
+            entries.add(new Entry(id, width, height, pixels));
+            size++;
+            SpriteAtlas.add(id, width, height, pixels);
+            return id;
+        }
+    }
+
+    /**
+     * Images known to the registry, forgotten ones are counted until an image with the same hash is interned
+     */
+    public static synchronized int size() {
+        return size;
+    }
+
+    /**
+     * =================================== Items ======================================
+     */
+
+    public static void registerItem(String itemName, Sprite sprite) {
+        if (itemName != null && sprite != null) {
+            itemSpriteIds.put(itemName, sprite.getId());
+        }
+    }
+
+    public static int getItemSpriteId(String itemName) {
+        if (itemName == null) {
+            return NO_ID;
+        }
+        return itemSpriteIds.getOrDefault(itemName, NO_ID);
+    }
+
+    private static class Entry {
+        private final int id;
+        private final int width;
+        private final int height;
+        private final WeakReference<int[]> pixels;
+
+        private Entry(int id, int width, int height, int[] pixels) {
+            this.id = id;
+            this.width = width;
+            this.height = height;
+            this.pixels = new WeakReference<>(pixels);
+        }
+    }
+}
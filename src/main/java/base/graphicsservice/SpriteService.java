@@ -1,13 +1,22 @@
 package base.graphicsservice;
 
 import base.gameobjects.*;
+import base.gameobjects.interactionzones.InteractionZone;
+import base.gameobjects.interactionzones.InteractionZoneKitchen;
 import base.gameobjects.services.PlantService;
+import base.gameobjects.storage.StorageChest;
+import base.gui.ContextClue;
+import base.map.GameMap;
 import base.map.TileService;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
-import static base.constants.Constants.TILE_SIZE;
+import static base.constants.ColorConstant.GREEN;
+import static base.constants.Constants.*;
 import static base.constants.FilePath.*;
 import static base.gameobjects.PetFood.*;
 import static base.graphicsservice.ImageLoader.getPreviewSprite;
@@ -16,24 +25,30 @@ public class SpriteService {
 
     Map<Long, Sprite> tiles = new HashMap<>();
 
+    public List<String> getImagePaths() {
+        return Arrays.asList(FOOD_BOWL_PATH, WATER_BOWL_PATH, BUSH_IMG, OAK_IMG, SPRUCE_IMG);
+    }
+
     /**
      * =================================== PLANTS & SEEDS ======================================
      */
 
     private Map<String, Sprite> plantPreview = new HashMap<>();
-    private Map<String, AnimatedSprite> plantAnimatedSprites = new HashMap<>();
+    private Map<String, AnimationClip> plantAnimationClips = new HashMap<>();
     private Map<String, Sprite> seedSprites = new HashMap<>();
 
     public void setPlantPreview(Map<String, Sprite> plantPreview) {
         this.plantPreview = plantPreview;
+        plantPreview.forEach(SpriteRegistry::registerItem);
     }
 
-    public void setPlantAnimatedSprites(Map<String, AnimatedSprite> plantAnimatedSprites) {
-        this.plantAnimatedSprites = plantAnimatedSprites;
+    public void setPlantAnimationClips(Map<String, AnimationClip> plantAnimationClips) {
+        this.plantAnimationClips = plantAnimationClips;
     }
 
     public void setSeedSprites(Map<String, Sprite> seedSprites) {
         this.seedSprites = seedSprites;
+        seedSprites.forEach((plantType, sprite) -> SpriteRegistry.registerItem("seed" + plantType, sprite));
     }
 
     public Sprite getPlantPreviewSprite(String plantType) {
@@ -48,8 +63,7 @@ public class SpriteService {
     }
 
     public AnimatedSprite getPlantAnimatedSprite(String plantType) {
-        AnimatedSprite animatedSprite = plantAnimatedSprites.get(plantType);
-        return new AnimatedSprite(animatedSprite.getSprites(), animatedSprite.getSpeed(), animatedSprite.isVertical(), animatedSprite.getEndSprite());
+        return new AnimatedSprite(plantAnimationClips.get(plantType));
     }
 
     public Sprite getSeedSprite(String plantType) {
@@ -60,27 +74,20 @@ public class SpriteService {
      * =================================== BOWLS ======================================
      */
 
-    private AnimatedSprite waterBowlSprite;
-    private AnimatedSprite foodBowlSprite;
+    private AnimationClip waterBowlClip;
+    private AnimationClip foodBowlClip;
 
     public void setBowlsSprites() {
-        AnimatedSprite foodBowl = ImageLoader.getAnimatedSprite(FOOD_BOWL_PATH, TILE_SIZE, 0);
-        foodBowl.setAnimationRange(0, 3);
-        foodBowl.setVertical(false);
-        this.foodBowlSprite = foodBowl;
-
-        AnimatedSprite waterBowl = ImageLoader.getAnimatedSprite(WATER_BOWL_PATH, TILE_SIZE, 0);
-        waterBowl.setAnimationRange(0, 1);
-        waterBowl.setVertical(false);
-        this.waterBowlSprite = waterBowl;
+        foodBowlClip = new AnimationClip(ImageLoader.getFrames(FOOD_BOWL_PATH, TILE_SIZE, TILE_SIZE), 0, false, 3);
+        waterBowlClip = new AnimationClip(ImageLoader.getFrames(WATER_BOWL_PATH, TILE_SIZE, TILE_SIZE), 0, false, 1);
     }
 
     public AnimatedSprite getWaterBowlAnimatedSprite() {
-        return new AnimatedSprite(waterBowlSprite.getSprites(), waterBowlSprite.getSpeed(), waterBowlSprite.isVertical(), waterBowlSprite.getEndSprite());
+        return new AnimatedSprite(waterBowlClip);
     }
 
     public AnimatedSprite getFoodBowlAnimatedSprite() {
-        return new AnimatedSprite(foodBowlSprite.getSprites(), foodBowlSprite.getSpeed(), foodBowlSprite.isVertical(), foodBowlSprite.getEndSprite());
+        return new AnimatedSprite(foodBowlClip);
     }
 
     /**
@@ -114,14 +121,17 @@ public class SpriteService {
 
     public void setFeatherSprite(Sprite feather) {
         this.feather = feather;
+        SpriteRegistry.registerItem(Feather.ITEM_NAME, feather);
     }
 
     public void setMushroomSprite(Sprite mushroom) {
         this.mushroom = mushroom;
+        SpriteRegistry.registerItem(Mushroom.ITEM_NAME, mushroom);
     }
 
     public void setWoodSprite(Sprite wood) {
         this.wood = wood;
+        SpriteRegistry.registerItem(Wood.ITEM_NAME, wood);
     }
 
     public Sprite getFeatherSprite() {
@@ -239,6 +249,7 @@ public class SpriteService {
 
     public void setSimpleMealSprite(Sprite simpleMealSprite) {
         this.simpleMealSprite = simpleMealSprite;
+        SpriteRegistry.registerItem(SIMPLE_MEAL, simpleMealSprite);
     }
 
     public Sprite getTastyMealSprite() {
@@ -247,6 +258,7 @@ public class SpriteService {
 
     public void setTastyMealSprite(Sprite tastyMealSprite) {
         this.tastyMealSprite = tastyMealSprite;
+        SpriteRegistry.registerItem(TASTY_MEAL, tastyMealSprite);
     }
 
     public Sprite getPerfectMealSprite() {
@@ -255,5 +267,101 @@ public class SpriteService {
 
     public void setPerfectMealSprite(Sprite perfectMealSprite) {
         this.perfectMealSprite = perfectMealSprite;
+        SpriteRegistry.registerItem(PERFECT_MEAL, perfectMealSprite);
+    }
+
+    /**
+     * Takes the sprites of map objects from the services which loaded their images
+     */
+    public void cacheSprites(PlantService plantService, TileService tileService) {
+        setPlantPreview(plantService.getPreviews());
+        setPlantAnimationClips(plantService.getAnimationClips());
+        setSeedSprites(plantService.getSeedSprites());
+
+        setBowlsSprites();
+
+        setStorageChestSprites(tileService.getTiles().get(37).getSprite(), tileService.getTiles().get(36).getSprite());
+
+        setFeatherSprite(tileService.getTiles().get(Feather.TILE_ID).getSprite());
+        setMushroomSprite(tileService.getTiles().get(Mushroom.TILE_ID).getSprite());
+        setWoodSprite(tileService.getTiles().get(Wood.TILE_ID).getSprite());
+
+        loadBushSprite();
+        loadSpruceSprite();
+        loadOakSprite();
+
+        for (int cookingStoveId : CookingStove.TILE_IDS) {
+            loadCookingStoveSprite(cookingStoveId, tileService.getTerrainTiles().get(cookingStoveId).getSprite());
+        }
+
+        setSimpleMealSprite(tileService.getTiles().get(PetFood.SIMPLE_MEAL_SPRITE_ID).getSprite());
+        setTastyMealSprite(tileService.getTiles().get(PetFood.TASTY_MEAL_SPRITE_ID).getSprite());
+        setPerfectMealSprite(tileService.getTiles().get(PetFood.PERFECT_MEAL_SPRITE_ID).getSprite());
+    }
+
+    /**
+     * Sets the sprites of objects loaded with the map, returns the interaction zones made for kitchen objects
+     */
+    public List<InteractionZone> loadMapSprites(GameMap gameMap) {
+        List<InteractionZone> interactionZones = new ArrayList<>();
+        for (Plant plant : gameMap.getPlants()) {
+            plant.setPreviewSprite(getPlantPreviewSprite(plant.getPlantType()));
+            plant.setAnimatedSprite(getPlantAnimatedSprite(plant.getPlantType()));
+        }
+        for (Item item : gameMap.getItems()) {
+            if (item.getItemName().contains("Meal")) {
+                item.setSprite(getMealSprite(item.getItemName()));
+            } else {
+                item.setSprite(getPlantPreviewSprite(item.getItemName()));
+            }
+        }
+        for (WaterBowl waterBowl : gameMap.getWaterBowls()) {
+            waterBowl.setSprite(getWaterBowlAnimatedSprite());
+        }
+        for (FoodBowl foodBowl : gameMap.getFoodBowls()) {
+            foodBowl.setSprite(getFoodBowlAnimatedSprite());
+        }
+        for (StorageChest storageChest : gameMap.getStorageChests()) {
+            storageChest.setSpriteClosed(getClosedChestSprite());
+            storageChest.setSpriteOpen(getOpenChestSprite());
+            gameMap.setTile(storageChest.getX() / CELL_SIZE, storageChest.getY() / CELL_SIZE, CHEST_TILE_ID, 2, true);
+        }
+        for (Feather feather : gameMap.getFeathers()) {
+            feather.setSprite(getFeatherSprite());
+        }
+        for (Mushroom mushroom : gameMap.getMushrooms()) {
+            mushroom.setSprite(getMushroomSprite());
+        }
+        for (Wood wood : gameMap.getWoods()) {
+            wood.setSprite(getWoodSprite());
+        }
+        for (Bush bush : gameMap.getBushes()) {
+            bush.setSprite(getBushSprite());
+            bush.startBush();
+        }
+        for (Oak oak : gameMap.getOaks()) {
+            oak.setSprite(getOakSprite());
+            oak.getRectangle().generateBorder(1, GREEN);
+        }
+        for (Spruce spruce : gameMap.getSpruces()) {
+            spruce.setSprite(getSpruceSprite());
+            spruce.getRectangle().generateBorder(1, GREEN);
+        }
+        for (CookingStove cookingStove : gameMap.getCookingStoves()) {
+            cookingStove.setSprite(getCookingStoveSprite(cookingStove.getTileId()));
+            cookingStove.getRectangle().generateBorder(1, GREEN);
+            InteractionZoneKitchen interactionZone = new InteractionZoneKitchen(cookingStove.getRectangle().getX() + 32, cookingStove.getRectangle().getY() + 32, 290);
+            cookingStove.setInteractionZone(interactionZone);
+            cookingStove.setContextClue(new ContextClue(getPreviewSprite(QUESTION_ICON_PATH)));
+            interactionZones.add(interactionZone);
+        }
+        for (Fridge fridge : gameMap.getFridges()) {
+            fridge.getRectangle().generateBorder(1, GREEN);
+            InteractionZoneKitchen interactionZone = new InteractionZoneKitchen(fridge.getRectangle().getX() + 32, fridge.getRectangle().getY() + 32, 290);
+            fridge.setInteractionZone(interactionZone);
+            fridge.setContextClue(new ContextClue(getPreviewSprite(QUESTION_ICON_PATH)));
+            interactionZones.add(interactionZone);
+        }
+        return interactionZones;
     }
 }
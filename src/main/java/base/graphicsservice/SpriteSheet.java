@@ -27,6 +27,14 @@ public class SpriteSheet {
         pixels = sheetImage.getRGB(0, 0, totalWidth, totalHeight, pixels, 0, totalWidth);
     }
 
+    public SpriteSheet(int totalWidth, int totalHeight, int spriteSizeX, Sprite[] loadedSprites) {
+        this.totalWidth = totalWidth;
+        this.totalHeight = totalHeight;
+        this.spriteSizeX = spriteSizeX;
+        this.loadedSprites = loadedSprites;
+        loaded = true;
+    }
+
     public void loadSprites(int spriteSizeX, int spriteSizeY, int paddingWidth) {
         this.spriteSizeX = spriteSizeX;
         loadedSprites = new Sprite[(totalWidth / spriteSizeX) * (totalHeight / spriteSizeY)];
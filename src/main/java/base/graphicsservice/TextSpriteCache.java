@@ -0,0 +1,139 @@
+package base.graphicsservice;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Texts drawn once into ARGB pixels and kept by text, font size, style and colour, the least recently
+ * used are dropped when the cache is full. Counters, prices and stats rarely change, so most frames only
+ * copy pixels. Fonts are created once per size and style. Used on the render thread only.
+ */
+class TextSpriteCache {
+
+    private final int capacity;
+    private final Map<Key, TextSprite> sprites;
+    private final Map<Integer, Font> fonts = new HashMap<>();
+    private final Graphics2D measuringGraphics;
+
+    private long hits;
+    private long misses;
+
+    TextSpriteCache(int capacity) {
+        this.capacity = capacity;
+        this.sprites = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, TextSprite> eldest) {
+                return size() > TextSpriteCache.this.capacity;
+            }
+        };
+        measuringGraphics = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+    }
+
+    TextSprite get(String text, int style, int fontSize, int color) {
+        Key key = new Key(text, style, fontSize, color);
+        TextSprite sprite = sprites.get(key);
+        if (sprite != null) {
+            hits++;
+            return sprite;
+        }
+        misses++;
+        sprite = draw(text, getFont(style, fontSize), color);
+        sprites.put(key, sprite);
+        return sprite;
+    }
+
+    private TextSprite draw(String text, Font font, int color) {
+        FontMetrics metrics = measuringGraphics.getFontMetrics(font);
+        int width = Math.max(metrics.stringWidth(text), 1);
+        int height = Math.max(metrics.getAscent() + metrics.getDescent(), 1);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setFont(font);
+        graphics.setColor(new Color(color, true));
+        graphics.drawString(text, 0, metrics.getAscent());
+        graphics.dispose();
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        return new TextSprite(width, height, metrics.getAscent(), pixels);
+    }
+
+    private Font getFont(int style, int fontSize) {
+        return fonts.computeIfAbsent(style << 16 | fontSize, key -> new Font(Font.SANS_SERIF, style, fontSize));
+    }
+
+    int size() {
+        return sprites.size();
+    }
+
+    long getHits() {
+        return hits;
+    }
+
+    long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Pixels of a drawn text, ascent is the distance from the top to the baseline drawString uses
+     */
+    static class TextSprite {
+        private final int width;
+        private final int height;
+        private final int ascent;
+        private final int[] pixels;
+
+        private TextSprite(int width, int height, int ascent, int[] pixels) {
+            this.width = width;
+            this.height = height;
+            this.ascent = ascent;
+            this.pixels = pixels;
+        }
+
+        int getWidth() {
+            return width;
+        }
+
+        int getHeight() {
+            return height;
+        }
+
+        int getAscent() {
+            return ascent;
+        }
+
+        int[] getPixels() {
+            return pixels;
+        }
+    }
+
+    private static class Key {
+        private final String text;
+        private final int style;
+        private final int fontSize;
+        private final int color;
+
+        private Key(String text, int style, int fontSize, int color) {
+            this.text = text;
+            this.style = style;
+            this.fontSize = fontSize;
+            this.color = color;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return style == key.style && fontSize == key.fontSize && color == key.color && text.equals(key.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(text, style, fontSize, color);
+        }
+    }
+}
@@ -69,6 +69,11 @@ public class AnimalIcon extends GUIButton {
         return 5;
     }
 
+    @Override
+    protected boolean isHitOnlyInRectangle() {
+        return false;
+    }
+
     @Override
     public boolean handleMouseClick(Rectangle mouseRectangle, Rectangle camera, int zoom, Game game) {
         if (mouseRectangle.intersects(rectangle)) {
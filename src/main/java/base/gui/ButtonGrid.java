@@ -0,0 +1,127 @@
+package base.gui;
+
+import base.graphicsservice.Rectangle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static base.constants.Constants.CELL_SIZE;
+
+/**
+ * Buttons of a panel by the cells of their rectangles, so a click asks only the buttons of the cell it
+ * falls into. Every cell keeps the indexes of its buttons in the order of the panel, buttons taking
+ * clicks outside of their rectangles are in every cell and in the list for clicks outside of the grid.
+ * Built by GUI from the buttons it has, button rectangles are not expected to change.
+ */
+class ButtonGrid {
+
+    private static final int[] NO_BUTTONS = new int[0];
+
+    private final int buttonCount;
+    private final int minX;
+    private final int minY;
+    private final int columns;
+    private final int rows;
+    private final int[][] cells;
+    private final int[] alwaysAsked;
+
+    ButtonGrid(List<GUIButton> buttons) {
+        buttonCount = buttons.size();
+        int left = Integer.MAX_VALUE;
+        int top = Integer.MAX_VALUE;
+        int right = Integer.MIN_VALUE;
+        int bottom = Integer.MIN_VALUE;
+        List<Integer> always = new ArrayList<>();
+        for (int i = 0; i < buttons.size(); i++) {
+            GUIButton button = buttons.get(i);
+            Rectangle rectangle = button.getRectangle();
+            if (!button.isHitOnlyInRectangle() || rectangle == null) {
+                always.add(i);
+                continue;
+            }
+            left = Math.min(left, getFromCell(rectangle));
+            top = Math.min(top, getFromCellY(rectangle));
+            right = Math.max(right, getToCell(rectangle));
+            bottom = Math.max(bottom, getToCellY(rectangle));
+        }
+        alwaysAsked = toArray(always);
+        if (left > right) {
+            minX = 0;
+            minY = 0;
+            columns = 0;
+            rows = 0;
+            cells = new int[0][];
+            return;
+        }
+        minX = left;
+        minY = top;
+        columns = right - left + 1;
+        rows = bottom - top + 1;
+        List<List<Integer>> cellButtons = new ArrayList<>(columns * rows);
+        for (int i = 0; i < columns * rows; i++) {
+            cellButtons.add(new ArrayList<>());
+        }
+        for (int i = 0; i < buttons.size(); i++) {
+            GUIButton button = buttons.get(i);
+            Rectangle rectangle = button.getRectangle();
+            if (!button.isHitOnlyInRectangle() || rectangle == null) {
+                for (List<Integer> cell : cellButtons) {
+                    cell.add(i);
+                }
+                continue;
+            }
+            for (int cellY = getFromCellY(rectangle); cellY <= getToCellY(rectangle); cellY++) {
+                for (int cellX = getFromCell(rectangle); cellX <= getToCell(rectangle); cellX++) {
+                    cellButtons.get((cellY - minY) * columns + (cellX - minX)).add(i);
+                }
+            }
+        }
+        cells = new int[columns * rows][];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = cellButtons.get(i).isEmpty() ? NO_BUTTONS : toArray(cellButtons.get(i));
+        }
+    }
+
+    boolean isBuiltFrom(List<GUIButton> buttons) {
+        return buttons.size() == buttonCount;
+    }
+
+    /**
+     * Indexes of the buttons a click at the position relative to the panel has to be given to
+     */
+    int[] getButtonsAt(int x, int y) {
+        int cellX = Math.floorDiv(x, CELL_SIZE) - minX;
+        int cellY = Math.floorDiv(y, CELL_SIZE) - minY;
+        if (cellX < 0 || cellX >= columns || cellY < 0 || cellY >= rows) {
+            return alwaysAsked;
+        }
+        return cells[cellY * columns + cellX];
+    }
+
+    /**
+     * A one pixel click rectangle at x touches a button from one pixel left of it up to its right edge
+     */
+    private static int getFromCell(Rectangle rectangle) {
+        return Math.floorDiv(rectangle.getX() - 1, CELL_SIZE);
+    }
+
+    private static int getToCell(Rectangle rectangle) {
+        return Math.floorDiv(rectangle.getX() + rectangle.getWidth(), CELL_SIZE);
+    }
+
+    private static int getFromCellY(Rectangle rectangle) {
+        return Math.floorDiv(rectangle.getY() - 1, CELL_SIZE);
+    }
+
+    private static int getToCellY(Rectangle rectangle) {
+        return Math.floorDiv(rectangle.getY() + rectangle.getHeight(), CELL_SIZE);
+    }
+
+    private static int[] toArray(List<Integer> indexes) {
+        int[] array = new int[indexes.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = indexes.get(i);
+        }
+        return array;
+    }
+}
@@ -16,7 +16,7 @@ public class EditIcon {
     protected static final Logger logger = LoggerFactory.getLogger(EditIcon.class);
 
     public EditIcon() {
-        sprite = new Sprite(ImageLoader.loadImage(EDIT_ICON_PATH));
+        sprite = ImageLoader.getPreviewSprite(EDIT_ICON_PATH);
         rectangle = new Rectangle();
     }
 
@@ -5,6 +5,7 @@ import base.gameobjects.GameObject;
 import base.graphicsservice.Rectangle;
 import base.graphicsservice.RenderHandler;
 import base.graphicsservice.Sprite;
+import base.graphicsservice.SpriteRegistry;
 
 import java.io.Serializable;
 import java.util.List;
@@ -19,6 +20,8 @@ public class GUI implements GameObject, Serializable {
     protected final List<GUIButton> buttons;
     protected Rectangle rectangle;
     private final boolean fixedOnScreen;
+    private transient ButtonGrid buttonGrid;
+    private transient Rectangle panelMouseRectangle;
 
     public GUI(Sprite backgroundSprite, List<GUIButton> buttons, int xPosition, int yPosition, boolean fixedOnScreen) {
         this.backgroundSprite = backgroundSprite;
@@ -65,17 +68,21 @@ public class GUI implements GameObject, Serializable {
     public boolean handleMouseClick(Rectangle mouseRectangle, Rectangle camera, int zoom, Game game) {
         boolean stopChecking = false;
 
+        int mouseX = mouseRectangle.getX();
+        int mouseY = mouseRectangle.getY();
         if (!fixedOnScreen) {
-            mouseRectangle = new Rectangle(mouseRectangle.getX() + camera.getX(), mouseRectangle.getY() + camera.getY(), 1, 1);
-        } else {
-            mouseRectangle = new Rectangle(mouseRectangle.getX(), mouseRectangle.getY(), 1, 1);
+            mouseX += camera.getX();
+            mouseY += camera.getY();
         }
 
-        if (rectangle.getWidth() == 0 || rectangle.getHeight() == 0 || mouseRectangle.intersects(rectangle)) {
-            mouseRectangle.setX(mouseRectangle.getX() - rectangle.getX());
-            mouseRectangle.setY(mouseRectangle.getY() - rectangle.getY());
-            for (GUIButton button : buttons) {
-                boolean result = button.handleMouseClick(mouseRectangle, camera, zoom, game);
+        if (rectangle.getWidth() == 0 || rectangle.getHeight() == 0 || isInside(mouseX, mouseY)) {
+            if (panelMouseRectangle == null) {
+                panelMouseRectangle = new Rectangle(0, 0, 1, 1);
+            }
+            panelMouseRectangle.setX(mouseX - rectangle.getX());
+            panelMouseRectangle.setY(mouseY - rectangle.getY());
+            for (int index : getButtonGrid().getButtonsAt(panelMouseRectangle.getX(), panelMouseRectangle.getY())) {
+                boolean result = buttons.get(index).handleMouseClick(panelMouseRectangle, camera, zoom, game);
                 if (!stopChecking) {
                     stopChecking = result;
                 }
@@ -84,6 +91,21 @@ public class GUI implements GameObject, Serializable {
         return stopChecking;
     }
 
+    /**
+     * Same as intersects with a one pixel rectangle at the mouse position
+     */
+    private boolean isInside(int mouseX, int mouseY) {
+        return !(mouseX > rectangle.getX() + rectangle.getWidth() || rectangle.getX() > mouseX + 1)
+                && !(mouseY > rectangle.getY() + rectangle.getHeight() || rectangle.getY() > mouseY + 1);
+    }
+
+    private ButtonGrid getButtonGrid() {
+        if (buttonGrid == null || !buttonGrid.isBuiltFrom(buttons)) {
+            buttonGrid = new ButtonGrid(buttons);
+        }
+        return buttonGrid;
+    }
+
     public void addButton(GUIButton button) {
         buttons.add(button);
     }
@@ -93,9 +115,27 @@ public class GUI implements GameObject, Serializable {
     }
 
     public GUIButton getButtonBySprite(Sprite sprite) {
-        for (GUIButton button : buttons) {
-            if (sprite.equals(button.getSprite()) && button.getObjectCount() < INVENTORY_LIMIT) {
-                return button;
+        return getButtonBySpriteId(sprite.getId());
+    }
+
+    /**
+     * Finds not full button with the item, uses registered sprite id of the item name when there is one
+     */
+    public GUIButton getButtonForItem(String itemName, Sprite sprite) {
+        int spriteId = SpriteRegistry.getItemSpriteId(itemName);
+        if (spriteId == SpriteRegistry.NO_ID && sprite != null) {
+            spriteId = sprite.getId();
+        }
+        return getButtonBySpriteId(spriteId);
+    }
+
+    private GUIButton getButtonBySpriteId(int spriteId) {
+        if (spriteId != SpriteRegistry.NO_ID) {
+            for (GUIButton button : buttons) {
+                Sprite buttonSprite = button.getSprite();
+                if (buttonSprite != null && buttonSprite.getId() == spriteId && button.getObjectCount() < INVENTORY_LIMIT) {
+                    return button;
+                }
             }
         }
         return getEmptyButton();
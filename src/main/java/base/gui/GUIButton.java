@@ -54,6 +54,13 @@ public abstract class GUIButton implements GameObject, Serializable {
 
     public abstract void activate(Game game);
 
+    /**
+     * Buttons taking clicks outside of their rectangle have to return false, GUI asks them on every click
+     */
+    protected boolean isHitOnlyInRectangle() {
+        return true;
+    }
+
     public Sprite getSprite() {
         return sprite;
     }
@@ -14,7 +14,7 @@ public class HeartIcon {
     protected static final Logger logger = LoggerFactory.getLogger(HeartIcon.class);
 
     public HeartIcon() {
-        sprite = new Sprite(ImageLoader.loadImage(HEART_ICON_PATH));
+        sprite = ImageLoader.getPreviewSprite(HEART_ICON_PATH);
         rectangle = new Rectangle();
     }
 
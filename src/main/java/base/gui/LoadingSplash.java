@@ -0,0 +1,55 @@
+package base.gui;
+
+import base.graphicsservice.AssetPreloader;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Small undecorated window with a progress bar, shown while assets are decoded on startup
+ */
+public class LoadingSplash implements AssetPreloader.ProgressListener {
+
+    private JWindow window;
+    private JProgressBar progressBar;
+
+    public LoadingSplash() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return;
+        }
+        SwingUtilities.invokeLater(() -> {
+            progressBar = new JProgressBar();
+            progressBar.setStringPainted(true);
+            progressBar.setString("Loading...");
+
+            JLabel title = new JLabel("Animal shelter game", SwingConstants.CENTER);
+            title.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+            window = new JWindow();
+            window.getContentPane().add(title, BorderLayout.CENTER);
+            window.getContentPane().add(progressBar, BorderLayout.SOUTH);
+            window.setSize(300, 80);
+            window.setLocationRelativeTo(null);
+            window.setVisible(true);
+        });
+    }
+
+    @Override
+    public void onProgress(int loaded, int total) {
+        SwingUtilities.invokeLater(() -> {
+            if (progressBar != null) {
+                progressBar.setMaximum(total);
+                progressBar.setValue(loaded);
+                progressBar.setString(String.format("Loading images %d / %d", loaded, total));
+            }
+        });
+    }
+
+    public void close() {
+        SwingUtilities.invokeLater(() -> {
+            if (window != null) {
+                window.dispose();
+            }
+        });
+    }
+}
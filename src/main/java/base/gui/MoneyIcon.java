@@ -14,7 +14,7 @@ public class MoneyIcon {
     protected static final Logger logger = LoggerFactory.getLogger(MoneyIcon.class);
 
     public MoneyIcon() {
-        sprite = new Sprite(ImageLoader.loadImage(MONEY_ICON_PATH));
+        sprite = ImageLoader.getPreviewSprite(MONEY_ICON_PATH);
         rectangle = new Rectangle();
     }
 
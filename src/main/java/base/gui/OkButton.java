@@ -34,6 +34,11 @@ public class OkButton extends GUIButton {
         return 0;
     }
 
+    @Override
+    protected boolean isHitOnlyInRectangle() {
+        return false;
+    }
+
     @Override
     public boolean handleMouseClick(Rectangle mouseRectangle, Rectangle camera, int zoom, Game game) {
         if (mouseRectangle.intersects(buttonRegion)) {
@@ -22,6 +22,7 @@ public class GameMap {
     private static final Logger logger = LoggerFactory.getLogger(GameMap.class);
 
     private final String mapName;
+    private int schemaVersion;
 
     private int backGroundTileId = -1;
     private int mapWidth = -1;
@@ -52,6 +53,17 @@ public class GameMap {
     private transient List<GameObject> interactiveObjects = new CopyOnWriteArrayList<>();
     private final List<Portal> portals = new ArrayList<>();
 
+    private transient volatile NavigationGrid navigationGrid;
+    private transient volatile SpatialHash colliders;
+    private transient volatile SpatialHash objectIndex;
+    private transient volatile RouteTargets routeTargets;
+
+    // bumped whenever something routes can lead to changes, so cached searches know when to start over
+    private transient volatile int tilesVersion;
+    private transient volatile int foodVersion;
+    private transient volatile int waterVersion;
+    private transient volatile int targetsVersion;
+
     public GameMap(String mapName) {
         this.mapName = mapName;
     }
@@ -77,18 +89,231 @@ public class GameMap {
     }
 
     public boolean isThereWaterTile(Rectangle rectangle) {
-        for (MapTile tile : layeredTiles.get(2)) {
-            if (tile.isRegularTile()) {
+        return getNavigationGrid().isThereWater(rectangle.getX(), rectangle.getY(), rectangle.getWidth(), rectangle.getHeight());
+    }
+
+    /**
+     * Built on first use, replaced by setTile and removeTile. The returned grid never changes, route
+     * searches on other threads keep the one they started with.
+     * Code changing the tile lists directly has to call resetNavigationGrid.
+     */
+    public NavigationGrid getNavigationGrid() {
+        NavigationGrid grid = navigationGrid;
+        if (grid == null) {
+            synchronized (this) {
+                grid = navigationGrid;
+                if (grid == null) {
+                    grid = new NavigationGrid(this);
+                    navigationGrid = grid;
+                }
+            }
+        }
+        return grid;
+    }
+
+    public synchronized void resetNavigationGrid() {
+        navigationGrid = null;
+        tilesVersion++;
+        refreshRouteTargets();
+    }
+
+    private synchronized void updateNavigationGrid(int layer, int tileX, int tileY) {
+        NavigationGrid grid = navigationGrid;
+        if (grid != null) {
+            navigationGrid = grid.withCell(layer, tileX, tileY);
+        }
+        tilesVersion++;
+        refreshRouteTargets();
+    }
+
+    /**
+     * Copy of what route searches look for, made again whenever tiles, portals, npc spots, items or bowls change.
+     * Built on first use, Game builds it when a map is loaded so the lists are copied on the game thread.
+     */
+    public RouteTargets getRouteTargets() {
+        RouteTargets targets = routeTargets;
+        if (targets == null) {
+            synchronized (this) {
+                targets = routeTargets;
+                if (targets == null) {
+                    targets = new RouteTargets(this);
+                    routeTargets = targets;
+                }
+            }
+        }
+        return targets;
+    }
+
+    private synchronized void refreshRouteTargets() {
+        targetsVersion++;
+        if (routeTargets != null) {
+            routeTargets = new RouteTargets(this);
+        }
+    }
+
+    /**
+     * Objects the player collides with, built on first use and kept up to date by the add and remove
+     * methods below. Code changing the object lists directly has to call resetSpatialIndexes.
+     */
+    public SpatialHash getColliders() {
+        SpatialHash hash = colliders;
+        if (hash == null) {
+            synchronized (this) {
+                hash = colliders;
+                if (hash == null) {
+                    hash = buildSpatialHash(spruces, oaks, items, plants, foodBowls, storageChests, npcSpots, bushes);
+                    colliders = hash;
+                }
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Items, bowls, plants, chests and everything else on the map a player can click, for the typed
+     * queries below and for picking
+     */
+    public SpatialHash getObjectIndex() {
+        SpatialHash hash = objectIndex;
+        if (hash == null) {
+            synchronized (this) {
+                hash = objectIndex;
+                if (hash == null) {
+                    hash = buildSpatialHash(items, foodBowls, waterBowls, plants, storageChests, bushes, feathers, mushrooms, woods,
+                            cookingStoves, fridges);
+                    objectIndex = hash;
+                }
+            }
+        }
+        return hash;
+    }
+
+    public synchronized void resetSpatialIndexes() {
+        colliders = null;
+        objectIndex = null;
+    }
+
+    @SafeVarargs
+    private SpatialHash buildSpatialHash(List<? extends GameObject>... objectLists) {
+        SpatialHash hash = new SpatialHash(mapWidth, mapHeight);
+        for (List<? extends GameObject> objects : objectLists) {
+            if (objects == null) {
                 continue;
             }
-            if (rectangle.intersects(tile)) {
-                return getWaterTileIds().contains(tile.getId());
+            for (GameObject object : objects) {
+                if (object != null) {
+                    hash.add(object);
+                }
             }
         }
-        return false;
+        return hash;
+    }
+
+    private synchronized void addToSpatialIndexes(GameObject object) {
+        if (object == null) {
+            return;
+        }
+        if (colliders != null && isCollider(object)) {
+            colliders.add(object);
+        }
+        if (objectIndex != null && isIndexed(object)) {
+            objectIndex.add(object);
+        }
+    }
+
+    private synchronized void removeFromSpatialIndexes(GameObject object) {
+        if (object == null) {
+            return;
+        }
+        if (colliders != null && isCollider(object)) {
+            colliders.remove(object);
+        }
+        if (objectIndex != null && isIndexed(object)) {
+            objectIndex.remove(object);
+        }
+    }
+
+    private static boolean isCollider(GameObject object) {
+        return object instanceof Spruce || object instanceof Oak || object instanceof Item || object instanceof Plant
+                || object instanceof FoodBowl || object instanceof StorageChest || object instanceof NpcSpot || object instanceof Bush;
+    }
+
+    private static boolean isIndexed(GameObject object) {
+        return object instanceof Item || object instanceof Bowl || object instanceof Plant || object instanceof StorageChest
+                || object instanceof Bush || object instanceof Feather || object instanceof Mushroom || object instanceof Wood
+                || object instanceof CookingStove || object instanceof Fridge;
+    }
+
+    /** =================================== Spatial queries ====================================== */
+
+    public Item findItem(Rectangle rectangle) {
+        return getObjectIndex().findFirst(rectangle, Item.class, item -> true);
+    }
+
+    public List<Item> findItems(Rectangle rectangle) {
+        return getObjectIndex().findAll(rectangle, Item.class);
+    }
+
+    public FoodBowl findFullFoodBowl(Rectangle rectangle) {
+        return getObjectIndex().findFirst(rectangle, FoodBowl.class, Bowl::isFull);
+    }
+
+    public WaterBowl findFullWaterBowl(Rectangle rectangle) {
+        return getObjectIndex().findFirst(rectangle, WaterBowl.class, Bowl::isFull);
     }
 
-    private List<Integer> getWaterTileIds() {
+    public StorageChest findStorageChest(Rectangle rectangle) {
+        return getObjectIndex().findFirst(rectangle, StorageChest.class, chest -> true);
+    }
+
+    /**
+     * Plant whose rectangle starts exactly at the position
+     */
+    public Plant getPlantAt(int x, int y) {
+        for (Plant plant : getObjectIndex().getInCell(SpatialHash.getFromCell(x), SpatialHash.getFromCell(y), Plant.class)) {
+            if (plant.getRectangle().getX() == x && plant.getRectangle().getY() == y) {
+                return plant;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Has to be called when a food bowl is filled or emptied
+     */
+    public void markFoodChanged() {
+        foodVersion++;
+        refreshRouteTargets();
+    }
+
+    /**
+     * Has to be called when a water bowl is filled or emptied
+     */
+    public void markWaterChanged() {
+        waterVersion++;
+        refreshRouteTargets();
+    }
+
+    public int getTilesVersion() {
+        return tilesVersion;
+    }
+
+    public int getFoodVersion() {
+        return foodVersion;
+    }
+
+    public int getWaterVersion() {
+        return waterVersion;
+    }
+
+    /**
+     * Bumped whenever the route targets change, like a portal or an npc spot being added
+     */
+    public int getTargetsVersion() {
+        return targetsVersion;
+    }
+
+    List<Integer> getWaterTileIds() {
         return Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 71, 72);
     }
 
@@ -120,6 +345,7 @@ public class GameMap {
                     layeredTiles.put(tile.getLayer(), new CopyOnWriteArrayList<>());
                 }
                 layeredTiles.get(tile.getLayer()).add(tile);
+                updateNavigationGrid(tile.getLayer(), tile.getX(), tile.getY());
             }
             return;
         }
@@ -143,6 +369,7 @@ public class GameMap {
             }
             layeredTiles.get(tile.getLayer()).add(tile);
         }
+        updateNavigationGrid(layer, tileX, tileY);
         if (maxLayer < layer) {
             maxLayer = layer;
         }
@@ -177,22 +404,32 @@ public class GameMap {
             addPortal((Portal) object);
         } else if (object instanceof Feather) {
             feathers.add((Feather) object);
+            addToSpatialIndexes(object);
         } else if (object instanceof Mushroom) {
             mushrooms.add((Mushroom) object);
+            addToSpatialIndexes(object);
         } else if (object instanceof Wood) {
             woods.add((Wood) object);
+            addToSpatialIndexes(object);
         } else if (object instanceof Bush) {
             bushes.add((Bush) object);
+            addToSpatialIndexes(object);
         } else if (object instanceof Oak) {
             oaks.add((Oak) object);
+            addToSpatialIndexes(object);
         } else if (object instanceof Spruce) {
             spruces.add((Spruce) object);
+            addToSpatialIndexes(object);
         } else if (object instanceof CookingStove) {
             cookingStoves.add((CookingStove) object);
+            addToSpatialIndexes(object);
         } else if (object instanceof Fridge) {
             fridges.add((Fridge) object);
+            addToSpatialIndexes(object);
         } else if (object instanceof NpcSpot) {
             npcSpots.add((NpcSpot) object);
+            addToSpatialIndexes(object);
+            refreshRouteTargets();
         } else if (object instanceof NpcSpawnSpot) {
             npcSpawnSpots.add((NpcSpawnSpot) object);
         } else if (object instanceof Npc) {
@@ -207,28 +444,37 @@ public class GameMap {
 
     private void addPortal(Portal portal) {
         portals.add(portal);
+        refreshRouteTargets();
     }
 
     public void addItem(Item item) {
         logger.debug("Adding item to the list");
         items.add(item);
+        addToSpatialIndexes(item);
         item.setMapName(mapName);
+        markFoodChanged();
     }
 
     public void addPlant(Plant plant) {
         plants.add(plant);
+        addToSpatialIndexes(plant);
     }
 
     public void addFoodBowl(FoodBowl bowl) {
         foodBowls.add(bowl);
+        addToSpatialIndexes(bowl);
+        markFoodChanged();
     }
 
     public void addWaterBowl(WaterBowl bowl) {
         waterBowls.add(bowl);
+        addToSpatialIndexes(bowl);
+        markWaterChanged();
     }
 
     public void addStorageChest(StorageChest storageChest) {
         storageChests.add(storageChest);
+        addToSpatialIndexes(storageChest);
     }
 
     /**
@@ -253,6 +499,7 @@ public class GameMap {
         for (MapTile mapTile : layeredTiles.get(layer)) {
             if (mapTile.getX() == tileX && mapTile.getY() == tileY && mapTile.isRegularTile() == regularTiles && mapTile.getId() == selectedTile) {
                 layeredTiles.get(layer).remove(mapTile);
+                updateNavigationGrid(layer, tileX, tileY);
                 return true;
             }
         }
@@ -261,16 +508,29 @@ public class GameMap {
 
     //TODO: refactor not to mention every item type separately
     public void removeItem(String itemName, Rectangle rectangle) {
-        items.removeIf(item -> itemName.equals(item.getItemName()) && rectangle.intersects(item.getRectangle()));
+        for (Item item : findItems(rectangle)) {
+            if (itemName.equals(item.getItemName())) {
+                items.remove(item);
+                removeFromSpatialIndexes(item);
+            }
+        }
+        markFoodChanged();
 
         if (itemName.equalsIgnoreCase(Wood.ITEM_NAME)) {
-            woods.removeIf(wood -> rectangle.intersects(wood.getRectangle()));
+            removeFound(woods, rectangle, Wood.class);
         }
         if (itemName.equalsIgnoreCase(Feather.ITEM_NAME)) {
-            feathers.removeIf(feather -> rectangle.intersects(feather.getRectangle()));
+            removeFound(feathers, rectangle, Feather.class);
         }
         if (itemName.equalsIgnoreCase(Mushroom.ITEM_NAME)) {
-            mushrooms.removeIf(mushroom -> rectangle.intersects(mushroom.getRectangle()));
+            removeFound(mushrooms, rectangle, Mushroom.class);
+        }
+    }
+
+    private <T extends GameObject> void removeFound(List<T> objects, Rectangle rectangle, Class<T> type) {
+        for (T object : getObjectIndex().findAll(rectangle, type)) {
+            objects.remove(object);
+            removeFromSpatialIndexes(object);
         }
     }
 
@@ -289,14 +549,13 @@ public class GameMap {
     }
 
     public boolean removeStorageChest(int xPosition, int yPosition) {
-        Rectangle rectangle = new Rectangle(xPosition, yPosition, CELL_SIZE, CELL_SIZE);
-        for (StorageChest chest : storageChests) {
-            if (chest.getRectangle().intersects(rectangle)) {
-                storageChests.remove(chest);
-                return true;
-            }
+        StorageChest chest = findStorageChest(new Rectangle(xPosition, yPosition, CELL_SIZE, CELL_SIZE));
+        if (chest == null) {
+            return false;
         }
-        return false;
+        storageChests.remove(chest);
+        removeFromSpatialIndexes(chest);
+        return true;
     }
 
     public boolean removeCookingStove(int xPosition, int yPosition) {
@@ -304,6 +563,7 @@ public class GameMap {
         for (CookingStove cookingStove : cookingStoves) {
             if (cookingStove.getRectangle().intersects(rectangle)) {
                 cookingStoves.remove(cookingStove);
+                removeFromSpatialIndexes(cookingStove);
                 return true;
             }
         }
@@ -315,6 +575,7 @@ public class GameMap {
         for (Fridge fridge : fridges) {
             if (fridge.getRectangle().intersects(rectangle)) {
                 fridges.remove(fridge);
+                removeFromSpatialIndexes(fridge);
                 return true;
             }
         }
@@ -322,17 +583,23 @@ public class GameMap {
     }
 
     public void removePlant(Plant plant) {
-        plants.remove(plant);
+        if (plants.remove(plant)) {
+            removeFromSpatialIndexes(plant);
+        }
     }
 
     // TODO: check by x and y instead of full object
     public boolean removeBowl(Bowl bowl) {
         if (foodBowls.contains(bowl)) {
             foodBowls.remove(bowl);
+            removeFromSpatialIndexes(bowl);
+            markFoodChanged();
             return true;
         }
         if (waterBowls.contains(bowl)) {
             waterBowls.remove(bowl);
+            removeFromSpatialIndexes(bowl);
+            markWaterChanged();
             return true;
         }
         return false;
@@ -408,6 +675,14 @@ public class GameMap {
         return mapName;
     }
 
+    public int getSchemaVersion() {
+        return schemaVersion;
+    }
+
+    public void setSchemaVersion(int schemaVersion) {
+        this.schemaVersion = schemaVersion;
+    }
+
     public int getMapWidth() {
         return mapWidth;
     }
@@ -429,6 +704,7 @@ public class GameMap {
 
     public void setPlants(List<Plant> plants) {
         this.plants = plants;
+        resetSpatialIndexes();
     }
 
     public List<FoodBowl> getFoodBowls() {
@@ -487,6 +763,7 @@ public class GameMap {
 
     public void setFridges(List<Fridge> fridges) {
         this.fridges = fridges;
+        resetSpatialIndexes();
     }
 
     public List<NpcSpot> getNpcSpots() {
@@ -519,9 +796,13 @@ public class GameMap {
 
     public void setMapWidth(int mapWidth) {
         this.mapWidth = mapWidth;
+        resetNavigationGrid();
+        resetSpatialIndexes();
     }
 
     public void setMapHeight(int mapHeight) {
         this.mapHeight = mapHeight;
+        resetNavigationGrid();
+        resetSpatialIndexes();
     }
 }
@@ -0,0 +1,33 @@
+package base.map;
+
+import java.util.function.Consumer;
+
+/**
+ * One step of the map schema history. Steps are applied in ascending version order
+ * to maps whose stored schema version is older than the step.
+ */
+public class MapMigration {
+
+    private final int version;
+    private final String description;
+    private final Consumer<GameMap> migration;
+
+    public MapMigration(int version, String description, Consumer<GameMap> migration) {
+        this.version = version;
+        this.description = description;
+        this.migration = migration;
+    }
+
+    public void apply(GameMap gameMap) {
+        migration.accept(gameMap);
+        gameMap.setSchemaVersion(version);
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,88 @@
+package base.map;
+
+import com.google.gson.Gson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static base.constants.Constants.CURRENT_MAP_SCHEMA_VERSION;
+import static base.constants.FilePath.JSON_MAPS_DIRECTORY;
+
+/**
+ * Upgrades every json map in a save directory to the current schema version, one map per worker.
+ * Usage: MapMigrationTool [directory] [threads], defaults to maps/maps-json/ and the number of cores.
+ */
+public class MapMigrationTool {
+
+    protected static final Logger logger = LoggerFactory.getLogger(MapMigrationTool.class);
+
+    private final MapMigrator mapMigrator = new MapMigrator();
+
+    public static void main(String[] args) throws InterruptedException {
+        String directory = args.length > 0 ? args[0] : JSON_MAPS_DIRECTORY;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int failed = new MapMigrationTool().migrateDirectory(new File(directory), threads);
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Returns number of maps that could not be migrated
+     */
+    public int migrateDirectory(File directory, int threads) throws InterruptedException {
+        File[] mapFiles = directory.listFiles(file -> file.isFile() && !file.getName().endsWith(".migrating"));
+        if (mapFiles == null || mapFiles.length == 0) {
+            logger.warn(String.format("No maps found in %s", directory));
+            return 0;
+        }
+        logger.info(String.format("Migrating %d maps in %s to schema version %d", mapFiles.length, directory, CURRENT_MAP_SCHEMA_VERSION));
+        long startTime = System.currentTimeMillis();
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, mapFiles.length)));
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (File mapFile : mapFiles) {
+            results.add(executor.submit(() -> migrateFile(mapFile)));
+        }
+        executor.shutdown();
+
+        int migrated = 0;
+        int failed = 0;
+        for (int i = 0; i < results.size(); i++) {
+            try {
+                if (results.get(i).get()) {
+                    migrated++;
+                }
+            } catch (ExecutionException e) {
+                failed++;
+                logger.error(String.format("Unable to migrate %s", mapFiles[i]), e.getCause());
+            }
+        }
+        logger.info(String.format("Migrated %d of %d maps in %d ms, %d failed", migrated, mapFiles.length,
+                System.currentTimeMillis() - startTime, failed));
+        return failed;
+    }
+
+    boolean migrateFile(File mapFile) throws IOException {
+        Gson gson = new Gson();
+        GameMap gameMap;
+        try (Reader reader = new FileReader(mapFile)) {
+            gameMap = gson.fromJson(reader, GameMap.class);
+        }
+        if (gameMap == null || !mapMigrator.migrateToCurrentSchema(gameMap)) {
+            return false;
+        }
+        File migratedFile = new File(mapFile.getPath() + ".migrating");
+        try (Writer writer = new FileWriter(migratedFile)) {
+            gson.toJson(gameMap, writer);
+        }
+        Files.move(migratedFile.toPath(), mapFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        return true;
+    }
+}
@@ -45,6 +45,14 @@ public class MapMigrator {
 
     private Map<Integer, List<MapTile>> layeredTiles = new ConcurrentHashMap<>();
 
+    /**
+     * Schema history, ordered by version. New steps are appended with the next version number
+     * and CURRENT_MAP_SCHEMA_VERSION is bumped to match.
+     */
+    private final List<MapMigration> schemaMigrations = Collections.singletonList(
+            new MapMigration(1, "1.4.2 cooking stoves, chairs and fridges", this::migrateTo142)
+    );
+
     public void migrate(String firstName, String firstFilePath, String secondName, String secondFilePath, String resultPath) {
         firstMapName = firstName;
         secondMapName = secondName;
@@ -393,22 +401,41 @@ public class MapMigrator {
     }
 
     /**
-     * =================================== check migration ======================================
+     * =================================== Schema migration ======================================
      */
 
-    public void checkMigration(GameMap gameMap) {
-        if (CURRENT_GAME_VERSION.equals("1.4.2")) {
-            migrateStove(gameMap);
-            migrateChairs(gameMap);
-            createFridgeList(gameMap);
-            migrateFridges(gameMap);
+    /**
+     * Brings the map up to CURRENT_MAP_SCHEMA_VERSION by applying every step newer than
+     * the version stored in the map. Returns true if anything was applied, so the caller can persist the result.
+     */
+    public boolean migrateToCurrentSchema(GameMap gameMap) {
+        int storedVersion = gameMap.getSchemaVersion();
+        if (storedVersion >= CURRENT_MAP_SCHEMA_VERSION) {
+            return false;
         }
+        for (MapMigration migration : schemaMigrations) {
+            if (migration.getVersion() <= storedVersion) {
+                continue;
+            }
+            logger.info(String.format("Migrating map %s to schema version %d: %s", gameMap.getMapName(),
+                    migration.getVersion(), migration.getDescription()));
+            migration.apply(gameMap);
+        }
+        gameMap.setSchemaVersion(CURRENT_MAP_SCHEMA_VERSION);
+        return true;
     }
 
     /**
      * =================================== 1.4.2 migration ======================================
      */
 
+    private void migrateTo142(GameMap gameMap) {
+        migrateStove(gameMap);
+        migrateChairs(gameMap);
+        createFridgeList(gameMap);
+        migrateFridges(gameMap);
+    }
+
     public void migrateStove(GameMap gameMap) {
         if (gameMap.getTilesOnLayer(3) == null) {
             return;
@@ -448,11 +475,15 @@ public class MapMigrator {
                 .filter(t -> t.isRegularTile() && chairIds.contains(t.getId()))
                 .collect(Collectors.toList());
 
+        if (!chairTiles.isEmpty() && gameMap.getTilesOnLayer(1) == null) {
+            gameMap.getLayeredTiles().put(1, new CopyOnWriteArrayList<>());
+        }
         chairTiles.forEach(chair -> {
             chair.setLayer(1);
             gameMap.getTilesOnLayer(2).remove(chair);
             gameMap.getTilesOnLayer(1).add(chair);
         });
+        gameMap.resetNavigationGrid();
     }
 
     private void createFridgeList(GameMap gameMap) {
@@ -68,7 +68,6 @@ public class MapService {
      * =================================== Load Map ======================================
      */
 
-    // TODO: migration, if there is no json, but only normal file, them immediately save?
     public GameMap loadGameMapFromJson(String mapName, TileService tileService) {
         File directory = new File(JSON_MAPS_DIRECTORY);
         if (directory.listFiles() == null || directory.listFiles().length == 0) {
@@ -80,7 +79,7 @@ public class MapService {
             Reader reader = new FileReader(JSON_MAPS_DIRECTORY + mapName);
             GameMap gameMap = gson.fromJson(reader, GameMap.class);
             reader.close();
-            mapMigrator.checkMigration(gameMap);
+            migrateSchema(gameMap);
             return gameMap;
         } catch (IOException e) {
             e.printStackTrace();
@@ -90,6 +89,10 @@ public class MapService {
 
     @Deprecated
     public GameMap loadGameMap(String mapName, TileService tileService) {
+        return loadGameMap(mapName, tileService, false);
+    }
+
+    private GameMap loadGameMap(String mapName, TileService tileService, boolean fileMigrated) {
         GameMap gameMap = new GameMap(mapName);
         boolean migrationChecked = false;
         boolean migrationNeeded = false;
@@ -101,7 +104,7 @@ public class MapService {
             while (scanner.hasNextLine()) {
                 String line = scanner.nextLine();
 
-                if (!migrationChecked) {
+                if (!migrationChecked && !fileMigrated) {
                     if ((MAIN_MAP.equalsIgnoreCase(mapName) || TOP_CENTER_MAP.equalsIgnoreCase(mapName)) && isMigrationNeeded(line, mapName)) {
                         migrationNeeded = true;
                         break;
@@ -155,13 +158,24 @@ public class MapService {
         }
         if (migrationNeeded) {
             migrate(gameMap);
-            return loadGameMap(mapName, tileService);
+            return loadGameMap(mapName, tileService, true);
         }
         gameMap.sortInteractiveObjects();
-        mapMigrator.checkMigration(gameMap);
+        migrateSchema(gameMap);
         return gameMap;
     }
 
+    /**
+     * Schema steps run once per save: the migrated map is written back as json straight away,
+     * so the next load finds it at the current version and skips the migrator entirely.
+     */
+    private void migrateSchema(GameMap gameMap) {
+        if (mapMigrator.migrateToCurrentSchema(gameMap)) {
+            logger.info(String.format("Saving migrated map %s", gameMap.getMapName()));
+            saveMapToJson(gameMap);
+        }
+    }
+
     private boolean handleConfigLines(GameMap gameMap, String line) {
         if (line.startsWith("Fill:")) {
             String[] splitLine = line.split(":");
@@ -607,7 +621,7 @@ public class MapService {
         return null;
     }
 
-    public int getSpawnPoint(Portal portalToPrevious, boolean getX, Direction direction, GameMap gameMap) {
+    public static int getSpawnPoint(Portal portalToPrevious, boolean getX, Direction direction, GameMap gameMap) {
         int previousMapPortal;
         if (getX) {
             previousMapPortal = portalToPrevious.getRectangle().getX();
@@ -683,11 +697,9 @@ public class MapService {
     }
 
     public boolean isTherePlant(GameMap gameMap, int x, int y) {
-        for (Plant plant : gameMap.getPlants()) {
-            if (plant.getRectangle().getX() == x && plant.getRectangle().getY() == y) {
-                logger.info("There is already a plant");
-                return true;
-            }
+        if (gameMap.getPlantAt(x, y) != null) {
+            logger.info("There is already a plant");
+            return true;
         }
         return false;
     }
@@ -0,0 +1,215 @@
+package base.map;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static base.constants.Constants.CELL_SIZE;
+import static base.constants.Constants.TILE_SIZE;
+
+/**
+ * Per cell flags of the tiles on a map, so walkability checks look at the few cells a rectangle
+ * touches instead of scanning every tile of the layer. A grid never changes once built: when tiles
+ * are set or removed GameMap replaces it with a copy where only the touched cell is recomputed,
+ * so route searches on other threads can keep using the grid they started with.
+ */
+public class NavigationGrid {
+
+    private static final int MARGIN = 2;
+    private static final LayerFlags EMPTY_LAYER = new LayerFlags(0);
+
+    private final GameMap gameMap;
+    private final int minX;
+    private final int minY;
+    private final int width;
+    private final int height;
+    private final Map<Integer, LayerFlags> layers;
+
+    NavigationGrid(GameMap gameMap) {
+        this.gameMap = gameMap;
+        int left = -MARGIN;
+        int top = -MARGIN;
+        int right = Math.max(gameMap.getMapWidth(), 0) + MARGIN;
+        int bottom = Math.max(gameMap.getMapHeight(), 0) + MARGIN;
+        for (List<MapTile> tiles : gameMap.getLayeredTiles().values()) {
+            for (MapTile tile : tiles) {
+                left = Math.min(left, tile.getX());
+                top = Math.min(top, tile.getY());
+                right = Math.max(right, tile.getX() + 1);
+                bottom = Math.max(bottom, tile.getY() + 1);
+            }
+        }
+        minX = left;
+        minY = top;
+        width = right - left;
+        height = bottom - top;
+        layers = new HashMap<>();
+        for (Integer layer : gameMap.getLayeredTiles().keySet()) {
+            layers.put(layer, buildLayer(layer));
+        }
+    }
+
+    private NavigationGrid(NavigationGrid grid, Map<Integer, LayerFlags> layers) {
+        this.gameMap = grid.gameMap;
+        this.minX = grid.minX;
+        this.minY = grid.minY;
+        this.width = grid.width;
+        this.height = grid.height;
+        this.layers = layers;
+    }
+
+    /**
+     * Any tile, the way the player collides with tiles
+     */
+    public boolean isOccupied(int layer, int x, int y, int rectangleWidth, int rectangleHeight) {
+        return isAnySetInTouchedCells(getLayer(layer).occupied, x, y, rectangleWidth, rectangleHeight);
+    }
+
+    /**
+     * Any tile except water corners, used when looking for a route
+     */
+    public boolean isBlocked(int layer, int x, int y, int rectangleWidth, int rectangleHeight) {
+        return isAnySetInTouchedCells(getLayer(layer).blocking, x, y, rectangleWidth, rectangleHeight);
+    }
+
+    /**
+     * Any tile except water corners and portals, used by walking animals
+     */
+    public boolean isBlockedForWalking(int layer, int x, int y, int rectangleWidth, int rectangleHeight) {
+        return isAnySetInTouchedCells(getLayer(layer).blockingForWalking, x, y, rectangleWidth, rectangleHeight);
+    }
+
+    /**
+     * Water terrain tiles on layer 2, with the bounds used by Rectangle.intersects(MapTile)
+     */
+    public boolean isThereWater(int x, int y, int rectangleWidth, int rectangleHeight) {
+        int fromX = ceilDiv(x - CELL_SIZE, CELL_SIZE);
+        int toX = Math.floorDiv(x + rectangleWidth - 1, CELL_SIZE);
+        int fromY = ceilDiv(y - TILE_SIZE, CELL_SIZE);
+        int toY = Math.floorDiv(y + rectangleHeight - 1, CELL_SIZE);
+        return isAnySet(getLayer(2).water, fromX, toX, fromY, toY);
+    }
+
+    /**
+     * Copy of the grid with the flags of one cell recomputed from the tiles in it.
+     * Returns null when the cell is outside of the grid and the whole grid has to be built again.
+     */
+    NavigationGrid withCell(int layer, int tileX, int tileY) {
+        if (!isInside(tileX, tileY)) {
+            return null;
+        }
+        int index = getIndex(tileX, tileY);
+        LayerFlags flags = layers.containsKey(layer) ? layers.get(layer).copy() : new LayerFlags(width * height);
+        flags.clear(index);
+        List<MapTile> tiles = gameMap.getTilesOnLayer(layer);
+        if (tiles != null) {
+            for (MapTile tile : tiles) {
+                if (tile.getX() == tileX && tile.getY() == tileY) {
+                    flags.add(gameMap, tile, index);
+                }
+            }
+        }
+        Map<Integer, LayerFlags> updatedLayers = new HashMap<>(layers);
+        updatedLayers.put(layer, flags);
+        return new NavigationGrid(this, updatedLayers);
+    }
+
+    private LayerFlags getLayer(int layer) {
+        return layers.getOrDefault(layer, EMPTY_LAYER);
+    }
+
+    private LayerFlags buildLayer(int layer) {
+        LayerFlags flags = new LayerFlags(width * height);
+        List<MapTile> tiles = gameMap.getTilesOnLayer(layer);
+        if (tiles != null) {
+            for (MapTile tile : tiles) {
+                flags.add(gameMap, tile, getIndex(tile.getX(), tile.getY()));
+            }
+        }
+        return flags;
+    }
+
+    /**
+     * Cells a rectangle at x, y touches, with the bounds used by Rectangle.potentialIntersects
+     */
+    private boolean isAnySetInTouchedCells(BitSet bits, int x, int y, int rectangleWidth, int rectangleHeight) {
+        int fromX = ceilDiv(x - CELL_SIZE, CELL_SIZE);
+        int toX = Math.floorDiv(x + rectangleWidth, CELL_SIZE);
+        int fromY = ceilDiv(y - CELL_SIZE, CELL_SIZE);
+        int toY = Math.floorDiv(y + rectangleHeight, CELL_SIZE);
+        return isAnySet(bits, fromX, toX, fromY, toY);
+    }
+
+    private boolean isAnySet(BitSet bits, int fromX, int toX, int fromY, int toY) {
+        fromX = Math.max(fromX, minX);
+        toX = Math.min(toX, minX + width - 1);
+        fromY = Math.max(fromY, minY);
+        toY = Math.min(toY, minY + height - 1);
+        for (int tileY = fromY; tileY <= toY; tileY++) {
+            for (int tileX = fromX; tileX <= toX; tileX++) {
+                if (bits.get(getIndex(tileX, tileY))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean isInside(int tileX, int tileY) {
+        return tileX >= minX && tileX < minX + width && tileY >= minY && tileY < minY + height;
+    }
+
+    private int getIndex(int tileX, int tileY) {
+        return (tileY - minY) * width + (tileX - minX);
+    }
+
+    private static int ceilDiv(int value, int divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+
+    private static class LayerFlags {
+        private final BitSet occupied;
+        private final BitSet blocking;
+        private final BitSet blockingForWalking;
+        private final BitSet water;
+
+        private LayerFlags(int cells) {
+            occupied = new BitSet(cells);
+            blocking = new BitSet(cells);
+            blockingForWalking = new BitSet(cells);
+            water = new BitSet(cells);
+        }
+
+        private LayerFlags(LayerFlags flags) {
+            occupied = (BitSet) flags.occupied.clone();
+            blocking = (BitSet) flags.blocking.clone();
+            blockingForWalking = (BitSet) flags.blockingForWalking.clone();
+            water = (BitSet) flags.water.clone();
+        }
+
+        private LayerFlags copy() {
+            return new LayerFlags(this);
+        }
+
+        private void add(GameMap gameMap, MapTile tile, int index) {
+            occupied.set(index);
+            if (!gameMap.getWaterCornerTiles().contains(tile.getId())) {
+                blocking.set(index);
+                if (!tile.isPortal()) {
+                    blockingForWalking.set(index);
+                }
+            }
+            if (!tile.isRegularTile() && gameMap.getWaterTileIds().contains(tile.getId())) {
+                water.set(index);
+            }
+        }
+
+        private void clear(int index) {
+            occupied.clear(index);
+            blocking.clear(index);
+            blockingForWalking.clear(index);
+            water.clear(index);
+        }
+    }
+}
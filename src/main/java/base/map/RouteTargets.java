@@ -0,0 +1,172 @@
+package base.map;
+
+import base.gameobjects.*;
+import base.gameobjects.npc.NpcSpot;
+import base.graphicsservice.Rectangle;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * What route searches look for on a map: pillows, npc spots, portals, items and full bowls, copied from the
+ * map on the game thread. The map makes a new copy whenever one of them changes. Searches on other threads
+ * read the copy they started with and never the lists of the map, which the game thread changes meanwhile.
+ * The npc moves every tick, so it is not part of the copy the map makes, see withNpc.
+ */
+public class RouteTargets {
+
+    private final int tilesVersion;
+    private final int foodVersion;
+    private final int waterVersion;
+    private final int targetsVersion;
+    private final List<MapTile> pillows = new ArrayList<>();
+    private final List<NpcSpot> npcSpots;
+    private final List<Portal> portals;
+    private final SpatialHash food;
+    private final SpatialHash water;
+    private final Rectangle npc;
+
+    RouteTargets(GameMap gameMap) {
+        tilesVersion = gameMap.getTilesVersion();
+        foodVersion = gameMap.getFoodVersion();
+        waterVersion = gameMap.getWaterVersion();
+        targetsVersion = gameMap.getTargetsVersion();
+        for (MapTile pillow : gameMap.getPillows()) {
+            pillows.add(new MapTile(pillow.getLayer(), pillow.getId(), pillow.getX(), pillow.getY(), pillow.isRegularTile()));
+        }
+        npcSpots = Collections.unmodifiableList(new ArrayList<>(gameMap.getNpcSpots()));
+        portals = Collections.unmodifiableList(new ArrayList<>(gameMap.getPortals()));
+        food = new SpatialHash(gameMap.getMapWidth(), gameMap.getMapHeight());
+        for (Item item : gameMap.getItems()) {
+            food.add(item);
+        }
+        for (FoodBowl bowl : gameMap.getFoodBowls()) {
+            if (bowl.isFull()) {
+                food.add(bowl);
+            }
+        }
+        water = new SpatialHash(gameMap.getMapWidth(), gameMap.getMapHeight());
+        for (WaterBowl bowl : gameMap.getWaterBowls()) {
+            if (bowl.isFull()) {
+                water.add(bowl);
+            }
+        }
+        npc = null;
+    }
+
+    private RouteTargets(RouteTargets targets, Rectangle npc) {
+        tilesVersion = targets.tilesVersion;
+        foodVersion = targets.foodVersion;
+        waterVersion = targets.waterVersion;
+        targetsVersion = targets.targetsVersion;
+        pillows.addAll(targets.pillows);
+        npcSpots = targets.npcSpots;
+        portals = targets.portals;
+        food = targets.food;
+        water = targets.water;
+        this.npc = npc == null ? null : new Rectangle(npc.getX(), npc.getY(), npc.getWidth(), npc.getHeight());
+    }
+
+    /**
+     * Same targets plus a copy of where the npc is, the copy has to be made on the game thread
+     */
+    public RouteTargets withNpc(Rectangle npc) {
+        return new RouteTargets(this, npc);
+    }
+
+    /**
+     * Where the npc was when the copy was made, or null
+     */
+    public Rectangle getNpc() {
+        return npc;
+    }
+
+    public int getTilesVersion() {
+        return tilesVersion;
+    }
+
+    public int getFoodVersion() {
+        return foodVersion;
+    }
+
+    public int getWaterVersion() {
+        return waterVersion;
+    }
+
+    public int getTargetsVersion() {
+        return targetsVersion;
+    }
+
+    public boolean hasFood() {
+        return food.size() > 0;
+    }
+
+    public boolean hasWater() {
+        return water.size() > 0;
+    }
+
+    /**
+     * An item or a full food bowl
+     */
+    public boolean isThereFood(Rectangle rectangle) {
+        return food.findFirst(rectangle, GameObject.class, object -> true) != null;
+    }
+
+    /**
+     * A full water bowl
+     */
+    public boolean isThereWater(Rectangle rectangle) {
+        return water.findFirst(rectangle, GameObject.class, object -> true) != null;
+    }
+
+    public boolean isTherePillow(Rectangle rectangle) {
+        for (MapTile pillow : pillows) {
+            if (rectangle.intersects(pillow)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isThereNpc(Rectangle rectangle) {
+        return npc != null && rectangle.intersects(npc);
+    }
+
+    public boolean isThereNpcSpot(Rectangle rectangle) {
+        for (NpcSpot npcSpot : npcSpots) {
+            if (rectangle.intersects(npcSpot.getRectangle())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public List<Portal> getPortals() {
+        return portals;
+    }
+
+    /**
+     * Portal to the map, the name is compared ignoring case
+     */
+    public Portal getPortal(String destination) {
+        if (destination == null) {
+            return null;
+        }
+        for (Portal portal : portals) {
+            if (destination.equalsIgnoreCase(portal.getDirection())) {
+                return portal;
+            }
+        }
+        return null;
+    }
+
+    public boolean isTherePortal(Rectangle rectangle, String destination) {
+        for (Portal portal : portals) {
+            if (portal.getDirection().equals(destination) && rectangle.intersects(portal.getRectangle())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,261 @@
+package base.map;
+
+import base.gameobjects.GameObject;
+import base.graphicsservice.Rectangle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static base.constants.Constants.CELL_SIZE;
+
+/**
+ * Objects on a map by the cells their rectangles touch. A query looks only at the cells the query
+ * rectangle touches, intersectsAny and findFirst allocate nothing. Objects outside of the map plus a
+ * margin are kept in one list which every query checks. GameMap adds and removes objects as they are
+ * added to or removed from the map, objects are expected to keep their rectangles while they are on the
+ * map. Route searches query from other threads, so every method locks the hash.
+ */
+public class SpatialHash {
+
+    private static final int MARGIN = 2;
+
+    private final int minX;
+    private final int minY;
+    private final int width;
+    private final int height;
+    private final List<GameObject>[] cells;
+    private final List<GameObject> outside = new ArrayList<>();
+    private int size;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    SpatialHash(int mapWidth, int mapHeight) {
+        minX = -MARGIN;
+        minY = -MARGIN;
+        width = Math.max(mapWidth, 0) + 2 * MARGIN;
+        height = Math.max(mapHeight, 0) + 2 * MARGIN;
+        cells = new List[width * height];
+    }
+
+    synchronized void add(GameObject object) {
+        Rectangle rectangle = object.getRectangle();
+        if (rectangle == null) {
+            return;
+        }
+        size++;
+        if (!isInside(rectangle)) {
+            outside.add(object);
+            return;
+        }
+        for (int cellY = getFromCell(rectangle.getY()); cellY <= getToCell(rectangle.getY(), rectangle.getHeight()); cellY++) {
+            for (int cellX = getFromCell(rectangle.getX()); cellX <= getToCell(rectangle.getX(), rectangle.getWidth()); cellX++) {
+                int index = getIndex(cellX, cellY);
+                if (cells[index] == null) {
+                    cells[index] = new ArrayList<>(2);
+                }
+                cells[index].add(object);
+            }
+        }
+    }
+
+    synchronized void remove(GameObject object) {
+        Rectangle rectangle = object.getRectangle();
+        if (rectangle == null) {
+            return;
+        }
+        boolean removed = false;
+        if (!isInside(rectangle)) {
+            removed = removeSame(outside, object);
+        } else {
+            for (int cellY = getFromCell(rectangle.getY()); cellY <= getToCell(rectangle.getY(), rectangle.getHeight()); cellY++) {
+                for (int cellX = getFromCell(rectangle.getX()); cellX <= getToCell(rectangle.getX(), rectangle.getWidth()); cellX++) {
+                    List<GameObject> cell = cells[getIndex(cellX, cellY)];
+                    removed |= cell != null && removeSame(cell, object);
+                }
+            }
+        }
+        if (removed) {
+            size--;
+        }
+    }
+
+    /**
+     * Any object on the layer intersecting the rectangle, the way Rectangle.intersects checks it
+     */
+    public synchronized boolean intersectsAny(int x, int y, int rectangleWidth, int rectangleHeight, int layer) {
+        for (int i = 0; i < outside.size(); i++) {
+            GameObject object = outside.get(i);
+            if (object.getLayer() == layer && intersects(x, y, rectangleWidth, rectangleHeight, object.getRectangle())) {
+                return true;
+            }
+        }
+        int fromX = Math.max(getFromCell(x), minX);
+        int toX = Math.min(getToCell(x, rectangleWidth), minX + width - 1);
+        int fromY = Math.max(getFromCell(y), minY);
+        int toY = Math.min(getToCell(y, rectangleHeight), minY + height - 1);
+        for (int cellY = fromY; cellY <= toY; cellY++) {
+            for (int cellX = fromX; cellX <= toX; cellX++) {
+                List<GameObject> cell = cells[getIndex(cellX, cellY)];
+                if (cell == null) {
+                    continue;
+                }
+                for (int i = 0; i < cell.size(); i++) {
+                    GameObject object = cell.get(i);
+                    if (object.getLayer() == layer && intersects(x, y, rectangleWidth, rectangleHeight, object.getRectangle())) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * First object of the type intersecting the rectangle and accepted by the filter, or null
+     */
+    public synchronized <T extends GameObject> T findFirst(Rectangle rectangle, Class<T> type, Predicate<? super T> filter) {
+        int x = rectangle.getX();
+        int y = rectangle.getY();
+        for (int i = 0; i < outside.size(); i++) {
+            GameObject object = outside.get(i);
+            if (type.isInstance(object) && intersects(x, y, rectangle.getWidth(), rectangle.getHeight(), object.getRectangle())
+                    && filter.test(type.cast(object))) {
+                return type.cast(object);
+            }
+        }
+        int fromX = Math.max(getFromCell(x), minX);
+        int toX = Math.min(getToCell(x, rectangle.getWidth()), minX + width - 1);
+        int fromY = Math.max(getFromCell(y), minY);
+        int toY = Math.min(getToCell(y, rectangle.getHeight()), minY + height - 1);
+        for (int cellY = fromY; cellY <= toY; cellY++) {
+            for (int cellX = fromX; cellX <= toX; cellX++) {
+                List<GameObject> cell = cells[getIndex(cellX, cellY)];
+                if (cell == null) {
+                    continue;
+                }
+                for (int i = 0; i < cell.size(); i++) {
+                    GameObject object = cell.get(i);
+                    if (type.isInstance(object) && intersects(x, y, rectangle.getWidth(), rectangle.getHeight(), object.getRectangle())
+                            && filter.test(type.cast(object))) {
+                        return type.cast(object);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Every object of the type intersecting the rectangle, each one once
+     */
+    public <T extends GameObject> List<T> findAll(Rectangle rectangle, Class<T> type) {
+        List<T> found = new ArrayList<>();
+        collect(rectangle, type, found);
+        return found;
+    }
+
+    /**
+     * Adds every object of the type intersecting the rectangle to the list, each one once, so callers
+     * can reuse one list
+     */
+    public synchronized <T extends GameObject> void collect(Rectangle rectangle, Class<T> type, List<? super T> found) {
+        int x = rectangle.getX();
+        int y = rectangle.getY();
+        for (int i = 0; i < outside.size(); i++) {
+            GameObject object = outside.get(i);
+            if (type.isInstance(object) && intersects(x, y, rectangle.getWidth(), rectangle.getHeight(), object.getRectangle())) {
+                found.add(type.cast(object));
+            }
+        }
+        int fromX = Math.max(getFromCell(x), minX);
+        int toX = Math.min(getToCell(x, rectangle.getWidth()), minX + width - 1);
+        int fromY = Math.max(getFromCell(y), minY);
+        int toY = Math.min(getToCell(y, rectangle.getHeight()), minY + height - 1);
+        for (int cellY = fromY; cellY <= toY; cellY++) {
+            for (int cellX = fromX; cellX <= toX; cellX++) {
+                List<GameObject> cell = cells[getIndex(cellX, cellY)];
+                if (cell == null) {
+                    continue;
+                }
+                for (int i = 0; i < cell.size(); i++) {
+                    GameObject object = cell.get(i);
+                    Rectangle objectRectangle = object.getRectangle();
+                    // an object in several cells is taken from the first of them the query touches
+                    boolean firstCell = cellX == Math.max(fromX, getFromCell(objectRectangle.getX()))
+                            && cellY == Math.max(fromY, getFromCell(objectRectangle.getY()));
+                    if (firstCell && type.isInstance(object) && intersects(x, y, rectangle.getWidth(), rectangle.getHeight(), objectRectangle)) {
+                        found.add(type.cast(object));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Every object of the type touching the cell
+     */
+    public synchronized <T extends GameObject> List<T> getInCell(int cellX, int cellY, Class<T> type) {
+        List<T> found = new ArrayList<>();
+        for (GameObject object : outside) {
+            if (type.isInstance(object) && isInCell(object.getRectangle(), cellX, cellY)) {
+                found.add(type.cast(object));
+            }
+        }
+        if (cellX < minX || cellX >= minX + width || cellY < minY || cellY >= minY + height) {
+            return found;
+        }
+        List<GameObject> cell = cells[getIndex(cellX, cellY)];
+        if (cell != null) {
+            for (GameObject object : cell) {
+                if (type.isInstance(object)) {
+                    found.add(type.cast(object));
+                }
+            }
+        }
+        return found;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private boolean isInside(Rectangle rectangle) {
+        return getFromCell(rectangle.getX()) >= minX && getToCell(rectangle.getX(), rectangle.getWidth()) < minX + width
+                && getFromCell(rectangle.getY()) >= minY && getToCell(rectangle.getY(), rectangle.getHeight()) < minY + height;
+    }
+
+    private static boolean isInCell(Rectangle rectangle, int cellX, int cellY) {
+        return getFromCell(rectangle.getX()) <= cellX && cellX <= getToCell(rectangle.getX(), rectangle.getWidth())
+                && getFromCell(rectangle.getY()) <= cellY && cellY <= getToCell(rectangle.getY(), rectangle.getHeight());
+    }
+
+    private static boolean intersects(int x, int y, int width, int height, Rectangle rectangle) {
+        return !(x > rectangle.getX() + rectangle.getWidth() || rectangle.getX() > x + width)
+                && !(y > rectangle.getY() + rectangle.getHeight() || rectangle.getY() > y + height);
+    }
+
+    private static boolean removeSame(List<GameObject> objects, GameObject object) {
+        for (int i = 0; i < objects.size(); i++) {
+            if (objects.get(i) == object) {
+                objects.remove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static int getFromCell(int position) {
+        return Math.floorDiv(position, CELL_SIZE);
+    }
+
+    /**
+     * Rectangles touching at an edge intersect, so the cell of the far edge counts too
+     */
+    private static int getToCell(int position, int size) {
+        return Math.floorDiv(position + size, CELL_SIZE);
+    }
+
+    private int getIndex(int cellX, int cellY) {
+        return (cellY - minY) * width + (cellX - minX);
+    }
+}
@@ -1,13 +1,14 @@
 package base.map;
 
 import base.graphicsservice.ImageLoader;
+import base.graphicsservice.Sprite;
+import base.graphicsservice.SpriteRegistry;
 import base.graphicsservice.SpriteSheet;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.awt.image.BufferedImage;
 import java.io.*;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
@@ -21,12 +22,25 @@ public class TileService {
 
     private List<Tile> tileList;
     private List<Tile> terrainTiles;
+    private int[] tileFrames;
+    private int[] terrainTileFrames;
 
     private static final Logger logger = LoggerFactory.getLogger(TileService.class);
 
     public TileService() {
         loadRegularTiles();
         loadTerrainTiles();
+        tileFrames = getFrames(tileList);
+        terrainTileFrames = getFrames(terrainTiles);
+    }
+
+    private static int[] getFrames(List<Tile> tiles) {
+        int[] frames = new int[tiles.size()];
+        for (int i = 0; i < frames.length; i++) {
+            Sprite sprite = tiles.get(i).getSprite();
+            frames[i] = sprite == null ? SpriteRegistry.NO_ID : sprite.getFrameId();
+        }
+        return frames;
     }
 
     private void loadRegularTiles() {
@@ -55,13 +69,7 @@ public class TileService {
     private SpriteSheet loadSpriteSheets(String path) {
         logger.info("Sprite sheet loading started");
 
-        BufferedImage bufferedImage = ImageLoader.loadImage(path);
-        if (bufferedImage == null) {
-            logger.error(String.format("Buffered image is null, sprite path: %s", path));
-            throw new IllegalArgumentException();
-        }
-        SpriteSheet spriteSheet = new SpriteSheet(bufferedImage);
-        spriteSheet.loadSprites(TILE_SIZE, TILE_SIZE, 0);
+        SpriteSheet spriteSheet = ImageLoader.getSpriteSheet(path, TILE_SIZE, TILE_SIZE);
 
         logger.info("Sprite sheet loading done");
         return spriteSheet;
@@ -101,6 +109,14 @@ public class TileService {
         return terrainTiles;
     }
 
+    /**
+     * Frame of the tile sprite in SpriteAtlas, or SpriteRegistry.NO_ID
+     */
+    public int getTileFrame(int id, boolean regularTile) {
+        int[] frames = regularTile ? tileFrames : terrainTileFrames;
+        return id >= 0 && id < frames.length ? frames[id] : SpriteRegistry.NO_ID;
+    }
+
     public int getLayerById(int id, boolean regularTile) {
         if (id == -1) {
             return -1;
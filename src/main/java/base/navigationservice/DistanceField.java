@@ -0,0 +1,265 @@
+package base.navigationservice;
+
+import base.graphicsservice.Rectangle;
+import base.map.GameMap;
+import base.map.NavigationGrid;
+import base.map.RouteTargets;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import static base.constants.Constants.CELL_SIZE;
+import static base.constants.Constants.TILE_SIZE;
+import static base.navigationservice.Direction.*;
+import static base.navigationservice.MapEdgesUtil.*;
+
+/**
+ * Steps from every aligned position of a map to the nearest destination of one kind, built with one breadth
+ * first search backwards from all destinations at once. Any number of walkers share it: a walker first steps
+ * onto the aligned grid and then always moves to a neighbour one step closer.
+ * The field belongs to one map version, see RouteCalculator.getDestinationVersion.
+ */
+class DistanceField {
+
+    private static final int MARGIN = 2 * CELL_SIZE;
+    private static final Direction[] STEPS = {DOWN, LEFT, UP, RIGHT};
+    private static final int UNREACHABLE = -1;
+
+    private final RouteCalculator routeCalculator;
+    private final GameMap gameMap;
+    private final RouteTargets targets;
+    private final NavigationGrid grid;
+    private final String destination;
+    private final long version;
+    private final int walkerWidth;
+    private final int walkerHeight;
+
+    private final int minX;
+    private final int minY;
+    private final int columns;
+    private final int rows;
+    private final int[] distance;
+    private final BitSet walkable;
+    private int destinations;
+    private int expandedNodes;
+
+    DistanceField(RouteCalculator routeCalculator, GameMap gameMap, RouteTargets targets, String destination, long version, int walkerWidth, int walkerHeight) {
+        this.routeCalculator = routeCalculator;
+        this.gameMap = gameMap;
+        this.targets = targets;
+        this.grid = gameMap.getNavigationGrid();
+        this.destination = destination;
+        this.version = version;
+        this.walkerWidth = walkerWidth;
+        this.walkerHeight = walkerHeight;
+
+        minX = getWestEdgeStrict() - MARGIN;
+        minY = getNorthEdgeStrict() - MARGIN;
+        columns = (getEastEdgeStrict(gameMap.getMapWidth()) + MARGIN - minX) / TILE_SIZE + 1;
+        rows = (getSouthEdgeStrict(gameMap.getMapHeight()) + MARGIN - minY) / TILE_SIZE + 1;
+        distance = new int[columns * rows];
+        Arrays.fill(distance, UNREACHABLE);
+        walkable = new BitSet(columns * rows);
+        build();
+    }
+
+    /**
+     * Only walkable positions are expanded, so following decreasing distances never enters a blocked position
+     */
+    private void build() {
+        int[] queue = new int[columns * rows];
+        int head = 0;
+        int tail = 0;
+        Rectangle probe = new Rectangle(0, 0, walkerWidth, walkerHeight);
+        for (int node = 0; node < distance.length; node++) {
+            int x = getX(node);
+            int y = getY(node);
+            if (routeCalculator.isWalkable(gameMap, targets, grid, x, y, walkerWidth, walkerHeight, destination)) {
+                walkable.set(node);
+                probe.setX(x);
+                probe.setY(y);
+                if (routeCalculator.isDestination(gameMap, targets, destination, probe)) {
+                    distance[node] = 0;
+                    queue[tail++] = node;
+                    destinations++;
+                }
+            }
+        }
+        while (head < tail) {
+            int node = queue[head++];
+            expandedNodes++;
+            int x = getX(node);
+            int y = getY(node);
+            for (Direction direction : STEPS) {
+                // a walker at the previous position steps in this direction to get here
+                int previousX = x - getDeltaX(direction);
+                int previousY = y - getDeltaY(direction);
+                int previous = getNode(previousX, previousY);
+                if (previous < 0 || distance[previous] != UNREACHABLE || !canStep(direction, previousX, previousY)) {
+                    continue;
+                }
+                distance[previous] = distance[node] + 1;
+                if (walkable.get(previous)) {
+                    queue[tail++] = previous;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns null when the walker can't get onto the aligned grid or no destination is reachable from there,
+     * the caller then has to search
+     */
+    Route findRoute(Rectangle start) {
+        int x = start.getX();
+        int y = start.getY();
+        boolean alignedX = Math.floorMod(x, TILE_SIZE) == 0;
+        boolean alignedY = Math.floorMod(y, TILE_SIZE) == 0;
+
+        Direction[] bestPrefix = null;
+        int bestCost = Integer.MAX_VALUE;
+        if (alignedX && alignedY) {
+            int node = getNode(x, y);
+            // the start itself doesn't count, the walker has to make at least one step
+            if (node >= 0 && distance[node] > 0) {
+                bestPrefix = new Direction[0];
+                bestCost = distance[node];
+            }
+        } else {
+            Direction[] horizontal = alignedX ? new Direction[]{null} : new Direction[]{LEFT, RIGHT};
+            Direction[] vertical = alignedY ? new Direction[]{null} : new Direction[]{UP, DOWN};
+            for (Direction first : horizontal) {
+                for (Direction second : vertical) {
+                    for (Direction[] prefix : getOrders(first, second)) {
+                        int cost = getCostWithPrefix(x, y, prefix);
+                        if (cost < bestCost) {
+                            bestCost = cost;
+                            bestPrefix = prefix;
+                        }
+                    }
+                }
+            }
+        }
+        if (bestPrefix == null) {
+            return null;
+        }
+        return followGradient(x, y, bestPrefix);
+    }
+
+    private Direction[][] getOrders(Direction horizontal, Direction vertical) {
+        if (horizontal == null) {
+            return new Direction[][]{{vertical}};
+        }
+        if (vertical == null) {
+            return new Direction[][]{{horizontal}};
+        }
+        return new Direction[][]{{horizontal, vertical}, {vertical, horizontal}};
+    }
+
+    /**
+     * Steps of the prefix plus the distance from where it ends, or MAX_VALUE when the prefix can't be walked
+     */
+    private int getCostWithPrefix(int x, int y, Direction[] prefix) {
+        Rectangle probe = new Rectangle(x, y, walkerWidth, walkerHeight);
+        for (int i = 0; i < prefix.length; i++) {
+            Direction direction = prefix[i];
+            if (!canStep(direction, probe.getX(), probe.getY())) {
+                return Integer.MAX_VALUE;
+            }
+            NavigationService.adjustPosition(probe, direction);
+            if (!routeCalculator.isWalkable(gameMap, targets, grid, probe.getX(), probe.getY(), walkerWidth, walkerHeight, destination)) {
+                return Integer.MAX_VALUE;
+            }
+            if (routeCalculator.isDestination(gameMap, targets, destination, probe)) {
+                return i + 1;
+            }
+        }
+        int node = getNode(probe.getX(), probe.getY());
+        if (node < 0 || distance[node] == UNREACHABLE) {
+            return Integer.MAX_VALUE;
+        }
+        return prefix.length + distance[node];
+    }
+
+    private Route followGradient(int x, int y, Direction[] prefix) {
+        Route route = new Route();
+        Rectangle position = new Rectangle(x, y, walkerWidth, walkerHeight);
+        for (Direction direction : prefix) {
+            route.addStep(direction);
+            NavigationService.adjustPosition(position, direction);
+            if (routeCalculator.isDestination(gameMap, targets, destination, position)) {
+                return route;
+            }
+        }
+        int node = getNode(position.getX(), position.getY());
+        while (distance[node] > 0) {
+            int next = -1;
+            for (Direction direction : STEPS) {
+                int nextX = getX(node) + getDeltaX(direction);
+                int nextY = getY(node) + getDeltaY(direction);
+                int candidate = getNode(nextX, nextY);
+                if (candidate >= 0 && distance[candidate] == distance[node] - 1 && walkable.get(candidate)
+                        && canStep(direction, getX(node), getY(node))) {
+                    route.addStep(direction);
+                    next = candidate;
+                    break;
+                }
+            }
+            if (next < 0) {
+                return null;
+            }
+            node = next;
+        }
+        return route;
+    }
+
+    /**
+     * Same bounds as RouteSearch, walkers may leave the map by one tile only towards portals
+     */
+    private boolean canStep(Direction direction, int x, int y) {
+        return RouteCalculator.canStep(gameMap, direction, x, y, walkerWidth, walkerHeight);
+    }
+
+    private static int getDeltaX(Direction direction) {
+        return direction == LEFT ? -TILE_SIZE : direction == RIGHT ? TILE_SIZE : 0;
+    }
+
+    private static int getDeltaY(Direction direction) {
+        return direction == UP ? -TILE_SIZE : direction == DOWN ? TILE_SIZE : 0;
+    }
+
+    private int getNode(int x, int y) {
+        if (Math.floorMod(x, TILE_SIZE) != 0 || Math.floorMod(y, TILE_SIZE) != 0) {
+            return -1;
+        }
+        int column = (x - minX) / TILE_SIZE;
+        int row = (y - minY) / TILE_SIZE;
+        if (x < minX || y < minY || column >= columns || row >= rows) {
+            return -1;
+        }
+        return row * columns + column;
+    }
+
+    private int getX(int node) {
+        return minX + (node % columns) * TILE_SIZE;
+    }
+
+    private int getY(int node) {
+        return minY + (node / columns) * TILE_SIZE;
+    }
+
+    /**
+     * Without any destination on the map there is nothing to search for
+     */
+    boolean hasDestinations() {
+        return destinations > 0;
+    }
+
+    boolean isFor(GameMap gameMap, long version, int walkerWidth, int walkerHeight) {
+        return this.gameMap == gameMap && this.version == version && this.walkerWidth == walkerWidth && this.walkerHeight == walkerHeight;
+    }
+
+    int getExpandedNodes() {
+        return expandedNodes;
+    }
+}
@@ -1,54 +1,60 @@
 package base.navigationservice;
 
-import java.util.Arrays;
-import java.util.List;
+import base.graphicsservice.Rectangle;
 
 import static base.constants.Constants.*;
-import static base.constants.MapConstants.*;
 
 public class NavigationService {
 
-    public static String getNextPortalToGetToCenter(String mapName) {
-        if (TOP_LEFT_MAP.equalsIgnoreCase(mapName)) {
-            return HOME_MAP;
-        }
-        return MAIN_MAP;
-    }
-
-    public static List<String> getNearestMaps(String currentMap) {
-        if (TOP_LEFT_MAP.equalsIgnoreCase(currentMap)) {
-            return Arrays.asList(HOME_MAP, MAIN_MAP);
-        }
-        else if (MAIN_MAP.equalsIgnoreCase(currentMap)) {
-            return Arrays.asList(HOME_MAP, TOP_LEFT_MAP);
-        }
-        return Arrays.asList(MAIN_MAP, TOP_LEFT_MAP);
-    }
-
+    /**
+     * Pixels to the next multiple of TILE_SIZE in the given direction, a whole tile when already aligned.
+     * Positions left of or above the map are negative, floorMod keeps them on the same grid.
+     */
     public static int getPixelsToAdjustPosition(Direction direction, int x, int y) {
         switch (direction) {
             case DOWN:
-                if (y % TILE_SIZE == 0) {
+                if (Math.floorMod(y, TILE_SIZE) == 0) {
                     return 32;
                 }
-                return TILE_SIZE - (y % TILE_SIZE);
+                return TILE_SIZE - Math.floorMod(y, TILE_SIZE);
             case UP:
-                if (y % TILE_SIZE == 0) {
+                if (Math.floorMod(y, TILE_SIZE) == 0) {
                     return 32;
                 }
-                return y % TILE_SIZE;
+                return Math.floorMod(y, TILE_SIZE);
             case RIGHT:
-                if (x % TILE_SIZE == 0) {
+                if (Math.floorMod(x, TILE_SIZE) == 0) {
                     return 32;
                 }
-                return TILE_SIZE - (x % TILE_SIZE);
+                return TILE_SIZE - Math.floorMod(x, TILE_SIZE);
             case LEFT:
-                if (x % TILE_SIZE == 0) {
+                if (Math.floorMod(x, TILE_SIZE) == 0) {
                     return 32;
                 }
-                return x % TILE_SIZE;
+                return Math.floorMod(x, TILE_SIZE);
             default:
                 return TILE_SIZE;
         }
     }
+
+    /**
+     * Makes one route step, to the next tile line in the given direction
+     */
+    public static void adjustPosition(Rectangle rectangle, Direction direction) {
+        int pixels = getPixelsToAdjustPosition(direction, rectangle.getX(), rectangle.getY());
+        switch (direction) {
+            case UP:
+                rectangle.setY(rectangle.getY() - pixels);
+                break;
+            case DOWN:
+                rectangle.setY(rectangle.getY() + pixels);
+                break;
+            case LEFT:
+                rectangle.setX(rectangle.getX() - pixels);
+                break;
+            case RIGHT:
+                rectangle.setX(rectangle.getX() + pixels);
+                break;
+        }
+    }
 }
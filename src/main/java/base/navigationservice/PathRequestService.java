@@ -0,0 +1,165 @@
+package base.navigationservice;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs route searches on background threads so a tick in which many animals look for a route doesn't
+ * stall the game. Searches only read copies: where the walker starts is a RouteStart, tile walkability comes
+ * from the immutable NavigationGrid and what the search looks for from the RouteTargets the map had when
+ * the search started. Results wait until the game thread applies them, at most resultsPerTick in one tick,
+ * so the work done with them is spread over ticks too.
+ */
+public class PathRequestService {
+
+    protected static final Logger logger = LoggerFactory.getLogger(PathRequestService.class);
+
+    private final ExecutorService executor;
+    private final int resultsPerTick;
+
+    private final Map<Object, PathRequest> pendingRequests = new ConcurrentHashMap<>();
+    private final Queue<PathRequest> finishedRequests = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final LongAdder appliedResults = new LongAdder();
+    private final LongAdder totalLatency = new LongAdder();
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    public PathRequestService(int threads, int resultsPerTick) {
+        this.resultsPerTick = resultsPerTick;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "path-search-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Searches for a route in the background, onResult gets it on the game thread. Until then the requester
+     * keeps doing what it did. Returns false when the requester is still waiting for an earlier route.
+     */
+    public boolean submit(Object requester, Supplier<Route> search, Consumer<Route> onResult) {
+        PathRequest request = new PathRequest(requester, search, onResult);
+        if (pendingRequests.putIfAbsent(requester, request) != null) {
+            return false;
+        }
+        queueDepth.incrementAndGet();
+        executor.execute(() -> runSearch(request));
+        return true;
+    }
+
+    public boolean isPending(Object requester) {
+        return pendingRequests.containsKey(requester);
+    }
+
+    /**
+     * Drops the result of the requester's search, if there is one running
+     */
+    public void cancel(Object requester) {
+        pendingRequests.remove(requester);
+    }
+
+    private void runSearch(PathRequest request) {
+        try {
+            if (pendingRequests.get(request.requester) == request) {
+                request.route = request.search.get();
+            }
+        } catch (RuntimeException e) {
+            logger.error(String.format("Route search for %s failed", request.requester), e);
+            request.route = new Route();
+        } finally {
+            queueDepth.decrementAndGet();
+            finishedRequests.add(request);
+        }
+    }
+
+    /**
+     * Has to be called on the game thread once per tick
+     */
+    public void applyResults() {
+        for (int i = 0; i < resultsPerTick; i++) {
+            PathRequest request = finishedRequests.poll();
+            if (request == null) {
+                return;
+            }
+            if (!pendingRequests.remove(request.requester, request)) {
+                // cancelled while searching
+                continue;
+            }
+            long latency = System.nanoTime() - request.submittedAt;
+            appliedResults.increment();
+            totalLatency.add(latency);
+            maxLatency.accumulateAndGet(latency, Math::max);
+            request.onResult.accept(request.route == null ? new Route() : request.route);
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /** =================================== METRICS ====================================== */
+
+    /**
+     * Searches submitted or running
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * Searches done but not applied yet because of the budget
+     */
+    public int getWaitingResults() {
+        return finishedRequests.size();
+    }
+
+    public long getAppliedResults() {
+        return appliedResults.sum();
+    }
+
+    /**
+     * Time from submitting a request until its route is applied
+     */
+    public double getAverageLatencyMillis() {
+        long applied = appliedResults.sum();
+        return applied == 0 ? 0 : totalLatency.sum() / 1e6 / applied;
+    }
+
+    public double getMaxLatencyMillis() {
+        return maxLatency.get() / 1e6;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("queue depth: %d, waiting results: %d, applied: %d, latency avg: %.2f ms, max: %.2f ms",
+                getQueueDepth(), getWaitingResults(), getAppliedResults(), getAverageLatencyMillis(), getMaxLatencyMillis());
+    }
+
+    private static class PathRequest {
+        private final Object requester;
+        private final Supplier<Route> search;
+        private final Consumer<Route> onResult;
+        private final long submittedAt = System.nanoTime();
+        private volatile Route route;
+
+        private PathRequest(Object requester, Supplier<Route> search, Consumer<Route> onResult) {
+            this.requester = requester;
+            this.search = search;
+            this.onResult = onResult;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package base.navigationservice;
+
+import base.gameobjects.Portal;
+import base.graphicsservice.Rectangle;
+import base.map.GameMap;
+import base.map.MapService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static base.constants.MapConstants.isRestrictedMap;
+
+/**
+ * Maps connected by their portals. A walker arriving on a map always appears at the portal back to the
+ * previous map, so the steps from there to every other portal of the map are searched once and kept until
+ * the tiles of the map change. A trip over several maps is then one search over portals, only the steps
+ * on the map where the walker is now have to be searched every time.
+ */
+public class PortalGraph {
+
+    protected static final Logger logger = LoggerFactory.getLogger(PortalGraph.class);
+
+    private static final int UNREACHABLE = -1;
+    private static final int PORTAL_STEPS = 1;
+
+    private final RouteCalculator routeCalculator;
+    private final Map<String, GameMap> gameMaps;
+    private final Map<String, Leg> legs = new ConcurrentHashMap<>();
+
+    public PortalGraph(RouteCalculator routeCalculator, Map<String, GameMap> gameMaps) {
+        this.routeCalculator = routeCalculator;
+        this.gameMaps = gameMaps;
+    }
+
+    /**
+     * The map to walk to first on the shortest way to the target map, or null when the walker is on
+     * the target map already or there is no way. Restricted maps are never entered.
+     */
+    public String getNextMap(String currentMap, Rectangle walker, String targetMap, Collection<String> restrictedMaps) {
+        for (Hop hop : search(currentMap, walker, restrictedMaps)) {
+            if (hop.mapName.equals(targetMap)) {
+                return hop.firstMap;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Other maps the walker can get to, the closest first
+     */
+    public List<String> getMapsByDistance(String currentMap, Rectangle walker, Collection<String> restrictedMaps) {
+        List<String> maps = new ArrayList<>();
+        for (Hop hop : search(currentMap, walker, restrictedMaps)) {
+            maps.add(hop.mapName);
+        }
+        return maps;
+    }
+
+    /**
+     * Dijkstra over the portals, returns the first arrival on every reachable map in the order of steps
+     */
+    private List<Hop> search(String currentMap, Rectangle walker, Collection<String> restrictedMaps) {
+        List<Hop> arrivals = new ArrayList<>();
+        GameMap gameMap = currentMap == null ? null : gameMaps.get(currentMap);
+        if (gameMap == null) {
+            return arrivals;
+        }
+        Set<String> visitedMaps = new HashSet<>();
+        visitedMaps.add(currentMap);
+        PriorityQueue<Hop> queue = new PriorityQueue<>(Comparator.comparingInt(hop -> hop.steps));
+        for (Portal portal : gameMap.getRouteTargets().getPortals()) {
+            if (canEnter(portal.getDirection(), restrictedMaps)) {
+                Route route = routeCalculator.calculateRoute(gameMap, walker, portal.getDirection());
+                if (!route.isEmpty()) {
+                    String nextMap = portal.getDirection();
+                    queue.add(new Hop(nextMap, currentMap, nextMap, route.size() + PORTAL_STEPS));
+                }
+            }
+        }
+        while (!queue.isEmpty()) {
+            Hop hop = queue.poll();
+            if (!visitedMaps.add(hop.mapName)) {
+                continue;
+            }
+            arrivals.add(hop);
+            GameMap map = gameMaps.get(hop.mapName);
+            for (Portal portal : map.getRouteTargets().getPortals()) {
+                String nextMap = portal.getDirection();
+                if (visitedMaps.contains(nextMap) || !canEnter(nextMap, restrictedMaps)) {
+                    continue;
+                }
+                int steps = getSteps(map, hop.previousMap, nextMap, walker);
+                if (steps != UNREACHABLE) {
+                    queue.add(new Hop(nextMap, hop.mapName, hop.firstMap, hop.steps + steps + PORTAL_STEPS));
+                }
+            }
+        }
+        return arrivals;
+    }
+
+    private boolean canEnter(String mapName, Collection<String> restrictedMaps) {
+        return mapName != null && gameMaps.containsKey(mapName) && !isRestrictedMap(mapName, restrictedMaps);
+    }
+
+    /**
+     * Steps from where a walker coming from the previous map appears to the portal to the next map
+     */
+    private int getSteps(GameMap gameMap, String previousMap, String nextMap, Rectangle walker) {
+        String key = String.format("%s:%s>%s:%dx%d", gameMap.getMapName(), previousMap, nextMap, walker.getWidth(), walker.getHeight());
+        Leg leg = legs.get(key);
+        if (leg == null || leg.gameMap != gameMap || leg.tilesVersion != gameMap.getTilesVersion()) {
+            leg = new Leg(gameMap, gameMap.getTilesVersion(), searchSteps(gameMap, previousMap, nextMap, walker));
+            legs.put(key, leg);
+            logger.debug(String.format("Steps from %s to %s on %s: %d", previousMap, nextMap, gameMap.getMapName(), leg.steps));
+        }
+        return leg.steps;
+    }
+
+    private int searchSteps(GameMap gameMap, String previousMap, String nextMap, Rectangle walker) {
+        Portal arrivalPortal = gameMap.getRouteTargets().getPortal(previousMap);
+        if (arrivalPortal == null) {
+            return UNREACHABLE;
+        }
+        Rectangle arrival = new Rectangle(
+                MapService.getSpawnPoint(arrivalPortal, true, null, gameMap),
+                MapService.getSpawnPoint(arrivalPortal, false, null, gameMap),
+                walker.getWidth(), walker.getHeight());
+        Route route = routeCalculator.calculateRoute(gameMap, arrival, nextMap);
+        return route.isEmpty() ? UNREACHABLE : route.size();
+    }
+
+    private static class Hop {
+        private final String mapName;
+        private final String previousMap;
+        private final String firstMap;
+        private final int steps;
+
+        private Hop(String mapName, String previousMap, String firstMap, int steps) {
+            this.mapName = mapName;
+            this.previousMap = previousMap;
+            this.firstMap = firstMap;
+            this.steps = steps;
+        }
+    }
+
+    private static class Leg {
+        private final GameMap gameMap;
+        private final int tilesVersion;
+        private final int steps;
+
+        private Leg(GameMap gameMap, int tilesVersion, int steps) {
+            this.gameMap = gameMap;
+            this.tilesVersion = tilesVersion;
+            this.steps = steps;
+        }
+    }
+}
@@ -1,31 +1,142 @@
 package base.navigationservice;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.NoSuchElementException;
 
+/**
+ * Steps of a route as runs of one direction, one int per run: the direction in the lowest bits and the number
+ * of steps above them. A cursor marks the next step, so following a route allocates nothing. A copy shares the
+ * runs with the route it was made from until one of them gets another step.
+ */
 public class Route {
 
-    private final List<Direction> route = new LinkedList<>();
+    private static final Direction[] DIRECTIONS = Direction.values();
+    // enough bits for every direction, routes also carry eating and sleeping ones
+    private static final int DIRECTION_BITS = 32 - Integer.numberOfLeadingZeros(DIRECTIONS.length - 1);
+    private static final int DIRECTION_MASK = (1 << DIRECTION_BITS) - 1;
+
+    private int[] runs;
+    private int runCount;
+    private boolean shared;
+
+    private int cursorRun;
+    private int cursorStep;
+    private int size;
+
+    public Route() {
+        runs = new int[4];
+    }
+
+    private Route(Route route) {
+        runs = route.runs;
+        runCount = route.runCount;
+        cursorRun = route.cursorRun;
+        cursorStep = route.cursorStep;
+        size = route.size;
+        shared = true;
+        route.shared = true;
+    }
 
     public void addStep(Direction direction) {
-        route.add(direction);
+        addSteps(direction, 1);
+    }
+
+    public void addSteps(Direction direction, int steps) {
+        if (steps <= 0) {
+            return;
+        }
+        if (shared) {
+            runs = Arrays.copyOf(runs, Math.max(runs.length, runCount + 1));
+            shared = false;
+        }
+        if (cursorRun < runCount && getDirection(runCount - 1) == direction) {
+            runs[runCount - 1] += steps << DIRECTION_BITS;
+        } else {
+            if (runCount == runs.length) {
+                runs = Arrays.copyOf(runs, runCount * 2);
+            }
+            runs[runCount++] = (steps << DIRECTION_BITS) | direction.ordinal();
+        }
+        size += steps;
     }
 
     public Direction getNextStep() {
-        Direction nextStep = route.get(0);
-        route.remove(0);
+        if (size == 0) {
+            throw new NoSuchElementException("Route has no more steps");
+        }
+        Direction nextStep = getDirection(cursorRun);
+        cursorStep++;
+        if (cursorStep == getLength(cursorRun)) {
+            cursorRun++;
+            cursorStep = 0;
+        }
+        size--;
         return nextStep;
     }
 
     public boolean isEmpty() {
-        return route.isEmpty();
+        return size == 0;
+    }
+
+    /**
+     * Steps still to make
+     */
+    public int size() {
+        return size;
     }
 
+    /**
+     * Steps still to make, as a new list
+     */
     public List<Direction> getAllSteps() {
-        return route;
+        List<Direction> steps = new ArrayList<>(size);
+        for (int run = cursorRun; run < runCount; run++) {
+            int length = run == cursorRun ? getLength(run) - cursorStep : getLength(run);
+            for (int i = 0; i < length; i++) {
+                steps.add(getDirection(run));
+            }
+        }
+        return steps;
     }
 
     public Direction getLastStep() {
-        return route.get(route.size() - 1);
+        if (size == 0) {
+            throw new NoSuchElementException("Route has no more steps");
+        }
+        return getDirection(runCount - 1);
+    }
+
+    /**
+     * Same steps from the same cursor, without copying the runs
+     */
+    public Route copy() {
+        return new Route(this);
+    }
+
+    /** =================================== RUNS ====================================== */
+
+    /**
+     * Runs left to follow, the first one may be partly followed already
+     */
+    int getRunCount() {
+        return runCount - cursorRun;
+    }
+
+    Direction getRunDirection(int run) {
+        return getDirection(cursorRun + run);
+    }
+
+    int getRunLength(int run) {
+        return run == 0 ? getLength(cursorRun) - cursorStep : getLength(cursorRun + run);
+    }
+
+    private Direction getDirection(int run) {
+        return DIRECTIONS[runs[run] & DIRECTION_MASK];
+    }
+
+    private int getLength(int run) {
+        return runs[run] >>> DIRECTION_BITS;
     }
 }
@@ -0,0 +1,121 @@
+package base.navigationservice;
+
+import base.map.GameMap;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import static base.constants.Constants.TILE_SIZE;
+
+/**
+ * Least recently used routes by map, map version, start cell and destination. Positions between the same
+ * tile lines make the same steps, so the start is kept per half tile: on a tile line or between two of them.
+ * Every caller gets its own copy of a cached route, sharing the runs with it.
+ */
+class RouteCache {
+
+    private final int capacity;
+    private final Map<Key, Route> routes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    RouteCache(int capacity) {
+        this.capacity = capacity;
+        this.routes = new LinkedHashMap<Key, Route>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Route> eldest) {
+                return size() > RouteCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Counts as a hit only when the cached steps are still valid for the exact start
+     */
+    Route get(Key key, Predicate<Route> isValid) {
+        Route route;
+        synchronized (routes) {
+            route = routes.get(key);
+        }
+        if (route == null || !isValid.test(route.copy())) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return route.copy();
+    }
+
+    void put(Key key, Route route) {
+        if (capacity <= 0 || route.isEmpty()) {
+            return;
+        }
+        Route cachedRoute = route.copy();
+        synchronized (routes) {
+            routes.put(key, cachedRoute);
+        }
+    }
+
+    int size() {
+        synchronized (routes) {
+            return routes.size();
+        }
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    double getHitRatio() {
+        long lookups = hits.sum() + misses.sum();
+        return lookups == 0 ? 0 : (double) hits.sum() / lookups;
+    }
+
+    static Key key(GameMap gameMap, long version, String destination, int x, int y, int width, int height) {
+        return new Key(gameMap, version, destination, getHalfTile(x), getHalfTile(y), width, height);
+    }
+
+    private static int getHalfTile(int position) {
+        return 2 * Math.floorDiv(position, TILE_SIZE) + (Math.floorMod(position, TILE_SIZE) == 0 ? 0 : 1);
+    }
+
+    static class Key {
+        private final GameMap gameMap;
+        private final long version;
+        private final String destination;
+        private final int halfTileX;
+        private final int halfTileY;
+        private final int width;
+        private final int height;
+
+        private Key(GameMap gameMap, long version, String destination, int halfTileX, int halfTileY, int width, int height) {
+            this.gameMap = gameMap;
+            this.version = version;
+            this.destination = destination;
+            this.halfTileX = halfTileX;
+            this.halfTileY = halfTileY;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return gameMap == key.gameMap && version == key.version && halfTileX == key.halfTileX && halfTileY == key.halfTileY
+                    && width == key.width && height == key.height && destination.equals(key.destination);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(gameMap), version, destination, halfTileX, halfTileY, width, height);
+        }
+    }
+}
@@ -2,16 +2,19 @@ package base.navigationservice;
 
 import base.gameobjects.*;
 import base.gameobjects.npc.Npc;
-import base.gameobjects.npc.NpcSpot;
 import base.graphicsservice.Rectangle;
 import base.map.GameMap;
-import base.map.MapTile;
+import base.map.NavigationGrid;
+import base.map.RouteTargets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
-import static base.navigationservice.Direction.*;
 import static base.navigationservice.MapEdgesUtil.*;
 
 public class RouteCalculator {
@@ -26,353 +29,273 @@ public class RouteCalculator {
     public static final String NPC = "npc";
     public static final String CITY = "city";
 
-    // TODO: refactor and reduce complexity
-    public Route calculateRoute(GameMap currentMap, Animal animal, String destination) {
-        Route newRoute = new Route();
-        logger.debug(String.format("%s is looking for a way to : %s", animal, destination));
-        Portal portal = null;
-        if (destination == null) {
-            return newRoute;
-        }
-        if (isAnotherMap(destination)) {
-            portal = getPortal(currentMap, destination);
-            if (portal == null) {
-                return newRoute;
-            }
-        }
-        List<Map<Rectangle, Route>> searchQueue = new LinkedList<>();
+    private static final int ROUTE_CACHE_SIZE = 1024;
+    private static final List<String> SHARED_DESTINATIONS = Arrays.asList(FOOD, WATER, LAKE_WATER, PILLOW, NPC_SPOT);
 
-        fillInitialRoutes(currentMap, searchQueue, animal.getRectangle(), destination);
+    private final LongAdder expandedNodes = new LongAdder();
+    private final RouteCache routeCache = new RouteCache(ROUTE_CACHE_SIZE);
+    private final Map<String, DistanceField> distanceFields = new ConcurrentHashMap<>();
 
-        List<Rectangle> searched = new ArrayList<>();
-        while (!searchQueue.isEmpty()) {
-            Map<Rectangle, Route> map = searchQueue.get(0);
-            Rectangle rectangleToCheck = null;
-            for (Rectangle rectangle : map.keySet()) {
-                rectangleToCheck = rectangle;
-            }
-            if (rectangleToCheck != null && !searched.contains(rectangleToCheck)) {
-                searchQueue.remove(0);
-                boolean found;
-                if (isAnotherMap(destination)) {
-                    found = isTherePortal(portal, rectangleToCheck);
-                } else if (FOOD.equals(destination)) {
-                    found = isThereFood(currentMap, rectangleToCheck);
-                } else if (WATER.equals(destination)) {
-                    found = isThereWater(currentMap, rectangleToCheck);
-                } else if (LAKE_WATER.equals(destination)) {
-                    found = isThereLakeWater(currentMap, rectangleToCheck);
-                } else if (PILLOW.equals(destination)) {
-                    found = isTherePillow(currentMap, rectangleToCheck);
-                } else if (NPC.equals(destination)) {
-                    found = isThereNpc(currentMap, rectangleToCheck);
-                } else {
-                    found = false;
-                }
-                if (found) {
-                    logger.info(String.format("%s found his way to %s!", animal, destination));
-                    return map.get(rectangleToCheck);
-                } else {
-                    searched.add(rectangleToCheck);
-                    fillSearchQueue(currentMap, searchQueue, rectangleToCheck, map.get(rectangleToCheck), searched, destination);
-                }
-
-            } else {
-                searchQueue.remove(0);
-            }
-        }
-        logger.info(String.format("%s DID NOT found a way to : %s", animal, destination));
-        return newRoute;
+    public Route calculateRoute(GameMap currentMap, Animal animal, String destination) {
+        return calculateRoute(currentMap, RouteStart.of(animal), destination);
     }
 
-    public Route calculateRoute(GameMap currentMap, Npc npc, String destination) {
-        Route newRoute = new Route();
-        logger.debug(String.format("%s is looking for a way to : %s", npc, destination));
-        Portal portal = null;
-        if (destination == null) {
-            return newRoute;
+    public Route calculateRoute(GameMap currentMap, RouteStart start, String destination) {
+        logger.debug(String.format("%s is looking for a way to : %s", start, destination));
+        RouteTargets targets = currentMap.getRouteTargets();
+        Rectangle npc = start.getNpcRectangle();
+        if (npc != null && currentMap.getMapName().equals(start.getNpcMapName())) {
+            targets = targets.withNpc(npc);
         }
-        if (isAnotherMap(destination)) {
-            portal = getPortal(currentMap, destination);
-            if (portal == null) {
-                return newRoute;
-            }
+        Route route = calculateRoute(currentMap, targets, start.getRectangle(), destination);
+        if (route.isEmpty()) {
+            logger.info(String.format("%s DID NOT found a way to : %s", start, destination));
+        } else {
+            logger.info(String.format("%s found his way to %s!", start, destination));
         }
-        List<Map<Rectangle, Route>> searchQueue = new LinkedList<>();
-
-        fillInitialRoutes(currentMap, searchQueue, npc.getRectangle(), destination);
+        return route;
+    }
 
-        List<Rectangle> searched = new ArrayList<>();
-        while (!searchQueue.isEmpty()) {
-            Map<Rectangle, Route> map = searchQueue.get(0);
-            Rectangle rectangleToCheck = null;
-            for (Rectangle rectangle : map.keySet()) {
-                rectangleToCheck = rectangle;
-            }
-            if (rectangleToCheck != null && !searched.contains(rectangleToCheck)) {
-                searchQueue.remove(0);
-                boolean found;
-                if (isAnotherMap(destination)) {
-                    found = isTherePortal(portal, rectangleToCheck);
-                } else if (FOOD.equals(destination)) {
-                    found = isThereFood(currentMap, rectangleToCheck);
-                } else if (WATER.equals(destination)) {
-                    found = isThereWater(currentMap, rectangleToCheck);
-                } else if (NPC_SPOT.equals(destination)) {
-                    found = isThereNpcSpot(currentMap, rectangleToCheck);
-                } else {
-                    found = false;
-                }
-                if (found) {
-                    logger.info(String.format("%s found his way to %s!", npc, destination));
-                    Route successfulRoute = map.get(rectangleToCheck);
-                    successfulRoute.addStep(successfulRoute.getLastStep());
-                    return successfulRoute;
-                } else {
-                    searched.add(rectangleToCheck);
-                    fillSearchQueue(currentMap, searchQueue, rectangleToCheck, map.get(rectangleToCheck), searched, destination);
-                }
-
-            } else {
-                searchQueue.remove(0);
-            }
+    public Route calculateRoute(GameMap currentMap, Npc npc, String destination) {
+        logger.debug(String.format("%s is looking for a way to : %s", npc, destination));
+        Route route = calculateRoute(currentMap, npc.getRectangle(), destination);
+        if (!route.isEmpty()) {
+            logger.info(String.format("%s found his way to %s!", npc, destination));
+            route.addStep(route.getLastStep());
         }
-        return newRoute;
+        return route;
     }
 
-    private void fillInitialRoutes(GameMap gameMap, List<Map<Rectangle, Route>> searchQueue, Rectangle rectangle, String destination) {
-        Rectangle initialRectangle = new Rectangle(rectangle.getX(), rectangle.getY(), rectangle.getWidth(), rectangle.getHeight());
-
-        Route potentialRoute = new Route();
-        if (tryDown(gameMap, initialRectangle, destination) != null) {
-            Map<Rectangle, Route> map = new HashMap<>();
-            map.put(tryDown(gameMap, initialRectangle, destination), potentialRoute);
-            potentialRoute.addStep(DOWN);
-            searchQueue.add(map);
-        }
+    /**
+     * Shortest route, in steps, for a walker of the rectangle's size. A* towards portals and the npc.
+     * Destinations which can be in many places, like food or water, are looked up in a distance field
+     * shared by all walkers, with a breadth first search when the field can't be used.
+     * Found routes are smoothed to turn less and cached per map version, except routes to the npc, which moves.
+     * The whole search looks at the route targets the map had when it started, see GameMap.getRouteTargets.
+     * Routes to the npc are found only from a RouteStart with a copy of the npc.
+     */
+    public Route calculateRoute(GameMap currentMap, Rectangle rectangle, String destination) {
+        return calculateRoute(currentMap, currentMap.getRouteTargets(), rectangle, destination);
+    }
 
-        Route potentialRoute3 = new Route();
-        if (tryLeft(gameMap, initialRectangle, destination) != null) {
-            Map<Rectangle, Route> map = new HashMap<>();
-            map.put(tryLeft(gameMap, initialRectangle, destination), potentialRoute3);
-            potentialRoute3.addStep(LEFT);
-            searchQueue.add(map);
+    private Route calculateRoute(GameMap currentMap, RouteTargets targets, Rectangle rectangle, String destination) {
+        if (destination == null) {
+            return new Route();
         }
-
-        Route potentialRoute2 = new Route();
-        if (tryUp(gameMap, initialRectangle, destination) != null) {
-            Map<Rectangle, Route> map = new HashMap<>();
-            map.put(tryUp(gameMap, initialRectangle, destination), potentialRoute2);
-            potentialRoute2.addStep(UP);
-            searchQueue.add(map);
+        if (NPC.equals(destination)) {
+            // the npc moves, a cached route could lead to where it was
+            return smooth(currentMap, targets, rectangle, searchRoute(currentMap, targets, rectangle, destination), destination);
         }
-
-        Route potentialRoute4 = new Route();
-        if (tryRight(gameMap, initialRectangle, destination) != null) {
-            Map<Rectangle, Route> map = new HashMap<>();
-            map.put(tryRight(gameMap, initialRectangle, destination), potentialRoute4);
-            potentialRoute4.addStep(RIGHT);
-            searchQueue.add(map);
+        RouteCache.Key key = RouteCache.key(currentMap, getDestinationVersion(targets, destination), destination,
+                rectangle.getX(), rectangle.getY(), rectangle.getWidth(), rectangle.getHeight());
+        Route route = routeCache.get(key, cachedRoute -> isValidRoute(currentMap, targets, rectangle, cachedRoute, destination));
+        if (route == null) {
+            route = smooth(currentMap, targets, rectangle, searchRoute(currentMap, targets, rectangle, destination), destination);
+            routeCache.put(key, route);
         }
+        return route;
     }
 
-    private boolean isAnotherMap(String destination) {
-        return !(WATER.equals(destination) || LAKE_WATER.equals(destination) || FOOD.equals(destination) || PILLOW.equals(destination) || NPC.equals(destination) || NPC_SPOT.equals(destination));
+    private Route smooth(GameMap currentMap, RouteTargets targets, Rectangle rectangle, Route route, String destination) {
+        if (route.getRunCount() < 3) {
+            return route;
+        }
+        NavigationGrid grid = currentMap.getNavigationGrid();
+        RouteSmoother routeSmoother = new RouteSmoother((position, step) -> tryStep(currentMap, targets, grid, position, step, destination));
+        return routeSmoother.smooth(route, rectangle);
     }
 
-    public void fillSearchQueue(GameMap gameMap, List<Map<Rectangle, Route>> searchQueue, Rectangle rectangleChecked, Route potentialRoute, List<Rectangle> searched, String destination) {
-        if (tryDown(gameMap, rectangleChecked, destination) != null) {
-            Rectangle nextStep = tryDown(gameMap, rectangleChecked, destination);
-            if (!searched.contains(nextStep)) {
-                Map<Rectangle, Route> map = new HashMap<>();
-                Route newRoute = new Route();
-                for (Direction direction : potentialRoute.getAllSteps()) {
-                    newRoute.addStep(direction);
-                }
-                newRoute.addStep(DOWN);
-                map.put(nextStep, newRoute);
-                searchQueue.add(map);
+    private Route searchRoute(GameMap currentMap, RouteTargets targets, Rectangle rectangle, String destination) {
+        if (SHARED_DESTINATIONS.contains(destination)) {
+            DistanceField distanceField = getDistanceField(currentMap, targets, destination, rectangle);
+            if (!distanceField.hasDestinations()) {
+                return new Route();
             }
-        }
-
-        if (tryUp(gameMap, rectangleChecked, destination) != null) {
-            Rectangle nextStep = tryUp(gameMap, rectangleChecked, destination);
-            if (!searched.contains(nextStep)) {
-                Map<Rectangle, Route> map = new HashMap<>();
-                Route newRoute = new Route();
-                for (Direction direction : potentialRoute.getAllSteps()) {
-                    newRoute.addStep(direction);
-                }
-                newRoute.addStep(UP);
-                map.put(nextStep, newRoute);
-                searchQueue.add(map);
+            Route route = distanceField.findRoute(rectangle);
+            if (route != null) {
+                return route;
             }
         }
-
-        if (tryLeft(gameMap, rectangleChecked, destination) != null) {
-            Rectangle nextStep = tryLeft(gameMap, rectangleChecked, destination);
-            if (!searched.contains(nextStep)) {
-                Map<Rectangle, Route> map = new HashMap<>();
-                Route newRoute = new Route();
-                for (Direction direction : potentialRoute.getAllSteps()) {
-                    newRoute.addStep(direction);
-                }
-                newRoute.addStep(LEFT);
-                map.put(nextStep, newRoute);
-                searchQueue.add(map);
+        Rectangle target = null;
+        if (isAnotherMap(destination)) {
+            Portal portal = targets.getPortal(destination);
+            if (portal == null) {
+                return new Route();
             }
-        }
-
-        if (tryRight(gameMap, rectangleChecked, destination) != null) {
-            Rectangle nextStep = tryRight(gameMap, rectangleChecked, destination);
-            if (!searched.contains(nextStep)) {
-                Map<Rectangle, Route> map = new HashMap<>();
-                Route newRoute = new Route();
-                for (Direction direction : potentialRoute.getAllSteps()) {
-                    newRoute.addStep(direction);
-                }
-                newRoute.addStep(RIGHT);
-                map.put(nextStep, newRoute);
-                searchQueue.add(map);
+            target = portal.getRectangle();
+        } else if (NPC.equals(destination)) {
+            target = targets.getNpc();
+            if (target == null) {
+                return new Route();
             }
         }
+        RouteSearch routeSearch = new RouteSearch(this, currentMap, targets, rectangle, destination, target);
+        Route route = routeSearch.findRoute();
+        expandedNodes.add(routeSearch.getExpandedNodes());
+        return route;
     }
 
-    public Rectangle tryUp(GameMap gameMap, Rectangle rectangle, String destination) {
-        if (rectangle.getY() >= getNorthEdgePlusTile() && canWalkThisDirection(gameMap, UP, rectangle, destination)) {
-            return new Rectangle(rectangle.getX(), rectangle.getY() - Math.abs(NavigationService.getPixelsToAdjustPosition(UP, rectangle.getX(), rectangle.getY())), rectangle.getWidth(), rectangle.getHeight());
+    /**
+     * Fields are built again only when the map version for the destination changed
+     */
+    private DistanceField getDistanceField(GameMap gameMap, RouteTargets targets, String destination, Rectangle walker) {
+        String key = String.format("%s:%s:%dx%d", gameMap.getMapName(), destination, walker.getWidth(), walker.getHeight());
+        long version = getDestinationVersion(targets, destination);
+        DistanceField field = distanceFields.get(key);
+        if (field != null && field.isFor(gameMap, version, walker.getWidth(), walker.getHeight())) {
+            return field;
         }
-        return null;
+        // built outside of the map, so walkers looking for other fields don't wait for this one
+        DistanceField distanceField = new DistanceField(this, gameMap, targets, destination, version, walker.getWidth(), walker.getHeight());
+        expandedNodes.add(distanceField.getExpandedNodes());
+        logger.debug(String.format("Built distance field %s for version %d", key, version));
+        if (field == null) {
+            distanceFields.putIfAbsent(key, distanceField);
+        } else {
+            distanceFields.replace(key, field, distanceField);
+        }
+        return distanceField;
     }
 
-    public Rectangle tryDown(GameMap gameMap, Rectangle rectangle, String destination) {
-        if (rectangle.getY() <= getSouthEdgeMinus(gameMap.getMapHeight(), rectangle.getHeight()) && canWalkThisDirection(gameMap, DOWN, rectangle, destination)) {
-            return new Rectangle(rectangle.getX(), rectangle.getY() + Math.abs(NavigationService.getPixelsToAdjustPosition(DOWN, rectangle.getX(), rectangle.getY())), rectangle.getWidth(), rectangle.getHeight());
+    /**
+     * Tiles change walkability and pillows, bowls and items change where food and water are, npc spots and
+     * pillows are among the route targets. Distance fields and cached routes are kept per this version.
+     */
+    private long getDestinationVersion(RouteTargets targets, String destination) {
+        int destinationVersion = 0;
+        if (FOOD.equals(destination)) {
+            destinationVersion = targets.getFoodVersion();
+        } else if (WATER.equals(destination)) {
+            destinationVersion = targets.getWaterVersion();
+        } else if (PILLOW.equals(destination) || NPC_SPOT.equals(destination)) {
+            destinationVersion = targets.getTargetsVersion();
         }
-        return null;
+        return ((long) targets.getTilesVersion() << 32) | (destinationVersion & 0xFFFFFFFFL);
     }
 
-    public Rectangle tryLeft(GameMap gameMap, Rectangle rectangle, String destination) {
-        if (rectangle.getX() >= getWestEdgePlusTile() && canWalkThisDirection(gameMap, LEFT, rectangle, destination)) {
-            return new Rectangle(rectangle.getX() - Math.abs(NavigationService.getPixelsToAdjustPosition(LEFT, rectangle.getX(), rectangle.getY())), rectangle.getY(), rectangle.getWidth(), rectangle.getHeight());
+    /**
+     * A cached route comes from a start between the same tile lines, it is used only if every step is still
+     * walkable from the exact start and it still ends at the destination
+     */
+    private boolean isValidRoute(GameMap gameMap, RouteTargets targets, Rectangle start, Route route, String destination) {
+        NavigationGrid grid = gameMap.getNavigationGrid();
+        Rectangle position = new Rectangle(start.getX(), start.getY(), start.getWidth(), start.getHeight());
+        while (!route.isEmpty()) {
+            if (!tryStep(gameMap, targets, grid, position, route.getNextStep(), destination)) {
+                return false;
+            }
         }
-        return null;
+        return isDestination(gameMap, targets, destination, position);
     }
 
-    public Rectangle tryRight(GameMap gameMap, Rectangle rectangle, String destination) {
-        if (rectangle.getX() <= getEastEdgeMinus(gameMap.getMapWidth(), rectangle.getWidth()) && canWalkThisDirection(gameMap, RIGHT, rectangle, destination)) {
-            return new Rectangle(rectangle.getX() + Math.abs(NavigationService.getPixelsToAdjustPosition(RIGHT, rectangle.getX(), rectangle.getY())), rectangle.getY(), rectangle.getWidth(), rectangle.getHeight());
+    /**
+     * Moves the position one step, tells if the walker can stand there
+     */
+    private boolean tryStep(GameMap gameMap, RouteTargets targets, NavigationGrid grid, Rectangle position, Direction step, String destination) {
+        if (!canStep(gameMap, step, position.getX(), position.getY(), position.getWidth(), position.getHeight())) {
+            return false;
         }
-        return null;
+        NavigationService.adjustPosition(position, step);
+        return isWalkable(gameMap, targets, grid, position.getX(), position.getY(), position.getWidth(), position.getHeight(), destination);
     }
 
-    public boolean isThereFood(GameMap gameMap, Rectangle rectangle) {
-        for (FoodBowl foodBowl : gameMap.getFoodBowls()) {
-            if (foodBowl.isFull() && foodBowl.getRectangle().intersects(rectangle)) {
-                return true;
-            }
-        }
-        for (Item item : gameMap.getItems()) {
-            if (item != null && item.getRectangle().intersects(rectangle)) {
-                return true;
-            }
+    /**
+     * Walkers may leave the map by one tile only, towards portals
+     */
+    static boolean canStep(GameMap gameMap, Direction direction, int x, int y, int width, int height) {
+        switch (direction) {
+            case UP:
+                return y >= getNorthEdgePlusTile();
+            case DOWN:
+                return y <= getSouthEdgeMinus(gameMap.getMapHeight(), height);
+            case LEFT:
+                return x >= getWestEdgePlusTile();
+            case RIGHT:
+                return x <= getEastEdgeMinus(gameMap.getMapWidth(), width);
+            default:
+                return false;
         }
-        return false;
     }
 
-    public boolean isThereWater(GameMap gameMap, Rectangle rectangle) {
-        for (WaterBowl waterBowl : gameMap.getWaterBowls()) {
-            if (waterBowl.isFull() && waterBowl.getRectangle().intersects(rectangle)) {
-                return true;
-            }
-        }
-        return false;
+    /**
+     * Share of route lookups answered from the cache
+     */
+    public double getRouteCacheHitRatio() {
+        return routeCache.getHitRatio();
     }
 
-    public boolean isThereLakeWater(GameMap gameMap, Rectangle rectangle) {
-        return gameMap.isThereWaterTile(rectangle);
+    public String getRouteCacheStatistics() {
+        return String.format("route cache: %d routes, %d hits, %d misses, hit ratio %.2f",
+                routeCache.size(), routeCache.getHits(), routeCache.getMisses(), routeCache.getHitRatio());
     }
 
-    public boolean isTherePillow(GameMap gameMap, Rectangle rectangle) {
-        for (MapTile pillow : gameMap.getPillows()) {
-            if (rectangle.intersects(pillow)) {
-                return true;
-            }
-        }
-        return false;
+    /**
+     * Positions checked by all searches so far
+     */
+    public long getExpandedNodes() {
+        return expandedNodes.sum();
     }
 
-    private boolean isThereNpc(GameMap gameMap, Rectangle rectangle) {
-        Npc npc = gameMap.getNpcs().get(0);
-        return rectangle.intersects(npc.getRectangle());
+    private boolean isAnotherMap(String destination) {
+        return !(WATER.equals(destination) || LAKE_WATER.equals(destination) || FOOD.equals(destination) || PILLOW.equals(destination) || NPC.equals(destination) || NPC_SPOT.equals(destination));
     }
 
-    private boolean isThereNpcSpot(GameMap gameMap, Rectangle rectangle) {
-        for (NpcSpot npcSpot : gameMap.getNpcSpots()) {
-            if (rectangle.intersects(npcSpot.getRectangle())) {
-                return true;
-            }
+    boolean isDestination(GameMap gameMap, RouteTargets targets, String destination, Rectangle rectangle) {
+        if (isAnotherMap(destination)) {
+            return isTherePortal(targets.getPortal(destination), rectangle);
+        } else if (FOOD.equals(destination)) {
+            return targets.isThereFood(rectangle);
+        } else if (WATER.equals(destination)) {
+            return targets.isThereWater(rectangle);
+        } else if (LAKE_WATER.equals(destination)) {
+            return isThereLakeWater(gameMap, rectangle);
+        } else if (PILLOW.equals(destination)) {
+            return targets.isTherePillow(rectangle);
+        } else if (NPC.equals(destination)) {
+            return targets.isThereNpc(rectangle);
+        } else if (NPC_SPOT.equals(destination)) {
+            return targets.isThereNpcSpot(rectangle);
         }
         return false;
     }
 
-    private boolean canWalkThisDirection(GameMap gameMap, Direction direction, Rectangle rectangle, String destination) {
-        int xPosition = rectangle.getX();
-        int yPosition = rectangle.getY();
-        switch (direction) {
-            case LEFT:
-                xPosition = xPosition - Math.abs(NavigationService.getPixelsToAdjustPosition(direction, xPosition, yPosition));
-                break;
-            case RIGHT:
-                xPosition = xPosition + Math.abs(NavigationService.getPixelsToAdjustPosition(direction, xPosition, yPosition));
-                break;
-            case UP:
-                yPosition = yPosition - Math.abs(NavigationService.getPixelsToAdjustPosition(direction, xPosition, yPosition));
-                break;
-            case DOWN:
-                yPosition = yPosition + Math.abs(NavigationService.getPixelsToAdjustPosition(direction, xPosition, yPosition));
-                break;
-        }
-        return isWalkable(gameMap, xPosition, yPosition, rectangle.getWidth(), rectangle.getHeight(), destination);
+    public boolean isThereFood(GameMap gameMap, Rectangle rectangle) {
+        return gameMap.getRouteTargets().isThereFood(rectangle);
+    }
+
+    public boolean isThereWater(GameMap gameMap, Rectangle rectangle) {
+        return gameMap.getRouteTargets().isThereWater(rectangle);
+    }
+
+    public boolean isThereLakeWater(GameMap gameMap, Rectangle rectangle) {
+        return gameMap.isThereWaterTile(rectangle);
+    }
+
+    public boolean isTherePillow(GameMap gameMap, Rectangle rectangle) {
+        return gameMap.getRouteTargets().isTherePillow(rectangle);
     }
 
     public boolean isWalkable(GameMap gameMap, int x, int y, int width, int height, String destination) {
+        return isWalkable(gameMap, gameMap.getRouteTargets(), gameMap.getNavigationGrid(), x, y, width, height, destination);
+    }
+
+    /**
+     * Searches pass the targets and the grid they started with, so tiles or portals changed meanwhile don't
+     * change the result halfway
+     */
+    boolean isWalkable(GameMap gameMap, RouteTargets targets, NavigationGrid grid, int x, int y, int width, int height, String destination) {
         Rectangle rectangle = new Rectangle(x, y, width, height);
 
-        if (gameMap.isTherePortal(rectangle, destination)) {
+        if (targets.isTherePortal(rectangle, destination)) {
             return true;
         } else if (x < getNorthEdgePlusTile() || y < getNorthEdgePlusTile() || x > getEastEdgeStrict(gameMap.getMapWidth()) || y > getSouthEdgeStrict(gameMap.getMapHeight())) {
             return false;
         }
 
-        List<MapTile> tilesOnLayer = new ArrayList<>(gameMap.getTilesOnLayer(2));
-        if (tilesOnLayer.isEmpty()) {
+        if (!grid.isBlocked(2, x, y, width, height)) {
             return true;
         }
-        for (MapTile tile : tilesOnLayer) {
-            if (rectangle.potentialIntersects(tile, x, y)) {
-                if (LAKE_WATER.equals(destination) && gameMap.isThereWaterTile(rectangle)) {
-                    return true;
-                }
-                if (gameMap.getWaterCornerTiles().contains(tile.getId())) {
-                    return true;
-                }
-                return false;
-            }
-        }
-        return true;
-    }
-
-    private Portal getPortal(GameMap gameMap, String destination) {
-        if (destination == null) {
-            return null;
-        }
-        for (Portal portal : gameMap.getPortals()) {
-            if (destination.equalsIgnoreCase(portal.getDirection())) {
-                return portal;
-            }
-        }
-        return null;
+        return LAKE_WATER.equals(destination) && grid.isThereWater(x, y, width, height);
     }
 
     private boolean isTherePortal(Portal portal, Rectangle rectangle) {
@@ -0,0 +1,284 @@
+package base.navigationservice;
+
+import base.graphicsservice.Rectangle;
+import base.map.GameMap;
+import base.map.NavigationGrid;
+import base.map.RouteTargets;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import static base.constants.Constants.CELL_SIZE;
+import static base.constants.Constants.TILE_SIZE;
+import static base.navigationservice.Direction.*;
+import static base.navigationservice.MapEdgesUtil.*;
+
+/**
+ * One A* search over the positions a walker can stop at. Every step moves to the next multiple of TILE_SIZE,
+ * so apart from the starting column and row all positions are aligned, and each position is a single int
+ * (row * columns + column). Without a target the heuristic is 0 and the search is a breadth first search,
+ * which is used for destinations that can be found in many places, like food or water.
+ */
+class RouteSearch {
+
+    private static final int MARGIN = 2 * CELL_SIZE;
+    private static final Direction[] STEPS = {DOWN, LEFT, UP, RIGHT};
+
+    private static final int START = -1;
+    private static final int BITS = 21;
+    private static final long MASK = (1L << BITS) - 1;
+
+    private static final byte UNKNOWN = 0;
+    private static final byte WALKABLE = 1;
+    private static final byte BLOCKED = 2;
+
+    private final RouteCalculator routeCalculator;
+    private final GameMap gameMap;
+    private final RouteTargets targets;
+    private final NavigationGrid grid;
+    private final String destination;
+    private final Rectangle target;
+    private final Rectangle probe;
+
+    private final int minX;
+    private final int minY;
+    private final int alignedColumns;
+    private final int alignedRows;
+    private final int columns;
+    private final int startX;
+    private final int startY;
+    private final int startColumn;
+    private final int startRow;
+
+    private final int[] cost;
+    private final int[] parent;
+    private final byte[] step;
+    private final byte[] walkable;
+    private final BitSet closed;
+    private final OpenSet openSet = new OpenSet();
+
+    private int expandedNodes;
+
+    /**
+     * @param target when known, the rectangle to reach, used to estimate the remaining steps
+     */
+    RouteSearch(RouteCalculator routeCalculator, GameMap gameMap, RouteTargets targets, Rectangle start, String destination, Rectangle target) {
+        this.routeCalculator = routeCalculator;
+        this.gameMap = gameMap;
+        this.targets = targets;
+        this.grid = gameMap.getNavigationGrid();
+        this.destination = destination;
+        this.target = target;
+        this.probe = new Rectangle(start.getX(), start.getY(), start.getWidth(), start.getHeight());
+
+        minX = getWestEdgeStrict() - MARGIN;
+        minY = getNorthEdgeStrict() - MARGIN;
+        alignedColumns = (getEastEdgeStrict(gameMap.getMapWidth()) + MARGIN - minX) / TILE_SIZE + 1;
+        alignedRows = (getSouthEdgeStrict(gameMap.getMapHeight()) + MARGIN - minY) / TILE_SIZE + 1;
+        // one extra column and row for a start which is not aligned
+        columns = alignedColumns + 1;
+        int rows = alignedRows + 1;
+
+        startX = start.getX();
+        startY = start.getY();
+        int alignedStartColumn = getAlignedIndex(startX, minX, alignedColumns);
+        int alignedStartRow = getAlignedIndex(startY, minY, alignedRows);
+        startColumn = alignedStartColumn >= 0 ? alignedStartColumn : alignedColumns;
+        startRow = alignedStartRow >= 0 ? alignedStartRow : alignedRows;
+
+        int nodes = columns * rows;
+        cost = new int[nodes];
+        Arrays.fill(cost, Integer.MAX_VALUE);
+        parent = new int[nodes];
+        step = new byte[nodes];
+        walkable = new byte[nodes];
+        closed = new BitSet(nodes);
+    }
+
+    /**
+     * The start itself is not checked, like a walker which has to make at least one step.
+     * Returns an empty route when the destination can't be reached.
+     */
+    Route findRoute() {
+        expandNeighbours(startColumn, startRow, START, 0);
+        while (!openSet.isEmpty()) {
+            long entry = openSet.poll();
+            int node = (int) (entry & MASK);
+            if (closed.get(node)) {
+                continue;
+            }
+            closed.set(node);
+            expandedNodes++;
+
+            int column = node % columns;
+            int row = node / columns;
+            probe.setX(getX(column));
+            probe.setY(getY(row));
+            if (routeCalculator.isDestination(gameMap, targets, destination, probe)) {
+                return buildRoute(node);
+            }
+            expandNeighbours(column, row, node, cost[node]);
+        }
+        return new Route();
+    }
+
+    int getExpandedNodes() {
+        return expandedNodes;
+    }
+
+    private void expandNeighbours(int column, int row, int node, int nodeCost) {
+        int x = getX(column);
+        int y = getY(row);
+        for (Direction direction : STEPS) {
+            int nextColumn = column;
+            int nextRow = row;
+            int nextX = x;
+            int nextY = y;
+            int pixels = NavigationService.getPixelsToAdjustPosition(direction, x, y);
+            switch (direction) {
+                case UP:
+                    if (y < getNorthEdgePlusTile()) {
+                        continue;
+                    }
+                    nextY = y - pixels;
+                    nextRow = getAlignedIndex(nextY, minY, alignedRows);
+                    break;
+                case DOWN:
+                    if (y > getSouthEdgeMinus(gameMap.getMapHeight(), probe.getHeight())) {
+                        continue;
+                    }
+                    nextY = y + pixels;
+                    nextRow = getAlignedIndex(nextY, minY, alignedRows);
+                    break;
+                case LEFT:
+                    if (x < getWestEdgePlusTile()) {
+                        continue;
+                    }
+                    nextX = x - pixels;
+                    nextColumn = getAlignedIndex(nextX, minX, alignedColumns);
+                    break;
+                case RIGHT:
+                    if (x > getEastEdgeMinus(gameMap.getMapWidth(), probe.getWidth())) {
+                        continue;
+                    }
+                    nextX = x + pixels;
+                    nextColumn = getAlignedIndex(nextX, minX, alignedColumns);
+                    break;
+            }
+            if (nextColumn < 0 || nextRow < 0) {
+                continue;
+            }
+            int next = nextRow * columns + nextColumn;
+            int nextCost = nodeCost + 1;
+            if (closed.get(next) || nextCost >= cost[next] || !isWalkable(next, nextX, nextY)) {
+                continue;
+            }
+            cost[next] = nextCost;
+            parent[next] = node;
+            step[next] = (byte) direction.ordinal();
+            openSet.add(nextCost + estimate(nextX, nextY), nextCost, next);
+        }
+    }
+
+    private boolean isWalkable(int node, int x, int y) {
+        if (walkable[node] == UNKNOWN) {
+            boolean isWalkable = routeCalculator.isWalkable(gameMap, targets, grid, x, y, probe.getWidth(), probe.getHeight(), destination);
+            walkable[node] = isWalkable ? WALKABLE : BLOCKED;
+        }
+        return walkable[node] == WALKABLE;
+    }
+
+    /**
+     * Steps needed to touch the target, a step moves at most TILE_SIZE pixels along one axis
+     */
+    private int estimate(int x, int y) {
+        if (target == null) {
+            return 0;
+        }
+        int gapX = Math.max(0, Math.max(x - (target.getX() + target.getWidth()), target.getX() - (x + probe.getWidth())));
+        int gapY = Math.max(0, Math.max(y - (target.getY() + target.getHeight()), target.getY() - (y + probe.getHeight())));
+        return (gapX + TILE_SIZE - 1) / TILE_SIZE + (gapY + TILE_SIZE - 1) / TILE_SIZE;
+    }
+
+    private Route buildRoute(int node) {
+        Direction[] directions = Direction.values();
+        byte[] steps = new byte[cost[node]];
+        for (int i = steps.length - 1; i >= 0; i--) {
+            steps[i] = step[node];
+            node = parent[node];
+        }
+        Route route = new Route();
+        for (byte direction : steps) {
+            route.addStep(directions[direction]);
+        }
+        return route;
+    }
+
+    private int getX(int column) {
+        return column < alignedColumns ? minX + column * TILE_SIZE : startX;
+    }
+
+    private int getY(int row) {
+        return row < alignedRows ? minY + row * TILE_SIZE : startY;
+    }
+
+    private static int getAlignedIndex(int position, int min, int count) {
+        if (Math.floorMod(position, TILE_SIZE) != 0) {
+            return -1;
+        }
+        int index = (position - min) / TILE_SIZE;
+        return index >= 0 && index < count ? index : -1;
+    }
+
+    /**
+     * Binary heap of (estimated cost, cost, node) packed into longs. Among equal estimates the entry with
+     * the higher cost, which is closer to the target, comes first.
+     */
+    private static class OpenSet {
+        private long[] heap = new long[64];
+        private int size;
+
+        void add(int estimatedCost, int cost, int node) {
+            long entry = ((long) estimatedCost << (2 * BITS)) | ((MASK - cost) << BITS) | node;
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parentIndex = (i - 1) / 2;
+                if (heap[parentIndex] <= entry) {
+                    break;
+                }
+                heap[i] = heap[parentIndex];
+                i = parentIndex;
+            }
+            heap[i] = entry;
+        }
+
+        long poll() {
+            long first = heap[0];
+            long last = heap[--size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (heap[child] >= last) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = last;
+            return first;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package base.navigationservice;
+
+import base.graphicsservice.Rectangle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns a route into one with fewer turns, like RIGHT DOWN RIGHT into RIGHT RIGHT DOWN, when the walker can
+ * still make every step. Steps along each axis keep their order, so the smoothed route is as long as the
+ * found one and ends at the same position.
+ */
+class RouteSmoother {
+
+    private final StepCheck stepCheck;
+
+    RouteSmoother(StepCheck stepCheck) {
+        this.stepCheck = stepCheck;
+    }
+
+    Route smooth(Route route, Rectangle start) {
+        List<int[]> runs = new ArrayList<>();
+        for (int run = 0; run < route.getRunCount(); run++) {
+            runs.add(new int[]{route.getRunDirection(run).ordinal(), route.getRunLength(run)});
+        }
+        boolean smoothed = false;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 0; i + 2 < runs.size() && !changed; i++) {
+                if (runs.get(i)[0] != runs.get(i + 2)[0]) {
+                    continue;
+                }
+                // A B A becomes A A B, or else B A A
+                changed = tryMerge(runs, start, i + 2, i) || tryMerge(runs, start, i, i + 2);
+                smoothed |= changed;
+            }
+        }
+        return smoothed ? toRoute(runs) : route;
+    }
+
+    /**
+     * Adds the run at from to the run at to and removes it, keeps the change when the route is still walkable
+     */
+    private boolean tryMerge(List<int[]> runs, Rectangle start, int from, int to) {
+        List<int[]> candidate = new ArrayList<>(runs.size() - 1);
+        for (int i = 0; i < runs.size(); i++) {
+            if (i == from) {
+                continue;
+            }
+            int[] run = i == to ? new int[]{runs.get(to)[0], runs.get(to)[1] + runs.get(from)[1]} : runs.get(i);
+            int last = candidate.size() - 1;
+            if (last >= 0 && candidate.get(last)[0] == run[0]) {
+                candidate.set(last, new int[]{run[0], candidate.get(last)[1] + run[1]});
+            } else {
+                candidate.add(run);
+            }
+        }
+        if (!isWalkable(candidate, start)) {
+            return false;
+        }
+        runs.clear();
+        runs.addAll(candidate);
+        return true;
+    }
+
+    private boolean isWalkable(List<int[]> runs, Rectangle start) {
+        Rectangle position = new Rectangle(start.getX(), start.getY(), start.getWidth(), start.getHeight());
+        Direction[] directions = Direction.values();
+        for (int[] run : runs) {
+            for (int step = 0; step < run[1]; step++) {
+                if (!stepCheck.tryStep(position, directions[run[0]])) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private Route toRoute(List<int[]> runs) {
+        Direction[] directions = Direction.values();
+        Route route = new Route();
+        for (int[] run : runs) {
+            route.addSteps(directions[run[0]], run[1]);
+        }
+        return route;
+    }
+
+    interface StepCheck {
+        /**
+         * Moves the position one step and tells if the walker can stand there
+         */
+        boolean tryStep(Rectangle position, Direction direction);
+    }
+}
@@ -0,0 +1,87 @@
+package base.navigationservice;
+
+import base.gameobjects.Animal;
+import base.gameobjects.npc.Npc;
+import base.graphicsservice.Rectangle;
+
+/**
+ * Where a walker starts a route, copied on the game thread. Searches in the background use the copy while the
+ * walker keeps moving, so they never read a position which changes halfway. Routes to the npc need a copy of
+ * where the npc is too, for the same reason.
+ */
+public class RouteStart {
+
+    private final String mapName;
+    private final Rectangle rectangle;
+    private final String walker;
+    private final String npcMapName;
+    private final Rectangle npcRectangle;
+
+    public RouteStart(String mapName, Rectangle rectangle, String walker) {
+        this(mapName, rectangle, walker, null, null);
+    }
+
+    public RouteStart(String mapName, Rectangle rectangle, String walker, String npcMapName, Rectangle npcRectangle) {
+        this.mapName = mapName;
+        this.rectangle = copy(rectangle);
+        this.walker = walker;
+        this.npcMapName = npcMapName;
+        this.npcRectangle = npcRectangle == null ? null : copy(npcRectangle);
+    }
+
+    public static RouteStart of(Animal animal) {
+        return new RouteStart(animal.getCurrentMap(), animal.getRectangle(), animal.toString());
+    }
+
+    /**
+     * Also copies where the npc is, when there is one
+     */
+    public static RouteStart of(Animal animal, Npc npc) {
+        if (npc == null) {
+            return of(animal);
+        }
+        return new RouteStart(animal.getCurrentMap(), animal.getRectangle(), animal.toString(), npc.getCurrentMap(), npc.getRectangle());
+    }
+
+    private static Rectangle copy(Rectangle rectangle) {
+        return new Rectangle(rectangle.getX(), rectangle.getY(), rectangle.getWidth(), rectangle.getHeight());
+    }
+
+    public String getMapName() {
+        return mapName;
+    }
+
+    /**
+     * A new copy every time, searches may move it
+     */
+    public Rectangle getRectangle() {
+        return copy(rectangle);
+    }
+
+    /**
+     * Map the npc was on, or null when there was no npc
+     */
+    public String getNpcMapName() {
+        return npcMapName;
+    }
+
+    /**
+     * Where the npc was, or null when there was no npc
+     */
+    public Rectangle getNpcRectangle() {
+        return npcRectangle == null ? null : copy(npcRectangle);
+    }
+
+    public int getX() {
+        return rectangle.getX();
+    }
+
+    public int getY() {
+        return rectangle.getY();
+    }
+
+    @Override
+    public String toString() {
+        return walker;
+    }
+}
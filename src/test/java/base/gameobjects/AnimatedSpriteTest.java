@@ -0,0 +1,89 @@
+package base.gameobjects;
+
+import base.graphicsservice.Sprite;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnimatedSpriteTest {
+
+    private Sprite[] sprites;
+
+    @BeforeEach
+    public void setUp() {
+        sprites = new Sprite[8];
+        for (int i = 0; i < sprites.length; i++) {
+            sprites[i] = new Sprite(1, 1, new int[]{0xFF000000 | i});
+        }
+    }
+
+    @Test
+    public void advancesEverySpeedUpdates() {
+        AnimatedSprite animatedSprite = new AnimatedSprite(sprites, 3, false, 3);
+
+        assertEquals(List.of(0, 0, 1, 1, 1, 2, 2, 2, 3, 3, 3, 0), play(animatedSprite, 12));
+        assertEquals(sprites[0].getFrameId(), animatedSprite.getFrameId());
+
+        // ticks without updates pause the animation
+        for (int i = 0; i < 5; i++) {
+            AnimationClock.tick();
+        }
+        assertEquals(0, animatedSprite.getCurrentSprite());
+        assertEquals(List.of(0, 0, 1, 1), play(animatedSprite, 4));
+
+        animatedSprite.reset();
+        assertEquals(0, animatedSprite.getCurrentSprite());
+        assertEquals(List.of(0, 0, 1), play(animatedSprite, 3));
+    }
+
+    @Test
+    public void keepsFrameWhenSpeedChanges() {
+        AnimatedSprite animatedSprite = new AnimatedSprite(sprites, 2, false, 7);
+        assertEquals(List.of(0, 1, 1, 2, 2), play(animatedSprite, 5));
+
+        animatedSprite.setSpeed(4);
+        assertEquals(List.of(2, 2, 3, 3, 3, 3, 4), play(animatedSprite, 7));
+    }
+
+    @Test
+    public void stepsThroughRangesAndByHand() {
+        AnimatedSprite vertical = new AnimatedSprite(sprites, 1, true, 7);
+        assertEquals(List.of(4, 0, 4, 0), play(vertical, 4));
+
+        AnimatedSprite animatedSprite = new AnimatedSprite(sprites, 1, false, 7);
+        animatedSprite.setAnimationRange(2, 4);
+        assertEquals(List.of(3, 4, 2, 3), play(animatedSprite, 4));
+
+        AnimatedSprite bowl = new AnimatedSprite(sprites, 100, false, 2);
+        bowl.incrementSprite();
+        bowl.incrementSprite();
+        assertEquals(2, bowl.getCurrentSprite());
+        bowl.incrementSprite();
+        assertEquals(0, bowl.getCurrentSprite());
+    }
+
+    @Test
+    public void keepsCountedTicksWhenSteppedByHand() {
+        AnimatedSprite animatedSprite = new AnimatedSprite(sprites, 3, false, 7);
+        assertEquals(List.of(0, 0, 1, 1), play(animatedSprite, 4));
+
+        // one of the three ticks towards the next frame is counted already and still counts after the step
+        animatedSprite.incrementSprite();
+        assertEquals(2, animatedSprite.getCurrentSprite());
+        assertEquals(List.of(2, 3, 3, 3, 4), play(animatedSprite, 5));
+    }
+
+    private static List<Integer> play(AnimatedSprite animatedSprite, int ticks) {
+        List<Integer> shown = new ArrayList<>();
+        for (int i = 0; i < ticks; i++) {
+            AnimationClock.tick();
+            animatedSprite.update(null);
+            shown.add(animatedSprite.getCurrentSprite());
+        }
+        return shown;
+    }
+}
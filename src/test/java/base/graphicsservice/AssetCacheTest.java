@@ -0,0 +1,52 @@
+package base.graphicsservice;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static base.constants.Constants.TILE_SIZE;
+import static base.constants.FilePath.FOOD_BOWL_PATH;
+import static base.constants.FilePath.HEART_ICON_PATH;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AssetCacheTest {
+
+    private AssetCache assetCache;
+
+    @BeforeEach
+    public void setUp() {
+        assetCache = new AssetCache();
+    }
+
+    @Test
+    public void decodesEachImageOnce() {
+        Sprite first = assetCache.getSprite(HEART_ICON_PATH);
+        Sprite second = assetCache.getSprite(HEART_ICON_PATH);
+
+        assertSame(first, second);
+        assertEquals(1, assetCache.getMissCount());
+        assertEquals(1, assetCache.getHitCount());
+        assertEquals((long) first.getWidth() * first.getHeight() * Integer.BYTES, assetCache.getResidentBytes());
+    }
+
+    @Test
+    public void countsPreloadedImageAsHit() {
+        assetCache.preload(HEART_ICON_PATH, Runnable::run).join();
+        assetCache.getSprite(HEART_ICON_PATH);
+
+        assertEquals(1, assetCache.getMissCount());
+        assertEquals(1, assetCache.getHitCount());
+        assertEquals(0, assetCache.getDecodedImageCount());
+    }
+
+    @Test
+    public void slicesFramesLikeSpriteSheet() {
+        SpriteSheet sheet = new SpriteSheet(ImageLoader.loadImage(FOOD_BOWL_PATH));
+        sheet.loadSprites(TILE_SIZE, TILE_SIZE, 0);
+
+        Sprite[] frames = assetCache.getFrames(FOOD_BOWL_PATH, TILE_SIZE, TILE_SIZE);
+
+        assertArrayEquals(sheet.getLoadedSprites(), frames);
+        assertSame(frames, assetCache.getFrames(FOOD_BOWL_PATH, TILE_SIZE, TILE_SIZE));
+        assertNotSame(frames, assetCache.getFrames(FOOD_BOWL_PATH, TILE_SIZE, TILE_SIZE * 2));
+    }
+}
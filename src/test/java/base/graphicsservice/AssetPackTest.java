@@ -0,0 +1,82 @@
+package base.graphicsservice;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+import static base.constants.Constants.ASSET_PACK_PROPERTY;
+import static base.constants.Constants.TILE_SIZE;
+import static base.constants.FilePath.FOOD_BOWL_PATH;
+import static base.constants.FilePath.HEART_ICON_PATH;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AssetPackTest {
+
+    private static final Path RESOURCES = Paths.get("src/main/resources/base");
+
+    @TempDir
+    Path temporaryDirectory;
+
+    @Test
+    public void readsBackWhatWasPacked() throws IOException {
+        Path resources = temporaryDirectory.resolve("resources");
+        copyResource(resources, HEART_ICON_PATH);
+        copyResource(resources, FOOD_BOWL_PATH);
+        Path packFile = temporaryDirectory.resolve("assets.pack");
+
+        new AssetPackBuilder().build(resources, packFile);
+        AssetPack assetPack = AssetPack.open(packFile);
+
+        for (String path : new String[]{HEART_ICON_PATH, FOOD_BOWL_PATH}) {
+            assertTrue(assetPack.contains(path), path);
+            BufferedImage image = ImageLoader.loadImage(path);
+            int width = image.getWidth();
+            int height = image.getHeight();
+            assertEquals(width, assetPack.getWidth(path));
+            assertEquals(height, assetPack.getHeight(path));
+            assertArrayEquals(image.getRGB(0, 0, width, height, null, 0, width), assetPack.readRegion(path, 0, 0, width, height));
+            assertArrayEquals(image.getRGB(width / 2, 0, width / 2, height / 2, null, 0, width / 2),
+                    assetPack.readRegion(path, width / 2, 0, width / 2, height / 2));
+        }
+        assertFalse(assetPack.contains("img/not-packed.png"));
+    }
+
+    @Test
+    public void slicesPackedImagesLikeDecodedOnes() throws IOException {
+        Path resources = temporaryDirectory.resolve("resources");
+        copyResource(resources, FOOD_BOWL_PATH);
+        Path packFile = temporaryDirectory.resolve("assets.pack");
+        new AssetPackBuilder().build(resources, packFile);
+        AssetCache packedCache = new AssetCache();
+        packedCache.setAssetPack(AssetPack.open(packFile));
+
+        assertArrayEquals(new AssetCache().getFrames(FOOD_BOWL_PATH, TILE_SIZE, TILE_SIZE), packedCache.getFrames(FOOD_BOWL_PATH, TILE_SIZE, TILE_SIZE));
+        // images missing in the pack are still decoded from png
+        assertEquals(new Sprite(ImageLoader.loadImage(HEART_ICON_PATH)), packedCache.getSprite(HEART_ICON_PATH));
+    }
+
+    @Test
+    public void decodesPngsWhenNoPackIsConfigured() throws IOException {
+        Properties properties = new Properties();
+        properties.load(new StringReader(ASSET_PACK_PROPERTY + "=\n"));
+
+        ImageLoader.useAssetPack(properties.getProperty(ASSET_PACK_PROPERTY));
+        ImageLoader.useAssetPack(temporaryDirectory.resolve("missing.pack").toString());
+
+        assertFalse(ImageLoader.getAssetCache().hasAssetPack());
+        assertEquals(new Sprite(ImageLoader.loadImage(HEART_ICON_PATH)), ImageLoader.getPreviewSprite(HEART_ICON_PATH));
+    }
+
+    private static void copyResource(Path resources, String path) throws IOException {
+        Path target = resources.resolve(path);
+        Files.createDirectories(target.getParent());
+        Files.copy(RESOURCES.resolve(path), target);
+    }
+}
@@ -0,0 +1,127 @@
+package base.graphicsservice;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static base.constants.FilePath.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AssetPreloaderTest {
+
+    private static final List<String> IMAGES = Arrays.asList(HEART_ICON_PATH, MONEY_ICON_PATH, EDIT_ICON_PATH, FOOD_BOWL_PATH, HEART_ICON_PATH);
+
+    private AssetCache assetCache;
+    private AssetPreloader assetPreloader;
+
+    @BeforeEach
+    public void setUp() {
+        assetCache = new AssetCache();
+        assetPreloader = new AssetPreloader(assetCache);
+    }
+
+    @Test
+    public void decodesImagesInParallel() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger mostRunning = new AtomicInteger();
+        AtomicInteger decodes = new AtomicInteger();
+        AtomicInteger notOverlapping = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        // decodes start in pairs, a decode which finds no other one running times out and is counted
+        CyclicBarrier bothRunning = new CyclicBarrier(2);
+        ExecutorService executor = new AbstractExecutorService() {
+            @Override
+            public void execute(Runnable command) {
+                pool.execute(() -> {
+                    mostRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    decodes.incrementAndGet();
+                    try {
+                        bothRunning.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (BrokenBarrierException | TimeoutException e) {
+                        notOverlapping.incrementAndGet();
+                    }
+                    try {
+                        command.run();
+                    } finally {
+                        running.decrementAndGet();
+                    }
+                });
+            }
+
+            @Override
+            public void shutdown() {
+                pool.shutdown();
+            }
+
+            @Override
+            public List<Runnable> shutdownNow() {
+                return pool.shutdownNow();
+            }
+
+            @Override
+            public boolean isShutdown() {
+                return pool.isShutdown();
+            }
+
+            @Override
+            public boolean isTerminated() {
+                return pool.isTerminated();
+            }
+
+            @Override
+            public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+                return pool.awaitTermination(timeout, unit);
+            }
+        };
+        List<Integer> progress = new CopyOnWriteArrayList<>();
+        List<Integer> totals = new CopyOnWriteArrayList<>();
+
+        new AssetPreloader(assetCache, executor).preload(IMAGES, (loaded, total) -> {
+            progress.add(loaded);
+            totals.add(total);
+        }).get(10, TimeUnit.SECONDS);
+
+        assertEquals(4, decodes.get());
+        assertEquals(0, notOverlapping.get());
+        assertEquals(2, mostRunning.get());
+        assertEquals(4, progress.size());
+        assertTrue(progress.containsAll(Arrays.asList(1, 2, 3, 4)));
+        assertEquals(Arrays.asList(4, 4, 4, 4), totals);
+        assertEquals(4, assetCache.getDecodedImageCount());
+        assertEquals(4, assetCache.getMissCount());
+        assertEquals(0, assetCache.size());
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void dropsUnusedImagesAfterFirstFrame() throws Exception {
+        assetPreloader.preload(IMAGES, null).get(10, TimeUnit.SECONDS);
+
+        // the services ask for what they need while the splash is shown
+        Sprite heart = assetCache.getSprite(HEART_ICON_PATH);
+        assertEquals(1, assetCache.getHitCount());
+        assertEquals(4, assetCache.getMissCount());
+        assertEquals(3, assetCache.getDecodedImageCount());
+
+        assetPreloader.finish();
+        assertEquals(0, assetCache.getDecodedImageCount());
+        assertSame(heart, assetCache.getSprite(HEART_ICON_PATH));
+
+        assetCache.getSprite(MONEY_ICON_PATH);
+        assertEquals(5, assetCache.getMissCount());
+        assertEquals(0, assetCache.getDecodedImageCount());
+    }
+}
@@ -0,0 +1,52 @@
+package base.graphicsservice;
+
+import java.awt.*;
+import java.util.Random;
+
+import static base.constants.ColorConstant.ALPHA;
+
+/**
+ * Time taken by filling the screen with the background tile, drawing it cell by cell against copying rows
+ * of the repeated tile, for some screen sizes.
+ * Run with: java -cp target/test-classes:target/classes:... base.graphicsservice.BackgroundBenchmark [frames]
+ */
+class BackgroundBenchmark {
+
+    private static final int[][] SCREENS = {{1280, 720}, {1920, 1080}, {2560, 1440}};
+
+    public static void main(String[] args) {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        Random random = new Random(1);
+        int[] pixels = new int[32 * 32];
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = random.nextInt(16) == 0 ? ALPHA : 0xFF000000 | random.nextInt(0x1000000);
+        }
+        Sprite tile = new Sprite(32, 32, pixels);
+        for (int round = 1; round <= 3; round++) {
+            for (int[] screen : SCREENS) {
+                run(tile, screen[0], screen[1], frames, round);
+            }
+        }
+    }
+
+    private static void run(Sprite tile, int width, int height, int frames, int round) {
+        RenderHandler renderHandler = new RenderHandler(width, height, new Dimension(width, height), false);
+        FrameTimer tiles = new FrameTimer();
+        FrameTimer pattern = new FrameTimer();
+        for (int frame = 0; frame < frames; frame++) {
+            renderHandler.getCamera().setX(frame * 3);
+            renderHandler.getCamera().setY(frame);
+            long startTime = System.nanoTime();
+            renderHandler.renderBackgroundTiles(tile);
+            tiles.addFrame(System.nanoTime() - startTime);
+            renderHandler.clear();
+
+            startTime = System.nanoTime();
+            renderHandler.renderBackgroundPattern(tile);
+            pattern.addFrame(System.nanoTime() - startTime);
+            renderHandler.clear();
+        }
+        System.out.printf("round %d: %dx%d, cell by cell %.3f ms, pattern %.3f ms per frame%n",
+                round, width, height, tiles.getAverageMillis(), pattern.getAverageMillis());
+    }
+}
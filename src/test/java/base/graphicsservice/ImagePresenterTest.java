@@ -0,0 +1,33 @@
+package base.graphicsservice;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImagePresenterTest {
+
+    @Test
+    public void drawsImagesDirectlyWithoutAcceleration() {
+        BufferedImage image = new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 0, 0xFF0000);
+        image.setRGB(2, 1, 0x00FF00);
+        image.setRGB(5, 5, 0x0000FF);
+        BufferedImage screen = new BufferedImage(8, 8, BufferedImage.TYPE_INT_RGB);
+        ImagePresenter presenter = new ImagePresenter(Transparency.OPAQUE);
+
+        Graphics graphics = screen.getGraphics();
+        presenter.present(graphics, image, 3, 3, 1, 1, 6, 6);
+        graphics.dispose();
+
+        assertFalse(presenter.isAccelerated());
+        assertEquals(0xFF000000, screen.getRGB(0, 0));
+        assertEquals(0xFFFF0000, screen.getRGB(1, 1));
+        assertEquals(0xFFFF0000, screen.getRGB(2, 2));
+        assertEquals(0xFF00FF00, screen.getRGB(5, 3));
+        assertEquals(0xFF00FF00, screen.getRGB(6, 4));
+        assertEquals(0xFF000000, screen.getRGB(7, 7));
+    }
+}
@@ -0,0 +1,136 @@
+package base.graphicsservice;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import static base.constants.ColorConstant.ALPHA;
+import static base.constants.Constants.ZOOM;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RenderHandlerTest {
+
+    private static final int WIDTH = 640;
+    private static final int HEIGHT = 480;
+
+    private Sprite tile;
+    private Sprite icon;
+
+    @BeforeEach
+    public void setUp() {
+        tile = randomSprite(32, 32, 1);
+        icon = randomSprite(16, 16, 2);
+    }
+
+    @Test
+    public void lowResolutionWorldLooksLikeFullResolution() {
+        BufferedImage full = draw(new RenderHandler(WIDTH, HEIGHT, new Dimension(800, 600), false));
+        BufferedImage lowResolution = draw(new RenderHandler(WIDTH, HEIGHT, new Dimension(800, 600), true));
+
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                assertEquals(full.getRGB(x, y), lowResolution.getRGB(x, y), "pixel " + x + ", " + y);
+            }
+        }
+    }
+
+    @Test
+    public void drawsAtlasFramesLikePixelArrays() {
+        assertTrue(SpriteAtlas.contains(tile.getFrameId()));
+        // rows without holes between transparent edges are copied as spans
+        int[] framed = randomSprite(20, 12, 3).getPixels().clone();
+        for (int i = 0; i < framed.length; i++) {
+            framed[i] = i % 20 < 3 || i % 20 == 19 ? ALPHA : framed[i] | 0xFF000000;
+        }
+        Sprite solid = new Sprite(20, 12, framed);
+        RenderHandler fromAtlas = new RenderHandler(WIDTH, HEIGHT, new Dimension(800, 600), false);
+        RenderHandler fromArrays = new RenderHandler(WIDTH, HEIGHT, new Dimension(800, 600), false);
+        int[][] positions = {{-70, -33}, {0, 0}, {301, 77}, {WIDTH - 20, HEIGHT - 41}, {WIDTH + 5, 10}};
+        for (RenderHandler renderHandler : new RenderHandler[]{fromAtlas, fromArrays}) {
+            renderHandler.getCamera().setX(-64);
+            renderHandler.getCamera().setY(128);
+            for (int[] position : positions) {
+                for (int zoom = 1; zoom <= 3; zoom++) {
+                    boolean fixed = zoom != ZOOM;
+                    int x = fixed ? position[0] : position[0] - 64;
+                    int y = fixed ? position[1] : position[1] + 128;
+                    for (Sprite sprite : new Sprite[]{tile, solid}) {
+                        if (renderHandler == fromAtlas) {
+                            renderHandler.renderSprite(sprite, x, y + sprite.getHeight(), zoom, fixed);
+                        } else {
+                            renderHandler.renderPixelsArrays(sprite.getPixels(), sprite.getWidth(), sprite.getHeight(), x, y + sprite.getHeight(), zoom, fixed);
+                        }
+                    }
+                }
+            }
+        }
+
+        BufferedImage atlasImage = present(fromAtlas);
+        BufferedImage arraysImage = present(fromArrays);
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                assertEquals(arraysImage.getRGB(x, y), atlasImage.getRGB(x, y), "pixel " + x + ", " + y);
+            }
+        }
+    }
+
+    @Test
+    public void backgroundPatternLooksLikeTiles() {
+        int[][] cameras = {{0, 0}, {-64, -64}, {-101, 37}, {333, 1029}};
+        for (boolean lowResolutionWorld : new boolean[]{false, true}) {
+            for (int[] camera : cameras) {
+                RenderHandler fromPattern = new RenderHandler(WIDTH, HEIGHT, new Dimension(800, 600), lowResolutionWorld);
+                RenderHandler fromTiles = new RenderHandler(WIDTH, HEIGHT, new Dimension(800, 600), lowResolutionWorld);
+                for (RenderHandler renderHandler : new RenderHandler[]{fromPattern, fromTiles}) {
+                    renderHandler.getCamera().setX(camera[0]);
+                    renderHandler.getCamera().setY(camera[1]);
+                }
+                assertTrue(fromPattern.renderBackgroundPattern(tile));
+                fromTiles.renderBackgroundTiles(tile);
+
+                BufferedImage patternImage = present(fromPattern);
+                BufferedImage tilesImage = present(fromTiles);
+                for (int y = 0; y < HEIGHT; y++) {
+                    for (int x = 0; x < WIDTH; x++) {
+                        assertEquals(tilesImage.getRGB(x, y), patternImage.getRGB(x, y), "pixel " + x + ", " + y);
+                    }
+                }
+            }
+        }
+        assertFalse(new RenderHandler(WIDTH, HEIGHT, new Dimension(800, 600), false).renderBackgroundPattern(icon));
+    }
+
+    private BufferedImage draw(RenderHandler renderHandler) {
+        renderHandler.getCamera().setX(-64);
+        renderHandler.getCamera().setY(128);
+        for (int x = -128; x < WIDTH + 64; x += 64) {
+            for (int y = 64; y < HEIGHT + 192; y += 64) {
+                renderHandler.renderSprite(tile, x, y, ZOOM, false);
+            }
+        }
+        renderHandler.renderSprite(icon, 100, 150, ZOOM, false);
+        renderHandler.renderSprite(icon, 10, 10, 1, true);
+        renderHandler.renderSprite(icon, 600, 440, ZOOM, true);
+        return present(renderHandler);
+    }
+
+    private BufferedImage present(RenderHandler renderHandler) {
+        BufferedImage screen = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics graphics = screen.getGraphics();
+        renderHandler.present(graphics);
+        graphics.dispose();
+        return screen;
+    }
+
+    private static Sprite randomSprite(int width, int height, long seed) {
+        Random random = new Random(seed);
+        int[] pixels = new int[width * height];
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = random.nextInt(4) == 0 ? ALPHA : 0xFF000000 | random.nextInt(0x1000000);
+        }
+        return new Sprite(width, height, pixels);
+    }
+}
@@ -0,0 +1,213 @@
+package base.graphicsservice;
+
+import base.gameobjects.services.PlantService;
+import base.map.GameMap;
+import base.map.MapMigrator;
+import base.map.TileService;
+import com.google.gson.Gson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static base.constants.Constants.CELL_SIZE;
+import static base.constants.FilePath.JSON_MAPS_DIRECTORY;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Draws every map of maps/maps-json from a few camera positions into an offscreen view of a fixed size and
+ * compares the frames pixel by pixel with the golden images in src/test/resources/golden. The golden images
+ * were drawn by the renderer from before the render changes, so the frames must still look like they did.
+ * Frames of the low resolution world are compared with the full resolution ones, see
+ * compareWithFullResolution. Frames which differ are written to target/render-harness, with the render
+ * times of every frame in timings.csv. Needs no screen, surefire runs it headless. After a change of how
+ * the maps look write the golden images again with
+ * mvn test -Dtest=RenderHarnessTest -Drender.golden.update=true
+ */
+class RenderHarnessTest {
+
+    private static final int WIDTH = 480;
+    private static final int HEIGHT = 320;
+    private static final int TIMED_RUNS = 5;
+    private static final String UPDATE_PROPERTY = "render.golden.update";
+    private static final File GOLDEN_DIRECTORY = new File("src/test/resources/golden");
+    private static final File OUTPUT_DIRECTORY = new File("target/render-harness");
+
+    private TileService tileService;
+    private SpriteService spriteService;
+    private MapMigrator mapMigrator;
+
+    @BeforeEach
+    public void setUp() {
+        tileService = new TileService();
+        spriteService = new SpriteService();
+        spriteService.cacheSprites(new PlantService(), tileService);
+        mapMigrator = new MapMigrator();
+    }
+
+    @Test
+    public void mapsLookLikeGoldenImages() throws IOException {
+        boolean update = Boolean.getBoolean(UPDATE_PROPERTY);
+        assertTrue(OUTPUT_DIRECTORY.isDirectory() || OUTPUT_DIRECTORY.mkdirs());
+        if (update) {
+            assertTrue(GOLDEN_DIRECTORY.isDirectory() || GOLDEN_DIRECTORY.mkdirs());
+        }
+        String[] mapNames = new File(JSON_MAPS_DIRECTORY).list();
+        assertNotNull(mapNames);
+        Arrays.sort(mapNames);
+
+        List<String> failures = new ArrayList<>();
+        try (PrintWriter timings = new PrintWriter(new File(OUTPUT_DIRECTORY, "timings.csv"))) {
+            timings.println("map,camera x,camera y,low resolution world,average ms,min ms");
+            for (String mapName : mapNames) {
+                GameMap gameMap = loadMap(mapName);
+                spriteService.loadMapSprites(gameMap);
+                for (int[] camera : getCameras(gameMap)) {
+                    String frameName = String.format("%s_%d_%d", mapName, camera[0], camera[1]);
+                    BufferedImage fullResolutionFrame = null;
+                    for (boolean lowResolutionWorld : new boolean[]{false, true}) {
+                        RenderHandler renderHandler = new RenderHandler(WIDTH, HEIGHT, new Dimension(WIDTH, HEIGHT), lowResolutionWorld);
+                        renderHandler.getCamera().setX(camera[0]);
+                        renderHandler.getCamera().setY(camera[1]);
+                        BufferedImage frame = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+                        // the first frame fills caches, the ones after it are timed
+                        render(renderHandler, gameMap, frame);
+                        long total = 0;
+                        long min = Long.MAX_VALUE;
+                        for (int i = 0; i < TIMED_RUNS; i++) {
+                            long time = render(renderHandler, gameMap, frame);
+                            total += time;
+                            min = Math.min(min, time);
+                        }
+                        timings.println(String.format("%s,%d,%d,%b,%.3f,%.3f", mapName, camera[0], camera[1], lowResolutionWorld,
+                                total / (TIMED_RUNS * 1_000_000.0), min / 1_000_000.0));
+                        String failure;
+                        if (lowResolutionWorld) {
+                            failure = compareWithFullResolution(frameName, frame, fullResolutionFrame);
+                        } else {
+                            fullResolutionFrame = frame;
+                            failure = update ? writeGolden(frameName, frame) : compareWithGolden(frameName, frame);
+                        }
+                        if (failure != null) {
+                            failures.add(failure);
+                        }
+                    }
+                }
+            }
+        }
+        assertTrue(failures.isEmpty(), String.join("\n", failures));
+    }
+
+    /**
+     * Loads the map like MapService, but migrates it only in memory, the map files are not written
+     */
+    private GameMap loadMap(String mapName) throws IOException {
+        try (Reader reader = new FileReader(JSON_MAPS_DIRECTORY + mapName)) {
+            GameMap gameMap = new Gson().fromJson(reader, GameMap.class);
+            mapMigrator.migrateToCurrentSchema(gameMap);
+            return gameMap;
+        }
+    }
+
+    /**
+     * The top left corner as far as the camera goes, the middle of the map and the bottom right corner
+     */
+    private static int[][] getCameras(GameMap gameMap) {
+        int right = gameMap.getMapWidth() * CELL_SIZE + CELL_SIZE - WIDTH;
+        int bottom = gameMap.getMapHeight() * CELL_SIZE + CELL_SIZE - HEIGHT;
+        return new int[][]{{-CELL_SIZE, -CELL_SIZE}, {(right - CELL_SIZE) / 2, (bottom - CELL_SIZE) / 2}, {right, bottom}};
+    }
+
+    private long render(RenderHandler renderHandler, GameMap gameMap, BufferedImage frame) {
+        long start = System.nanoTime();
+        renderHandler.clear();
+        renderHandler.renderMap(tileService, gameMap, null, null, null);
+        Graphics graphics = frame.getGraphics();
+        renderHandler.present(graphics);
+        graphics.dispose();
+        return System.nanoTime() - start;
+    }
+
+    private static String compareWithGolden(String frameName, BufferedImage frame) throws IOException {
+        File goldenFile = new File(GOLDEN_DIRECTORY, frameName + ".png");
+        if (!goldenFile.exists()) {
+            return String.format("%s: no golden image, write it with -D%s=true", frameName, UPDATE_PROPERTY);
+        }
+        BufferedImage golden = ImageIO.read(goldenFile);
+        if (golden.getWidth() != WIDTH || golden.getHeight() != HEIGHT) {
+            return String.format("%s: golden image is %dx%d", frameName, golden.getWidth(), golden.getHeight());
+        }
+        int differentPixels = 0;
+        String firstDifference = null;
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                int expected = golden.getRGB(x, y) & 0xFFFFFF;
+                int actual = frame.getRGB(x, y) & 0xFFFFFF;
+                if (expected != actual) {
+                    if (firstDifference == null) {
+                        firstDifference = String.format("pixel %d, %d is %06X instead of %06X", x, y, actual, expected);
+                    }
+                    differentPixels++;
+                }
+            }
+        }
+        if (differentPixels == 0) {
+            return null;
+        }
+        File actualFile = new File(OUTPUT_DIRECTORY, frameName + ".png");
+        ImageIO.write(frame, "png", actualFile);
+        return String.format("%s: %d pixels differ, %s, frame written to %s", frameName, differentPixels, firstDifference, actualFile);
+    }
+
+    /**
+     * The low resolution world snaps objects to even pixels, so each of its pixels may come from a pixel next to
+     * it in the full resolution frame, but from no pixel further away
+     */
+    private static String compareWithFullResolution(String frameName, BufferedImage frame, BufferedImage fullResolutionFrame) throws IOException {
+        int differentPixels = 0;
+        String firstDifference = null;
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH; x++) {
+                int actual = frame.getRGB(x, y) & 0xFFFFFF;
+                if (!isNear(fullResolutionFrame, x, y, actual)) {
+                    if (firstDifference == null) {
+                        firstDifference = String.format("pixel %d, %d is %06X instead of %06X", x, y, actual, fullResolutionFrame.getRGB(x, y) & 0xFFFFFF);
+                    }
+                    differentPixels++;
+                }
+            }
+        }
+        if (differentPixels == 0) {
+            return null;
+        }
+        File actualFile = new File(OUTPUT_DIRECTORY, frameName + "_low.png");
+        ImageIO.write(frame, "png", actualFile);
+        return String.format("%s: %d pixels of the low resolution world differ, %s, frame written to %s", frameName, differentPixels, firstDifference, actualFile);
+    }
+
+    private static boolean isNear(BufferedImage image, int x, int y, int rgb) {
+        for (int nearY = Math.max(0, y - 1); nearY <= Math.min(HEIGHT - 1, y + 1); nearY++) {
+            for (int nearX = Math.max(0, x - 1); nearX <= Math.min(WIDTH - 1, x + 1); nearX++) {
+                if ((image.getRGB(nearX, nearY) & 0xFFFFFF) == rgb) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String writeGolden(String frameName, BufferedImage frame) throws IOException {
+        ImageIO.write(frame, "png", new File(GOLDEN_DIRECTORY, frameName + ".png"));
+        return null;
+    }
+}
@@ -0,0 +1,74 @@
+package base.graphicsservice;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import static base.constants.ColorConstant.ALPHA;
+import static base.constants.Constants.CELL_SIZE;
+import static base.constants.Constants.ZOOM;
+
+/**
+ * Frame time of drawing a screen of tiles and objects and putting it on an image, with the full
+ * resolution view against the low resolution world scaled up when it is drawn.
+ * Run with: java -cp target/test-classes:target/classes:... base.graphicsservice.RenderPathBenchmark [frames]
+ */
+class RenderPathBenchmark {
+
+    private static final int WIDTH = 1280;
+    private static final int HEIGHT = 720;
+    private static final int OBJECTS = 150;
+
+    public static void main(String[] args) {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        Sprite tile = randomSprite(32, 32, 1);
+        Sprite object = randomSprite(32, 32, 2);
+        Sprite icon = randomSprite(32, 32, 3);
+        for (int round = 1; round <= 3; round++) {
+            run(false, frames, round, tile, object, icon);
+            run(true, frames, round, tile, object, icon);
+        }
+    }
+
+    private static void run(boolean lowResolutionWorld, int frames, int round, Sprite tile, Sprite object, Sprite icon) {
+        RenderHandler renderHandler = new RenderHandler(WIDTH, HEIGHT, new Dimension(1920, 1080), lowResolutionWorld);
+        BufferedImage screen = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(round);
+        int[] objectPositions = new int[OBJECTS * 2];
+        for (int i = 0; i < objectPositions.length; i++) {
+            objectPositions[i] = random.nextInt(i % 2 == 0 ? WIDTH : HEIGHT);
+        }
+        FrameTimer frameTimer = new FrameTimer();
+        for (int frame = 0; frame < frames; frame++) {
+            long startTime = System.nanoTime();
+            Rectangle camera = renderHandler.getCamera();
+            camera.setX(frame % CELL_SIZE);
+            for (int x = camera.getX() / CELL_SIZE * CELL_SIZE - CELL_SIZE; x < camera.getX() + WIDTH + CELL_SIZE; x += CELL_SIZE) {
+                for (int y = -CELL_SIZE; y < HEIGHT + CELL_SIZE; y += CELL_SIZE) {
+                    renderHandler.renderSprite(tile, x, y, ZOOM, false);
+                }
+            }
+            for (int i = 0; i < OBJECTS; i++) {
+                renderHandler.renderSprite(object, objectPositions[i * 2], objectPositions[i * 2 + 1], ZOOM, false);
+            }
+            for (int i = 0; i < 10; i++) {
+                renderHandler.renderSprite(icon, 200 + i * 70, HEIGHT - 80, ZOOM, true);
+            }
+            Graphics graphics = screen.getGraphics();
+            renderHandler.present(graphics);
+            graphics.dispose();
+            renderHandler.clear();
+            frameTimer.addFrame(System.nanoTime() - startTime);
+        }
+        System.out.printf("round %d: %s world - %s%n", round, lowResolutionWorld ? "low resolution" : "full resolution", frameTimer);
+    }
+
+    private static Sprite randomSprite(int width, int height, long seed) {
+        Random random = new Random(seed);
+        int[] pixels = new int[width * height];
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = random.nextInt(8) == 0 ? ALPHA : 0xFF000000 | random.nextInt(0x1000000);
+        }
+        return new Sprite(width, height, pixels);
+    }
+}
@@ -0,0 +1,107 @@
+package base.graphicsservice;
+
+import base.Game;
+import base.gameobjects.GameObject;
+import base.gameobjects.Item;
+import base.map.GameMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RenderQueueTest {
+
+    private RenderQueue renderQueue;
+
+    @BeforeEach
+    public void setUp() {
+        renderQueue = new RenderQueue(6);
+        renderQueue.begin(new Rectangle(0, 0, 640, 480), 100);
+    }
+
+    @Test
+    public void takesObjectsNearCameraByLayerAndY() {
+        TestObject low = new TestObject(new Rectangle(100, 300, 32, 32), 2);
+        TestObject high = new TestObject(new Rectangle(200, 100, 32, 32), 2);
+        TestObject tall = new TestObject(new Rectangle(50, 50, 32, 250), 2);
+        TestObject inMargin = new TestObject(new Rectangle(-120, 500, 32, 32), 3);
+        TestObject farAway = new TestObject(new Rectangle(2000, 100, 32, 32), 2);
+        TestObject withoutRectangle = new TestObject(null, 2);
+        TestObject onUnknownLayer = new TestObject(new Rectangle(100, 100, 32, 32), 7);
+
+        renderQueue.addAll(List.of(low, high, tall, inMargin, farAway, withoutRectangle, onUnknownLayer));
+        renderQueue.addAlways(new TestObject(new Rectangle(5000, 5000, 32, 32), 0));
+        renderQueue.sort();
+
+        assertEquals(List.of(high, tall, low, withoutRectangle), renderQueue.getLayer(2));
+        assertEquals(List.of(inMargin), renderQueue.getLayer(3));
+        assertEquals(1, renderQueue.getLayer(0).size());
+        assertEquals(6, renderQueue.size());
+
+        renderQueue.clear();
+        assertEquals(0, renderQueue.size());
+    }
+
+    @Test
+    public void keepsOrderOfObjectsWithSameBottom() {
+        TestObject first = new TestObject(new Rectangle(300, 100, 32, 32), 2);
+        TestObject second = new TestObject(new Rectangle(200, 100, 32, 32), 2);
+        TestObject third = new TestObject(new Rectangle(250, 100, 32, 32), 2);
+
+        renderQueue.addAll(List.of(first, second, third));
+        renderQueue.sort();
+
+        assertEquals(List.of(first, second, third), renderQueue.getLayer(2));
+    }
+
+    @Test
+    public void takesIndexedObjectsNearCamera() {
+        GameMap gameMap = new GameMap("Test");
+        gameMap.setMapWidth(50);
+        gameMap.setMapHeight(50);
+        Item near = new Item(300, 200, "wood");
+        Item far = new Item(2000, 2000, "wood");
+        gameMap.addItem(near);
+        gameMap.addItem(far);
+
+        renderQueue.addFromIndex(gameMap.getObjectIndex(), GameObject.class);
+
+        assertEquals(List.of(near), renderQueue.getLayer(near.getLayer()));
+        assertEquals(1, renderQueue.size());
+    }
+
+    private static class TestObject implements GameObject {
+        private final Rectangle rectangle;
+        private final int layer;
+
+        private TestObject(Rectangle rectangle, int layer) {
+            this.rectangle = rectangle;
+            this.layer = layer;
+        }
+
+        @Override
+        public void render(RenderHandler renderer, int zoom) {
+        }
+
+        @Override
+        public void update(Game game) {
+        }
+
+        @Override
+        public int getLayer() {
+            return layer;
+        }
+
+        @Override
+        public boolean handleMouseClick(Rectangle mouseRectangle, Rectangle camera, int zoom, Game game) {
+            return false;
+        }
+
+        @Override
+        public Rectangle getRectangle() {
+            return rectangle;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package base.graphicsservice;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpriteRegistryTest {
+
+    @Test
+    public void internsEqualImagesOnce() {
+        Sprite sprite = new Sprite(2, 2, new int[]{0x101, 0x102, 0x103, 0x104});
+        Sprite sameImage = new Sprite(2, 2, new int[]{0x101, 0x102, 0x103, 0x104});
+        Sprite otherImage = new Sprite(2, 2, new int[]{0x101, 0x102, 0x103, 0x105});
+        Sprite otherSize = new Sprite(4, 1, new int[]{0x101, 0x102, 0x103, 0x104});
+
+        assertNotEquals(SpriteRegistry.NO_ID, sprite.getId());
+        assertEquals(sprite.getId(), sameImage.getId());
+        assertNotEquals(sprite.getId(), otherImage.getId());
+        assertNotEquals(sprite.getId(), otherSize.getId());
+        assertTrue(SpriteAtlas.contains(sprite.getId()));
+    }
+
+    @Test
+    public void comparesSpritesByImage() {
+        Sprite sprite = new Sprite(1, 2, new int[]{0x201, 0x202});
+        Sprite sameImage = new Sprite(1, 2, new int[]{0x201, 0x202});
+
+        assertEquals(sprite, sameImage);
+        assertEquals(sprite.hashCode(), sameImage.hashCode());
+        assertNotEquals(sprite, new Sprite(1, 2, new int[]{0x201, 0x203}));
+    }
+
+    @Test
+    public void givesIdToSpritesBuiltWithoutConstructor() {
+        Sprite loaded = new Gson().fromJson("{\"width\":1,\"height\":2,\"pixels\":[769,770]}", Sprite.class);
+        Sprite otherLoaded = new Gson().fromJson("{\"width\":1,\"height\":2,\"pixels\":[769,771]}", Sprite.class);
+
+        assertNotEquals(SpriteRegistry.NO_ID, loaded.getId());
+        assertEquals(new Sprite(1, 2, new int[]{0x301, 0x302}), loaded);
+        assertNotEquals(loaded, otherLoaded);
+        assertEquals(loaded.getId(), loaded.getFrameId());
+    }
+
+    @Test
+    public void comparesSpritesWithoutPixelsBySize() {
+        assertEquals(new Sprite(), new Sprite());
+        assertEquals(SpriteRegistry.NO_ID, new Sprite().getId());
+        assertNotEquals(new Sprite(), new Sprite(1, 1, new int[]{0x401}));
+    }
+
+    @Test
+    public void mapsItemNamesToSpriteIds() {
+        Sprite sprite = new Sprite(1, 1, new int[]{0x501});
+        SpriteRegistry.registerItem("registry-test-item", sprite);
+
+        assertEquals(sprite.getId(), SpriteRegistry.getItemSpriteId("registry-test-item"));
+        assertEquals(SpriteRegistry.NO_ID, SpriteRegistry.getItemSpriteId("registry-test-unknown"));
+        assertEquals(SpriteRegistry.NO_ID, SpriteRegistry.getItemSpriteId(null));
+    }
+}
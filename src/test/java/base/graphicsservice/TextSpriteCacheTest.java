@@ -0,0 +1,45 @@
+package base.graphicsservice;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextSpriteCacheTest {
+
+    @Test
+    public void drawsEveryTextOnce() {
+        TextSpriteCache cache = new TextSpriteCache(2);
+
+        TextSpriteCache.TextSprite sprite = cache.get("12", Font.PLAIN, 20, 0xFF000000);
+        assertSame(sprite, cache.get("12", Font.PLAIN, 20, 0xFF000000));
+        assertNotSame(sprite, cache.get("12", Font.BOLD, 20, 0xFF000000));
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+
+        assertTrue(sprite.getWidth() > 1);
+        assertTrue(sprite.getAscent() > 0 && sprite.getAscent() < sprite.getHeight());
+        boolean drawn = false;
+        for (int pixel : sprite.getPixels()) {
+            drawn |= pixel >>> 24 != 0;
+        }
+        assertTrue(drawn);
+    }
+
+    @Test
+    public void dropsLeastRecentlyUsedTexts() {
+        TextSpriteCache cache = new TextSpriteCache(2);
+        TextSpriteCache.TextSprite first = cache.get("1", Font.PLAIN, 20, 0xFF000000);
+        cache.get("2", Font.PLAIN, 20, 0xFF000000);
+        cache.get("1", Font.PLAIN, 20, 0xFF000000);
+        cache.get("3", Font.PLAIN, 20, 0xFF000000);
+
+        assertEquals(2, cache.size());
+        assertSame(first, cache.get("1", Font.PLAIN, 20, 0xFF000000));
+        assertEquals(3, cache.getMisses());
+
+        cache.get("2", Font.PLAIN, 20, 0xFF000000);
+        assertEquals(4, cache.getMisses());
+    }
+}
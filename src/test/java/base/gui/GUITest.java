@@ -0,0 +1,108 @@
+package base.gui;
+
+import base.Game;
+import base.graphicsservice.Rectangle;
+import base.graphicsservice.Sprite;
+import base.graphicsservice.SpriteRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static base.constants.Constants.INVENTORY_LIMIT;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GUITest {
+
+    private final List<String> clicked = new ArrayList<>();
+    private GUI gui;
+
+    @BeforeEach
+    public void setUp() {
+        List<GUIButton> buttons = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 5; j++) {
+                buttons.add(new TestButton(i + "" + j, new Rectangle(i * 72, j * 72, 64, 64), true));
+            }
+        }
+        buttons.add(new TestButton("anywhere", new Rectangle(0, 0, 1, 1), false));
+        gui = new GUI(buttons, 100, 100, true);
+    }
+
+    @Test
+    public void givesClicksToButtonsUnderMouse() {
+        assertTrue(gui.handleMouseClick(new Rectangle(100 + 72 * 3 + 10, 100 + 72 + 10, 1, 1), new Rectangle(), 2, null));
+        assertEquals(List.of("31", "anywhere"), clicked);
+
+        clicked.clear();
+        // touching the edge of a button counts, like Rectangle.intersects
+        assertTrue(gui.handleMouseClick(new Rectangle(100 + 64, 100, 1, 1), new Rectangle(), 2, null));
+        assertEquals(List.of("00", "anywhere"), clicked);
+
+        clicked.clear();
+        assertFalse(gui.handleMouseClick(new Rectangle(100 + 66, 100 + 66, 1, 1), new Rectangle(), 2, null));
+        assertEquals(List.of("anywhere"), clicked);
+    }
+
+    @Test
+    public void findsAddedButtons() {
+        gui.addButton(new TestButton("added", new Rectangle(1000, 1000, 64, 64), true));
+
+        assertTrue(gui.handleMouseClick(new Rectangle(1110, 1110, 1, 1), new Rectangle(), 2, null));
+        assertEquals(List.of("anywhere", "added"), clicked);
+    }
+
+    @Test
+    public void findsButtonForItemByRegisteredSprite() {
+        GUIButton fullButton = gui.getButtons().get(0);
+        fullButton.setSprite(new Sprite(1, 1, new int[]{0x601}));
+        fullButton.setObjectCount(INVENTORY_LIMIT);
+        GUIButton itemButton = gui.getButtons().get(1);
+        itemButton.setSprite(new Sprite(1, 1, new int[]{0x601}));
+        GUIButton otherButton = gui.getButtons().get(2);
+        otherButton.setSprite(new Sprite(1, 1, new int[]{0x602}));
+        SpriteRegistry.registerItem("gui-test-item", new Sprite(1, 1, new int[]{0x601}));
+
+        // the registered sprite of the item name wins over the sprite passed in
+        assertSame(itemButton, gui.getButtonForItem("gui-test-item", new Sprite(1, 1, new int[]{0x602})));
+        assertSame(otherButton, gui.getButtonForItem("gui-test-unknown", new Sprite(1, 1, new int[]{0x602})));
+        assertSame(gui.getButtons().get(3), gui.getButtonForItem("gui-test-unknown", new Sprite(1, 1, new int[]{0x603})));
+        assertSame(gui.getButtons().get(3), gui.getButtonForItem("gui-test-unknown", null));
+    }
+
+    private class TestButton extends GUIButton {
+        private final String name;
+        private final boolean hitOnlyInRectangle;
+
+        private TestButton(String name, Rectangle rectangle, boolean hitOnlyInRectangle) {
+            super(null, rectangle, true);
+            this.name = name;
+            this.hitOnlyInRectangle = hitOnlyInRectangle;
+        }
+
+        @Override
+        public boolean handleMouseClick(Rectangle mouseRectangle, Rectangle camera, int zoom, Game game) {
+            if (!hitOnlyInRectangle) {
+                clicked.add(name);
+                return false;
+            }
+            return super.handleMouseClick(mouseRectangle, camera, zoom, game);
+        }
+
+        @Override
+        protected boolean isHitOnlyInRectangle() {
+            return hitOnlyInRectangle;
+        }
+
+        @Override
+        public void activate(Game game) {
+            clicked.add(name);
+        }
+
+        @Override
+        public int getLayer() {
+            return 5;
+        }
+    }
+}
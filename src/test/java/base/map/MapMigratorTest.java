@@ -0,0 +1,45 @@
+package base.map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static base.constants.Constants.CURRENT_MAP_SCHEMA_VERSION;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MapMigratorTest {
+
+    private MapMigrator mapMigrator;
+    private GameMap gameMap;
+
+    @BeforeEach
+    public void setUp() {
+        mapMigrator = new MapMigrator();
+        gameMap = new GameMap("TestMap");
+        gameMap.setTile(1, 1, 20, 2, true);
+        gameMap.setTile(2, 1, 137, 2, false);
+    }
+
+    @Test
+    public void migratesOldMapOnce() {
+        assertEquals(0, gameMap.getSchemaVersion());
+
+        assertTrue(mapMigrator.migrateToCurrentSchema(gameMap));
+        assertEquals(CURRENT_MAP_SCHEMA_VERSION, gameMap.getSchemaVersion());
+        assertEquals(1, gameMap.getFridges().size());
+        assertEquals(1, gameMap.getTilesOnLayer(1).size());
+        assertEquals(20, gameMap.getTilesOnLayer(1).get(0).getId());
+        assertEquals(1, gameMap.getTilesOnLayer(2).size());
+
+        assertFalse(mapMigrator.migrateToCurrentSchema(gameMap));
+        assertEquals(1, gameMap.getFridges().size());
+    }
+
+    @Test
+    public void skipsMapOnCurrentSchema() {
+        gameMap.setSchemaVersion(CURRENT_MAP_SCHEMA_VERSION);
+
+        assertFalse(mapMigrator.migrateToCurrentSchema(gameMap));
+        assertTrue(gameMap.getFridges().isEmpty());
+        assertNull(gameMap.getTilesOnLayer(1));
+    }
+}
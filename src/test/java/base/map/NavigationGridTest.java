@@ -0,0 +1,81 @@
+package base.map;
+
+import base.graphicsservice.Rectangle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NavigationGridTest {
+
+    private GameMap gameMap;
+
+    @BeforeEach
+    public void setUp() {
+        gameMap = new GameMap("TestMap");
+        gameMap.setMapWidth(10);
+        gameMap.setMapHeight(10);
+        gameMap.setTile(3, 3, 20, 2, true);
+        gameMap.setTile(6, 6, 0, 2, false);
+    }
+
+    @Test
+    public void updatesCellsWhenTilesChange() {
+        NavigationGrid grid = gameMap.getNavigationGrid();
+        assertTrue(grid.isBlocked(2, 3 * 64 + 10, 3 * 64 + 10, 16, 16));
+        assertFalse(grid.isBlocked(2, 4 * 64 + 10, 4 * 64 + 10, 16, 16));
+
+        gameMap.setTile(4, 4, 20, 2, true);
+        assertTrue(gameMap.getNavigationGrid().isBlocked(2, 4 * 64 + 10, 4 * 64 + 10, 16, 16));
+
+        assertTrue(gameMap.removeTile(3, 3, 2, true, 20));
+        assertFalse(gameMap.getNavigationGrid().isBlocked(2, 3 * 64 + 10, 3 * 64 + 10, 16, 16));
+        assertFalse(gameMap.getNavigationGrid().isOccupied(2, 3 * 64 + 10, 3 * 64 + 10, 16, 16));
+    }
+
+    @Test
+    public void keepsGridsInUseUnchanged() {
+        NavigationGrid grid = gameMap.getNavigationGrid();
+
+        gameMap.setTile(4, 4, 20, 2, true);
+        assertTrue(gameMap.removeTile(3, 3, 2, true, 20));
+
+        assertFalse(grid.isBlocked(2, 4 * 64 + 10, 4 * 64 + 10, 16, 16));
+        assertTrue(grid.isBlocked(2, 3 * 64 + 10, 3 * 64 + 10, 16, 16));
+        assertNotSame(grid, gameMap.getNavigationGrid());
+    }
+
+    @Test
+    public void waterCornersAreWalkable() {
+        NavigationGrid grid = gameMap.getNavigationGrid();
+        int x = 6 * 64 + 10;
+        int y = 6 * 64 + 10;
+
+        assertFalse(grid.isBlocked(2, x, y, 16, 16));
+        assertFalse(grid.isBlockedForWalking(2, x, y, 16, 16));
+        assertTrue(grid.isOccupied(2, x, y, 16, 16));
+        assertTrue(grid.isThereWater(x, y, 16, 16));
+    }
+
+    /**
+     * The baseline let the first touching tile of the layer list decide, here any touched tile counts,
+     * whatever the order of the tiles
+     */
+    @Test
+    public void anyTouchedTileDecides() {
+        // the water corner at 6, 6 is listed before the full water tile next to it
+        gameMap.setTile(7, 6, 4, 2, false);
+        // grass terrain is listed before the water tile under it
+        gameMap.setTile(1, 8, 20, 2, false);
+        gameMap.setTile(2, 8, 4, 2, false);
+        NavigationGrid grid = gameMap.getNavigationGrid();
+
+        int y = 6 * 64 + 10;
+        assertFalse(grid.isBlockedForWalking(2, 7 * 64 - 20, y, 16, 16));
+        assertTrue(grid.isBlockedForWalking(2, 7 * 64 - 8, y, 16, 16));
+        assertTrue(grid.isBlocked(2, 7 * 64 - 8, y, 16, 16));
+
+        assertFalse(gameMap.isThereWaterTile(new Rectangle(2 * 64 - 20, 8 * 64 + 10, 16, 16)));
+        assertTrue(gameMap.isThereWaterTile(new Rectangle(2 * 64 - 8, 8 * 64 + 10, 16, 16)));
+    }
+}
@@ -0,0 +1,83 @@
+package base.map;
+
+import base.gameobjects.FoodBowl;
+import base.gameobjects.Item;
+import base.graphicsservice.Rectangle;
+
+import java.util.Random;
+
+import static base.constants.Constants.CELL_SIZE;
+
+/**
+ * Time taken by "is there food here" checks, scanning the lists against asking the object index, with
+ * more and more items dropped on a 40x40 map.
+ * Run with: java -cp target/test-classes:target/classes:... base.map.ObjectQueryBenchmark [queries]
+ */
+class ObjectQueryBenchmark {
+
+    private static final int MAP_SIZE = 40;
+    private static final int[] ITEM_COUNTS = {10, 100, 500, 1000, 2000};
+
+    public static void main(String[] args) {
+        int queries = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        for (int round = 1; round <= 3; round++) {
+            for (int items : ITEM_COUNTS) {
+                run(items, queries, round);
+            }
+        }
+    }
+
+    private static void run(int itemCount, int queries, int round) {
+        Random random = new Random(itemCount);
+        GameMap gameMap = new GameMap("Benchmark");
+        gameMap.setMapWidth(MAP_SIZE);
+        gameMap.setMapHeight(MAP_SIZE);
+        for (int i = 0; i < itemCount; i++) {
+            gameMap.addItem(new Item(random.nextInt(MAP_SIZE * CELL_SIZE), random.nextInt(MAP_SIZE * CELL_SIZE), "wood"));
+        }
+        for (int i = 0; i < 10; i++) {
+            gameMap.addFoodBowl(new FoodBowl(random.nextInt(MAP_SIZE * CELL_SIZE), random.nextInt(MAP_SIZE * CELL_SIZE), true));
+        }
+        Rectangle[] probes = new Rectangle[1024];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = new Rectangle(random.nextInt(MAP_SIZE * CELL_SIZE), random.nextInt(MAP_SIZE * CELL_SIZE), 16, 16);
+        }
+        gameMap.getObjectIndex();
+
+        int found = 0;
+        long startTime = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            found += scan(gameMap, probes[i & (probes.length - 1)]) ? 1 : 0;
+        }
+        long scanTime = System.nanoTime() - startTime;
+
+        int foundInIndex = 0;
+        startTime = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            Rectangle probe = probes[i & (probes.length - 1)];
+            foundInIndex += gameMap.findFullFoodBowl(probe) != null || gameMap.findItem(probe) != null ? 1 : 0;
+        }
+        long indexTime = System.nanoTime() - startTime;
+
+        System.out.printf("round %d: %4d items, scan %7.1f ns, index %5.1f ns per query, %d of %d found%s%n",
+                round, itemCount, (double) scanTime / queries, (double) indexTime / queries, foundInIndex, queries,
+                found == foundInIndex ? "" : String.format(" (scan found %d)", found));
+    }
+
+    /**
+     * The lists were scanned like this before the index
+     */
+    private static boolean scan(GameMap gameMap, Rectangle rectangle) {
+        for (FoodBowl foodBowl : gameMap.getFoodBowls()) {
+            if (foodBowl.isFull() && foodBowl.getRectangle().intersects(rectangle)) {
+                return true;
+            }
+        }
+        for (Item item : gameMap.getItems()) {
+            if (item != null && item.getRectangle().intersects(rectangle)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
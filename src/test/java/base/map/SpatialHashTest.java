@@ -0,0 +1,76 @@
+package base.map;
+
+import base.gameobjects.FoodBowl;
+import base.gameobjects.Item;
+import base.gameobjects.Oak;
+import base.gameobjects.Plant;
+import base.graphicsservice.Rectangle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpatialHashTest {
+
+    private GameMap gameMap;
+
+    @BeforeEach
+    public void setUp() {
+        gameMap = new GameMap("TestMap");
+        gameMap.setMapWidth(10);
+        gameMap.setMapHeight(10);
+        gameMap.addObject(new Oak(100, 100));
+    }
+
+    @Test
+    public void findsObjectsOnTheirLayer() {
+        SpatialHash colliders = gameMap.getColliders();
+
+        assertTrue(colliders.intersectsAny(180, 230, 16, 16, 2));
+        assertFalse(colliders.intersectsAny(180, 230, 16, 16, 1));
+        assertFalse(colliders.intersectsAny(400, 400, 16, 16, 2));
+        // rectangles touching at an edge intersect
+        assertTrue(colliders.intersectsAny(198, 243, 16, 16, 2));
+
+        assertEquals(1, colliders.findAll(new Rectangle(0, 0, 640, 640), Oak.class).size());
+    }
+
+    @Test
+    public void followsAddedAndRemovedObjects() {
+        SpatialHash colliders = gameMap.getColliders();
+        FoodBowl bowl = new FoodBowl(448, 448);
+        FoodBowl farBowl = new FoodBowl(-1000, 50);
+
+        gameMap.addFoodBowl(bowl);
+        gameMap.addFoodBowl(farBowl);
+        assertEquals(3, colliders.size());
+        assertTrue(colliders.intersectsAny(450, 450, 16, 16, 1));
+        assertTrue(colliders.intersectsAny(-990, 60, 16, 16, 1));
+
+        assertTrue(gameMap.removeBowl(bowl));
+        assertTrue(gameMap.removeBowl(farBowl));
+        assertEquals(1, colliders.size());
+        assertFalse(colliders.intersectsAny(450, 450, 16, 16, 1));
+        assertFalse(colliders.intersectsAny(-990, 60, 16, 16, 1));
+    }
+
+    @Test
+    public void findsObjectsByType() {
+        gameMap.addItem(new Item(200, 200, "feather"));
+        gameMap.addItem(new Item(210, 200, "wood"));
+        gameMap.addItem(new Item(500, 500, "wood"));
+        gameMap.addPlant(new Plant(320, 64, "carrot"));
+        gameMap.addFoodBowl(new FoodBowl(200, 240));
+
+        Rectangle around = new Rectangle(190, 190, 40, 40);
+        assertEquals(2, gameMap.findItems(around).size());
+        assertNull(gameMap.findFullFoodBowl(new Rectangle(200, 240, 16, 16)));
+        assertNotNull(gameMap.getPlantAt(320, 64));
+        assertNull(gameMap.getPlantAt(330, 64));
+
+        gameMap.removeItem("wood", around);
+        assertEquals(1, gameMap.findItems(around).size());
+        assertEquals("feather", gameMap.findItem(around).getItemName());
+        assertEquals(2, gameMap.getItems().size());
+    }
+}
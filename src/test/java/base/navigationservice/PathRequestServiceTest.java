@@ -0,0 +1,80 @@
+package base.navigationservice;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PathRequestServiceTest {
+
+    private PathRequestService pathRequestService;
+    private List<Route> appliedRoutes;
+
+    @BeforeEach
+    public void setUp() {
+        pathRequestService = new PathRequestService(2, 2);
+        appliedRoutes = new ArrayList<>();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pathRequestService.shutdown();
+    }
+
+    @Test
+    public void appliesResultsWithinBudget() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(pathRequestService.submit("animal-" + i, this::routeDown, appliedRoutes::add));
+        }
+        waitForResults(3);
+
+        pathRequestService.applyResults();
+        assertEquals(2, appliedRoutes.size());
+        assertEquals(1, pathRequestService.getWaitingResults());
+
+        pathRequestService.applyResults();
+        assertEquals(3, appliedRoutes.size());
+        assertEquals(3, pathRequestService.getAppliedResults());
+        assertEquals(0, pathRequestService.getQueueDepth());
+        assertTrue(pathRequestService.getMaxLatencyMillis() >= pathRequestService.getAverageLatencyMillis());
+    }
+
+    @Test
+    public void keepsOneRequestPerRequester() throws InterruptedException {
+        assertTrue(pathRequestService.submit("animal", this::routeDown, appliedRoutes::add));
+        assertFalse(pathRequestService.submit("animal", this::routeDown, appliedRoutes::add));
+        assertTrue(pathRequestService.isPending("animal"));
+
+        waitForResults(1);
+        pathRequestService.applyResults();
+        assertEquals(1, appliedRoutes.size());
+        assertFalse(pathRequestService.isPending("animal"));
+    }
+
+    @Test
+    public void dropsCancelledResults() throws InterruptedException {
+        pathRequestService.submit("animal", this::routeDown, appliedRoutes::add);
+        pathRequestService.cancel("animal");
+
+        waitForResults(1);
+        pathRequestService.applyResults();
+        assertTrue(appliedRoutes.isEmpty());
+    }
+
+    private Route routeDown() {
+        Route route = new Route();
+        route.addStep(Direction.DOWN);
+        return route;
+    }
+
+    private void waitForResults(int results) throws InterruptedException {
+        for (int i = 0; i < 500 && pathRequestService.getWaitingResults() < results; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(results, pathRequestService.getWaitingResults());
+    }
+}
@@ -0,0 +1,72 @@
+package base.navigationservice;
+
+import base.gameobjects.Portal;
+import base.graphicsservice.Rectangle;
+import base.map.GameMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static base.constants.MapConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PortalGraphTest {
+
+    private PortalGraph portalGraph;
+    private Map<String, GameMap> gameMaps;
+    private Rectangle walker;
+
+    @BeforeEach
+    public void setUp() {
+        gameMaps = new HashMap<>();
+        addMap(MAIN_MAP, new Portal(new Rectangle(640, 320, 64, 64), HOME_MAP), new Portal(new Rectangle(320, -64, 64, 64), FOREST_MAP));
+        addMap(HOME_MAP, new Portal(new Rectangle(-64, 320, 64, 64), MAIN_MAP), new Portal(new Rectangle(640, 320, 64, 64), TOP_LEFT_MAP));
+        addMap(TOP_LEFT_MAP, new Portal(new Rectangle(-64, 320, 64, 64), HOME_MAP));
+        addMap(FOREST_MAP, new Portal(new Rectangle(320, 640, 64, 64), MAIN_MAP));
+        portalGraph = new PortalGraph(new RouteCalculator(), gameMaps);
+        walker = new Rectangle(320, 320, 16, 16);
+    }
+
+    @Test
+    public void findsNextMapOnTheWay() {
+        assertEquals(HOME_MAP, portalGraph.getNextMap(TOP_LEFT_MAP, walker, MAIN_MAP, ANIMAL_RESTRICTED_MAPS));
+        assertEquals(HOME_MAP, portalGraph.getNextMap(MAIN_MAP, walker, TOP_LEFT_MAP, ANIMAL_RESTRICTED_MAPS));
+        assertEquals(MAIN_MAP, portalGraph.getNextMap(FOREST_MAP, walker, TOP_LEFT_MAP, ANIMAL_RESTRICTED_MAPS));
+        assertNull(portalGraph.getNextMap(MAIN_MAP, walker, FOREST_MAP, ANIMAL_RESTRICTED_MAPS));
+        assertEquals(FOREST_MAP, portalGraph.getNextMap(MAIN_MAP, walker, FOREST_MAP, Collections.emptyList()));
+    }
+
+    @Test
+    public void ordersMapsByDistance() {
+        assertEquals(Arrays.asList(HOME_MAP, MAIN_MAP), portalGraph.getMapsByDistance(TOP_LEFT_MAP, walker, ANIMAL_RESTRICTED_MAPS));
+        assertEquals(Arrays.asList(MAIN_MAP, HOME_MAP, TOP_LEFT_MAP), portalGraph.getMapsByDistance(FOREST_MAP, walker, ANIMAL_RESTRICTED_MAPS));
+    }
+
+    @Test
+    public void restrictedMapsIgnoreCase() {
+        assertNull(portalGraph.getNextMap(MAIN_MAP, walker, FOREST_MAP, Collections.singletonList(FOREST_MAP.toUpperCase())));
+        assertTrue(isAnimalRestrictedMap(CITY_MAP.toLowerCase()));
+        assertFalse(isAnimalRestrictedMap(HOME_MAP));
+    }
+
+    @Test
+    public void unknownMapsHaveNoWay() {
+        assertNull(portalGraph.getNextMap(null, walker, MAIN_MAP, ANIMAL_RESTRICTED_MAPS));
+        assertTrue(portalGraph.getMapsByDistance(null, walker, ANIMAL_RESTRICTED_MAPS).isEmpty());
+        assertNull(portalGraph.getNextMap(MAIN_MAP, walker, null, ANIMAL_RESTRICTED_MAPS));
+    }
+
+    private void addMap(String mapName, Portal... portals) {
+        GameMap gameMap = new GameMap(mapName);
+        gameMap.setMapWidth(10);
+        gameMap.setMapHeight(10);
+        for (Portal portal : portals) {
+            gameMap.addObject(portal);
+        }
+        gameMaps.put(mapName, gameMap);
+    }
+}
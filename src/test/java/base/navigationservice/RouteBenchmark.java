@@ -0,0 +1,50 @@
+package base.navigationservice;
+
+import java.lang.management.ManagementFactory;
+
+import static base.navigationservice.Direction.*;
+
+/**
+ * Memory allocated and time taken by a route over its life: built step by step by a search, kept by the
+ * route cache, handed out and followed step by step by a walker.
+ * Run with: java -cp target/test-classes:target/classes:... base.navigationservice.RouteBenchmark [routes]
+ */
+class RouteBenchmark {
+
+    private static final Direction[] SHAPE = {RIGHT, RIGHT, RIGHT, RIGHT, RIGHT, RIGHT, RIGHT, RIGHT, RIGHT, RIGHT, RIGHT, RIGHT,
+            DOWN, DOWN, DOWN, DOWN, DOWN, DOWN, DOWN, DOWN, RIGHT, RIGHT, RIGHT, RIGHT, RIGHT, RIGHT,
+            UP, UP, UP, RIGHT, RIGHT, RIGHT, RIGHT, RIGHT, RIGHT, RIGHT, RIGHT, DOWN, DOWN, DOWN};
+
+    public static void main(String[] args) {
+        int routes = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        for (int round = 1; round <= 3; round++) {
+            run(routes, round);
+        }
+    }
+
+    private static void run(int routes, int round) {
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        long startTime = System.nanoTime();
+        long followedSteps = 0;
+        for (int i = 0; i < routes; i++) {
+            Route found = new Route();
+            for (Direction direction : SHAPE) {
+                found.addStep(direction);
+            }
+            RouteCache cache = new RouteCache(1);
+            RouteCache.Key key = RouteCache.key(null, 0, "food", 0, 0, 16, 16);
+            cache.put(key, found);
+            Route route = cache.get(key, steps -> true);
+            while (!route.isEmpty()) {
+                route.getNextStep();
+                followedSteps++;
+            }
+        }
+        long time = System.nanoTime() - startTime;
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        System.out.printf("round %d: %d routes, %d steps followed, %d bytes allocated per route, %.1f ns per route%n",
+                round, routes, followedSteps, allocated / routes, (double) time / routes);
+    }
+}
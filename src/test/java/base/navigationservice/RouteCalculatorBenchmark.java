@@ -0,0 +1,106 @@
+package base.navigationservice;
+
+import base.constants.Constants;
+import base.constants.VisibleText;
+import base.gameobjects.Animal;
+import base.gameobjects.Portal;
+import base.gameobjects.animals.Cat;
+import base.map.GameMap;
+import com.google.gson.Gson;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static base.constants.Constants.CELL_SIZE;
+import static base.constants.FilePath.JSON_MAPS_DIRECTORY;
+import static base.constants.MapConstants.FOREST_MAP;
+import static base.constants.MapConstants.MAIN_MAP;
+import static base.navigationservice.RouteCalculator.*;
+
+/**
+ * Not a test, run manually: finds routes from a spread of start positions to every portal, food, water
+ * and pillow on the bundled maps and prints expanded nodes and time.
+ * Usage: RouteCalculatorBenchmark [starts per map] [rounds]
+ */
+public class RouteCalculatorBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int starts = args.length > 0 ? Integer.parseInt(args[0]) : 40;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        Constants.LANGUAGE = "eng";
+        VisibleText.initializeTranslations();
+        for (String mapName : new String[]{MAIN_MAP, FOREST_MAP}) {
+            benchmark(loadMap(mapName), starts, rounds);
+        }
+    }
+
+    private static GameMap loadMap(String mapName) throws IOException {
+        try (Reader reader = new FileReader(JSON_MAPS_DIRECTORY + mapName)) {
+            return new Gson().fromJson(reader, GameMap.class);
+        }
+    }
+
+    private static void benchmark(GameMap gameMap, int starts, int rounds) {
+        RouteCalculator routeCalculator = new RouteCalculator();
+        Animal animal = new Cat(0, 0, 1, "black");
+        List<String> portals = new ArrayList<>();
+        for (Portal portal : gameMap.getPortals()) {
+            portals.add(portal.getDirection());
+        }
+        List<String> sharedDestinations = Arrays.asList(FOOD, WATER, PILLOW);
+
+        List<int[]> startPositions = getStartPositions(gameMap, routeCalculator, animal, starts);
+        for (int round = 1; round <= rounds; round++) {
+            run(gameMap, routeCalculator, animal, startPositions, portals, round, "portals");
+            run(gameMap, routeCalculator, animal, startPositions, sharedDestinations, round, "food, water, pillow");
+        }
+        System.out.printf("%s %s%n", gameMap.getMapName(), routeCalculator.getRouteCacheStatistics());
+    }
+
+    private static void run(GameMap gameMap, RouteCalculator routeCalculator, Animal animal, List<int[]> startPositions,
+                            List<String> destinations, int round, String description) {
+        long expandedBefore = routeCalculator.getExpandedNodes();
+        long steps = 0;
+        long runs = 0;
+        int found = 0;
+        int searches = 0;
+        long startTime = System.nanoTime();
+        for (int[] position : startPositions) {
+            for (String destination : destinations) {
+                animal.getRectangle().setX(position[0]);
+                animal.getRectangle().setY(position[1]);
+                Route route = routeCalculator.calculateRoute(gameMap, animal, destination);
+                steps += route.size();
+                runs += route.getRunCount();
+                found += route.isEmpty() ? 0 : 1;
+                searches++;
+            }
+        }
+        long time = System.nanoTime() - startTime;
+        long expanded = routeCalculator.getExpandedNodes() - expandedBefore;
+        System.out.printf("%s round %d, %s: %d searches, %d found, %d route steps in %d runs, %d expanded nodes, %.1f ms total, %.3f ms per search%n",
+                gameMap.getMapName(), round, description, searches, found, steps, runs, expanded, time / 1e6, time / 1e6 / Math.max(1, searches));
+    }
+
+    /**
+     * Walkable positions spread over the whole map, slightly off the 32 pixel grid like real animals
+     */
+    private static List<int[]> getStartPositions(GameMap gameMap, RouteCalculator routeCalculator, Animal animal, int starts) {
+        List<int[]> positions = new ArrayList<>();
+        int width = gameMap.getMapWidth() * CELL_SIZE;
+        int height = gameMap.getMapHeight() * CELL_SIZE;
+        int step = (int) Math.max(1, Math.sqrt((double) width * height / starts));
+        for (int y = step / 2; y < height; y += step) {
+            for (int x = step / 2; x < width; x += step) {
+                if (routeCalculator.isWalkable(gameMap, x + 5, y + 3, animal.getRectangle().getWidth(), animal.getRectangle().getHeight(), null)) {
+                    positions.add(new int[]{x + 5, y + 3});
+                }
+            }
+        }
+        return positions;
+    }
+}
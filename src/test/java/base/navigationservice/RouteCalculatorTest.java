@@ -0,0 +1,206 @@
+package base.navigationservice;
+
+import base.gameobjects.FoodBowl;
+import base.gameobjects.Portal;
+import base.gameobjects.npc.NpcSpot;
+import base.gameobjects.npc.NpcType;
+import base.graphicsservice.Rectangle;
+import base.map.GameMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static base.constants.MapConstants.FOREST_MAP;
+import static base.navigationservice.RouteCalculator.FOOD;
+import static base.navigationservice.RouteCalculator.NPC;
+import static base.navigationservice.RouteCalculator.NPC_SPOT;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteCalculatorTest {
+
+    private RouteCalculator routeCalculator;
+    private GameMap gameMap;
+    private Portal portal;
+
+    @BeforeEach
+    public void setUp() {
+        routeCalculator = new RouteCalculator();
+        gameMap = new GameMap("TestMap");
+        gameMap.setMapWidth(10);
+        gameMap.setMapHeight(10);
+        portal = new Portal(new Rectangle(576, 320, 64, 64), FOREST_MAP);
+        gameMap.addObject(portal);
+    }
+
+    @Test
+    public void findsShortestRouteToPortal() {
+        Rectangle animal = new Rectangle(69, 323, 16, 16);
+
+        Route route = routeCalculator.calculateRoute(gameMap, animal, FOREST_MAP);
+
+        assertEquals(16, route.getAllSteps().size());
+        assertTrue(walk(animal, route).intersects(portal.getRectangle()));
+    }
+
+    @Test
+    public void walksAroundWall() {
+        for (int y = 0; y < 9; y++) {
+            gameMap.setTile(5, y, 20, 2, true);
+        }
+        Rectangle animal = new Rectangle(69, 323, 16, 16);
+
+        Route route = routeCalculator.calculateRoute(gameMap, animal, FOREST_MAP);
+
+        assertFalse(route.isEmpty());
+        assertTrue(walk(animal, route).intersects(portal.getRectangle()));
+    }
+
+    @Test
+    public void returnsEmptyRouteWhenPortalIsWalledOff() {
+        for (int y = -1; y <= 10; y++) {
+            gameMap.setTile(5, y, 20, 2, true);
+        }
+        Rectangle animal = new Rectangle(69, 323, 16, 16);
+
+        assertTrue(routeCalculator.calculateRoute(gameMap, animal, FOREST_MAP).isEmpty());
+        assertTrue(routeCalculator.calculateRoute(gameMap, animal, "Nowhere").isEmpty());
+    }
+
+    @Test
+    public void updatesFoodRoutesWhenBowlsChange() {
+        Rectangle animal = new Rectangle(69, 323, 16, 16);
+        assertTrue(routeCalculator.calculateRoute(gameMap, animal, FOOD).isEmpty());
+
+        FoodBowl bowl = new FoodBowl(384, 128, true);
+        gameMap.addFoodBowl(bowl);
+        Route route = routeCalculator.calculateRoute(gameMap, animal, FOOD);
+        assertFalse(route.isEmpty());
+        assertTrue(walk(animal, route).intersects(bowl.getRectangle()));
+
+        assertTrue(gameMap.removeBowl(bowl));
+        assertTrue(routeCalculator.calculateRoute(gameMap, animal, FOOD).isEmpty());
+    }
+
+    @Test
+    public void findsNpcSpotAddedAfterFieldWasBuilt() {
+        Rectangle animal = new Rectangle(69, 323, 16, 16);
+        assertTrue(routeCalculator.calculateRoute(gameMap, animal, NPC_SPOT).isEmpty());
+
+        NpcSpot npcSpot = new NpcSpot(new Rectangle(384, 128, 16, 16), NpcType.ADOPTION);
+        gameMap.addObject(npcSpot);
+        Route route = routeCalculator.calculateRoute(gameMap, animal, NPC_SPOT);
+        assertFalse(route.isEmpty());
+        assertTrue(walk(animal, route).intersects(npcSpot.getRectangle()));
+    }
+
+    @Test
+    public void walksToCopyOfNpc() {
+        Rectangle animal = new Rectangle(69, 323, 16, 16);
+        Rectangle npc = new Rectangle(384, 128, 16, 16);
+        RouteStart start = new RouteStart(gameMap.getMapName(), animal, "animal", gameMap.getMapName(), npc);
+        // the npc walks away after the copy was made
+        npc.setX(0);
+        npc.setY(0);
+
+        Route route = routeCalculator.calculateRoute(gameMap, start, NPC);
+
+        assertFalse(route.isEmpty());
+        assertTrue(walk(animal, route).intersects(new Rectangle(384, 128, 16, 16)));
+        // no copy of the npc, or a copy from another map, finds no route instead of reading the map
+        assertTrue(routeCalculator.calculateRoute(gameMap, new RouteStart(gameMap.getMapName(), animal, "animal"), NPC).isEmpty());
+        assertTrue(routeCalculator.calculateRoute(gameMap, new RouteStart(gameMap.getMapName(), animal, "animal", FOREST_MAP, npc), NPC).isEmpty());
+    }
+
+    @Test
+    public void reusesRoutesUntilTilesChange() {
+        Route first = routeCalculator.calculateRoute(gameMap, new Rectangle(69, 323, 16, 16), FOREST_MAP);
+        Route second = routeCalculator.calculateRoute(gameMap, new Rectangle(75, 330, 16, 16), FOREST_MAP);
+        assertEquals(first.getAllSteps(), second.getAllSteps());
+        assertEquals(0.5, routeCalculator.getRouteCacheHitRatio());
+
+        for (int y = 0; y < 9; y++) {
+            gameMap.setTile(5, y, 20, 2, true);
+        }
+        Rectangle animal = new Rectangle(69, 323, 16, 16);
+        Route route = routeCalculator.calculateRoute(gameMap, animal, FOREST_MAP);
+        assertTrue(walk(animal, route).intersects(portal.getRectangle()));
+        assertEquals(1 / 3.0, routeCalculator.getRouteCacheHitRatio(), 0.001);
+    }
+
+    @Test
+    public void searchesFromStartCopyWhileWalkerAndMapChange() throws InterruptedException {
+        // Game builds the targets when it loads a map
+        gameMap.getRouteTargets();
+        Rectangle animal = new Rectangle(69, 323, 16, 16);
+        RouteStart start = new RouteStart(gameMap.getMapName(), animal, "animal");
+        CountDownLatch searching = new CountDownLatch(1);
+        CountDownLatch moved = new CountDownLatch(1);
+        List<Route> routes = new ArrayList<>();
+        PathRequestService pathRequestService = new PathRequestService(1, 1);
+        try {
+            assertTrue(pathRequestService.submit("animal", () -> {
+                searching.countDown();
+                awaitQuietly(moved);
+                return routeCalculator.calculateRoute(gameMap, start, FOREST_MAP);
+            }, routes::add));
+            assertTrue(searching.await(5, TimeUnit.SECONDS));
+            animal.setX(300);
+            animal.setY(100);
+            moved.countDown();
+            // the game thread keeps adding portals and bowls while the search runs
+            for (int i = 0; i < 500 && pathRequestService.getWaitingResults() == 0; i++) {
+                gameMap.addObject(new Portal(new Rectangle(0, 0, 64, 64), "Map" + i));
+                gameMap.addFoodBowl(new FoodBowl(384, 128, true));
+            }
+            for (int i = 0; i < 500 && pathRequestService.getWaitingResults() == 0; i++) {
+                Thread.sleep(10);
+            }
+            pathRequestService.applyResults();
+        } finally {
+            pathRequestService.shutdown();
+        }
+
+        assertEquals(1, routes.size());
+        Route route = routes.get(0);
+        assertEquals(16, route.getAllSteps().size());
+        assertTrue(walk(new Rectangle(69, 323, 16, 16), route).intersects(portal.getRectangle()));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Follows the route like an animal does and checks that it never steps on a blocked position
+     */
+    private Rectangle walk(Rectangle start, Route route) {
+        Rectangle position = new Rectangle(start.getX(), start.getY(), start.getWidth(), start.getHeight());
+        for (Direction direction : route.getAllSteps()) {
+            int pixels = NavigationService.getPixelsToAdjustPosition(direction, position.getX(), position.getY());
+            switch (direction) {
+                case UP:
+                    position.setY(position.getY() - pixels);
+                    break;
+                case DOWN:
+                    position.setY(position.getY() + pixels);
+                    break;
+                case LEFT:
+                    position.setX(position.getX() - pixels);
+                    break;
+                case RIGHT:
+                    position.setX(position.getX() + pixels);
+                    break;
+            }
+            assertTrue(routeCalculator.isWalkable(gameMap, position.getX(), position.getY(), position.getWidth(), position.getHeight(), FOREST_MAP));
+        }
+        return position;
+    }
+}
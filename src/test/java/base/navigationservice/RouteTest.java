@@ -0,0 +1,65 @@
+package base.navigationservice;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static base.navigationservice.Direction.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteTest {
+
+    @Test
+    public void followsStepsInRuns() {
+        Route route = new Route();
+        route.addStep(RIGHT);
+        route.addStep(RIGHT);
+        route.addStep(DOWN);
+        route.addSteps(RIGHT, 2);
+
+        assertEquals(3, route.getRunCount());
+        assertEquals(5, route.size());
+        assertEquals(RIGHT, route.getLastStep());
+        assertEquals(RIGHT, route.getNextStep());
+        assertEquals(Arrays.asList(RIGHT, DOWN, RIGHT, RIGHT), route.getAllSteps());
+        assertEquals(RIGHT, route.getNextStep());
+        assertEquals(DOWN, route.getNextStep());
+        assertEquals(RIGHT, route.getNextStep());
+        assertEquals(RIGHT, route.getNextStep());
+        assertTrue(route.isEmpty());
+
+        route.addStep(UP);
+        assertEquals(UP, route.getNextStep());
+        assertTrue(route.isEmpty());
+    }
+
+    @Test
+    public void keepsEveryDirection() {
+        Route route = new Route();
+        route.addStep(SLEEP_RIGHT);
+        route.addSteps(EAT_RIGHT, 2);
+        route.addStep(WAKEUP_RIGHT);
+
+        assertEquals(4, route.size());
+        assertEquals(3, route.getRunCount());
+        assertEquals(WAKEUP_RIGHT, route.getLastStep());
+        assertEquals(Arrays.asList(SLEEP_RIGHT, EAT_RIGHT, EAT_RIGHT, WAKEUP_RIGHT), route.getAllSteps());
+        assertEquals(SLEEP_RIGHT, route.getNextStep());
+        assertEquals(2, route.getRunLength(0));
+        assertEquals(EAT_RIGHT, route.getNextStep());
+    }
+
+    @Test
+    public void copiesShareStepsUntilChanged() {
+        Route route = new Route();
+        route.addSteps(LEFT, 3);
+        route.addStep(UP);
+
+        Route copy = route.copy();
+        copy.getNextStep();
+        copy.addStep(UP);
+
+        assertEquals(Arrays.asList(LEFT, LEFT, LEFT, UP), route.getAllSteps());
+        assertEquals(Arrays.asList(LEFT, LEFT, UP, UP), copy.getAllSteps());
+    }
+}